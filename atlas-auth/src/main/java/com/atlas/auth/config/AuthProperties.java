@@ -1,6 +1,8 @@
 /*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
 package com.atlas.auth.config;
 
+import com.atlas.auth.model.enums.CaptchaMode;
+import com.atlas.common.infra.web.executor.WorkerPoolProperties;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -52,6 +54,37 @@ public class AuthProperties {
   /** 验证码配置 */
   private CaptchaConfig captcha = new CaptchaConfig();
 
+  /** Token 黑名单配置 */
+  private BlacklistConfig blacklist = new BlacklistConfig();
+
+  /** 登录加解密工作池配置（RSA 解密等 CPU 密集型步骤） */
+  private WorkerPoolProperties loginExecutor = new WorkerPoolProperties();
+
+  /** Token 黑名单配置内部类 */
+  @Data
+  public static class BlacklistConfig {
+
+    /** 是否启用本地布隆过滤器（默认 true）。关闭后每次校验均查询 Redis */
+    private boolean filterEnabled = true;
+
+    /** 每个时间窗口内预期吊销的 Token 数量（默认 100000） */
+    private long expectedInsertions = 100_000L;
+
+    /** 目标误判率（默认 0.001） */
+    private double falsePositiveRate = 0.001;
+
+    /** 过滤器轮换周期（秒）。小于等于 0 时使用 JWT 过期时间 */
+    private long rotationSeconds = 0L;
+
+    /** 从 Redis 全量同步黑名单的周期（秒，默认 30），用于兜底丢失的订阅消息；小于等于 0 时关闭 */
+    private long resyncSeconds = 30L;
+
+    /**
+     * 订阅心跳周期（秒，默认 5）。连续 3 个周期未收到心跳时视为订阅中断，回退到 Redis 校验；小于等于 0 时关闭
+     */
+    private long heartbeatSeconds = 5L;
+  }
+
   /** 验证码配置内部类 */
   @Data
   public static class CaptchaConfig {
@@ -64,6 +97,33 @@ public class AuthProperties {
 
     /** 验证码字符长度（默认 4） */
     private int length = 4;
+
+    /** 存储模式（默认 REDIS）。STATELESS 模式生成时不写 Redis */
+    private CaptchaMode mode = CaptchaMode.REDIS;
+
+    /** STATELESS 模式的 HMAC 密钥（多实例部署时必须一致；为空时启动生成随机密钥，仅适用于单实例） */
+    private String secret = "";
+
+    /** 预渲染验证码池容量（默认 200）。小于等于 0 时不使用池，每次请求同步渲染 */
+    private int poolSize = 200;
+
+    /** 验证码池后台补充速率（张/秒，默认 50），限制渲染占用的 CPU */
+    private int refillPerSecond = 50;
+
+    /** 单个客户端（按 IP）每秒可获取的验证码数（默认 1），在取池之前判断，超出返回 429 */
+    private double clientPerSecond = 1.0;
+
+    /** 单个客户端允许的突发获取数（默认 5） */
+    private int clientBurst = 5;
+
+    /** 限流最多跟踪的客户端数（默认 100000），超出时淘汰最久未活动的客户端 */
+    private int clientMaxTracked = 100_000;
+
+    /** 池耗尽时允许在请求线程上同时渲染的数量（默认 2），超出时返回繁忙；小于等于 0 时不回退 */
+    private int inlineRenderConcurrency = 2;
+
+    /** 吞吐统计日志周期（秒，默认 60）；小于等于 0 时关闭 */
+    private long statsLogSeconds = 60L;
   }
 
   /** Introspection 配置内部类 */
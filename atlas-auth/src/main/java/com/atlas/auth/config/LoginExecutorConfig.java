@@ -0,0 +1,30 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.auth.config;
+
+import com.atlas.common.infra.web.executor.AdmissionControlledExecutor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 登录工作池配置
+ *
+ * <p>为登录流程中的 CPU 密集型步骤（RSA 密码解密）提供独立的有界工作池，与 Web 容器线程隔离。 池满时返回
+ * 429，排队超时返回 503，保证 Token 校验等轻量请求在登录洪峰下仍有可用 CPU。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Configuration
+public class LoginExecutorConfig {
+
+  /**
+   * 登录加解密工作池
+   *
+   * @param authProperties Auth 配置属性
+   * @return 有界工作池
+   */
+  @Bean(destroyMethod = "close")
+  public AdmissionControlledExecutor loginCryptoExecutor(AuthProperties authProperties) {
+    return new AdmissionControlledExecutor("login-crypto", authProperties.getLoginExecutor());
+  }
+}
@@ -0,0 +1,53 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.auth.config;
+
+import com.atlas.auth.service.impl.TokenBlacklistFilterImpl;
+import com.atlas.common.infra.redis.util.CacheUtil;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Token 黑名单同步配置
+ *
+ * <p>注册 Redis 订阅容器，将黑名单广播频道的消息交给 {@link TokenBlacklistFilterImpl} 写入本地过滤器。
+ *
+ * <p>条件：{@code atlas.auth.blacklist.filter-enabled=true}（默认）。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(
+    prefix = "atlas.auth.blacklist",
+    name = "filter-enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class TokenBlacklistConfig {
+
+  /**
+   * 黑名单广播订阅容器
+   *
+   * <p>依赖 RedisTemplate 以确保 CacheUtil 前缀已初始化，频道名与发布方一致。
+   *
+   * @param connectionFactory Redis 连接工厂
+   * @param redisTemplate RedisTemplate
+   * @param tokenBlacklistFilter 本地过滤器
+   * @return 订阅容器
+   */
+  @Bean
+  public RedisMessageListenerContainer tokenBlacklistListenerContainer(
+      RedisConnectionFactory connectionFactory,
+      RedisTemplate<String, Object> redisTemplate,
+      TokenBlacklistFilterImpl tokenBlacklistFilter) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    String channel = CacheUtil.resolveKey(TokenBlacklistFilterImpl.CHANNEL_BLACKLIST);
+    container.addMessageListener(tokenBlacklistFilter, new ChannelTopic(channel));
+    return container;
+  }
+}
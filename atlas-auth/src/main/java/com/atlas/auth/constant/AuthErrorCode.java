@@ -35,6 +35,9 @@ public class AuthErrorCode {
   /** 系统服务不可用 */
   public static final String SYSTEM_SERVICE_UNAVAILABLE = "010001";
 
+  /** 验证码生成繁忙（预渲染池已耗尽） */
+  public static final String CAPTCHA_BUSY = "010002";
+
   // ========== 参数错误 (10-19) ==========
 
   /** 用户名或密码不能为空 */
@@ -3,11 +3,14 @@ package com.atlas.auth.exception;
 
 import com.atlas.common.feature.core.exception.BusinessException;
 import com.atlas.common.feature.core.exception.DataException;
+import com.atlas.common.feature.core.exception.OverloadException;
 import com.atlas.common.feature.core.exception.ParameterException;
 import com.atlas.common.feature.core.exception.PermissionException;
 import com.atlas.common.feature.core.result.Result;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -27,6 +30,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
  *   <li>ParameterException - 参数异常
  *   <li>PermissionException - 权限异常
  *   <li>DataException - 数据异常
+ *   <li>OverloadException - 过载异常（HTTP 429/503）
  *   <li>MethodArgumentNotValidException - 参数校验异常
  *   <li>BindException - 绑定异常
  *   <li>其他异常 - 系统异常
@@ -91,6 +95,24 @@ public class AuthExceptionHandler {
     return Result.error(e.getErrorCode(), e.getMessage());
   }
 
+  /**
+   * 处理过载异常
+   *
+   * <p>准入拒绝返回 429，排队超时等暂时不可用返回 503，并携带 Retry-After 响应头。
+   *
+   * @param e 过载异常
+   * @return 错误响应
+   */
+  @ExceptionHandler(OverloadException.class)
+  public ResponseEntity<Result<Void>> handleOverloadException(OverloadException e) {
+    log.warn("过载异常: errorCode={}, message={}", e.getErrorCode(), e.getMessage());
+    HttpStatus status =
+        e.isTooManyRequests() ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+    return ResponseEntity.status(status)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+        .body(Result.error(e.getErrorCode(), e.getMessage()));
+  }
+
   /**
    * 处理参数校验异常（@Valid 注解）
    *
@@ -0,0 +1,64 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.auth.model.dto;
+
+import lombok.Data;
+
+/**
+ * 黑名单布隆过滤器统计 DTO
+ *
+ * <p>用于观测本地布隆过滤器的容量、误判率与命中情况。
+ *
+ * <p>字段说明：
+ *
+ * <ul>
+ *   <li>ready：是否已完成 Redis 全量预热（未就绪时所有校验回退到 Redis）
+ *   <li>bitSize / hashFunctions：每代位图位数与哈希函数个数
+ *   <li>currentInsertions / previousInsertions：当前代、上一代写入次数
+ *   <li>memoryBytes：位图内存占用（字节，两代合计）
+ *   <li>estimatedFalsePositiveRate：按写入量估算的理论误判率
+ *   <li>lookups / filterHits / confirmedRevoked：查询次数、过滤器命中次数、经 Redis 确认已吊销次数
+ *   <li>observedFalsePositiveRate：实测误判率 = (filterHits - confirmedRevoked) / lookups
+ * </ul>
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Data
+public class BlacklistFilterStatsDTO {
+
+  /** 是否已完成预热 */
+  private boolean ready;
+
+  /** 每代位图位数 */
+  private long bitSize;
+
+  /** 哈希函数个数 */
+  private int hashFunctions;
+
+  /** 当前代写入次数 */
+  private long currentInsertions;
+
+  /** 上一代写入次数 */
+  private long previousInsertions;
+
+  /** 位图内存占用（字节） */
+  private long memoryBytes;
+
+  /** 理论误判率 */
+  private double estimatedFalsePositiveRate;
+
+  /** 查询次数 */
+  private long lookups;
+
+  /** 过滤器命中次数（需回源 Redis） */
+  private long filterHits;
+
+  /** 经 Redis 确认已吊销次数 */
+  private long confirmedRevoked;
+
+  /** 实测误判率 */
+  private double observedFalsePositiveRate;
+
+  /** 上次轮换时间戳（毫秒） */
+  private long lastRotatedAt;
+}
@@ -0,0 +1,56 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.auth.model.dto;
+
+import lombok.Data;
+
+/**
+ * 验证码发放统计 DTO
+ *
+ * <p>用于观测预渲染池的余量、发放来源与渲染吞吐。
+ *
+ * <p>字段说明：
+ *
+ * <ul>
+ *   <li>poolSize / poolCapacity：池中剩余数量与容量（未启用池时均为 0）
+ *   <li>issuedFromPool / renderedInline：从池中发放、在请求线程上渲染发放的数量
+ *   <li>rateLimited / busyRejected：因客户端限流、池耗尽且回退并发已满而拒绝的数量
+ *   <li>rendered / avgRenderMillis：累计渲染数量与平均单张渲染耗时（含 PNG 编码）
+ *   <li>renderThroughputPerSecond：按平均耗时折算的单线程渲染吞吐（张/秒）
+ * </ul>
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Data
+public class CaptchaStatsDTO {
+
+  /** 池中剩余数量 */
+  private int poolSize;
+
+  /** 池容量 */
+  private int poolCapacity;
+
+  /** 从池中发放的数量 */
+  private long issuedFromPool;
+
+  /** 在请求线程上渲染发放的数量 */
+  private long renderedInline;
+
+  /** 因客户端限流拒绝的数量 */
+  private long rateLimited;
+
+  /** 因池耗尽拒绝的数量 */
+  private long busyRejected;
+
+  /** 累计渲染数量 */
+  private long rendered;
+
+  /** 平均单张渲染耗时（毫秒） */
+  private double avgRenderMillis;
+
+  /** 单线程渲染吞吐（张/秒） */
+  private double renderThroughputPerSecond;
+
+  /** 当前跟踪的客户端数 */
+  private int trackedClients;
+}
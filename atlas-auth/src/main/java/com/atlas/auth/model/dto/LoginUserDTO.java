@@ -1,10 +1,9 @@
 /*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
 package com.atlas.auth.model.dto;
 
+import com.atlas.common.feature.security.user.AuthoritySet;
 import com.atlas.common.feature.security.user.LoginUser;
-import java.util.Collections;
 import java.util.List;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -22,12 +21,13 @@ import lombok.NoArgsConstructor;
  *   <li>permissions：权限列表（不能为 null）
  * </ul>
  *
+ * <p>角色与权限在设置时即构建为 {@link AuthoritySet}，{@link #hasRole} / {@link #hasPermission} 为 O(1) 查找。
+ *
  * @author Atlas Team
  * @since 1.0.0
  */
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class LoginUserDTO implements LoginUser {
 
   /** 用户ID */
@@ -36,11 +36,19 @@ public class LoginUserDTO implements LoginUser {
   /** 用户名 */
   private String username;
 
-  /** 角色列表（不能为 null） */
-  private List<String> roles;
+  /** 角色集合（不能为 null） */
+  private AuthoritySet roles = AuthoritySet.EMPTY;
+
+  /** 权限集合（不能为 null） */
+  private AuthoritySet permissions = AuthoritySet.EMPTY;
 
-  /** 权限列表（不能为 null） */
-  private List<String> permissions;
+  public LoginUserDTO(
+      String userId, String username, List<String> roles, List<String> permissions) {
+    this.userId = userId;
+    this.username = username;
+    this.roles = AuthoritySet.of(roles);
+    this.permissions = AuthoritySet.of(permissions);
+  }
 
   @Override
   public Object getUserId() {
@@ -54,21 +62,39 @@ public class LoginUserDTO implements LoginUser {
 
   @Override
   public List<String> getRoles() {
-    return roles != null ? roles : Collections.emptyList();
+    return roles.asList();
+  }
+
+  public void setRoles(List<String> roles) {
+    this.roles = AuthoritySet.of(roles);
   }
 
   @Override
   public List<String> getPermissions() {
-    return permissions != null ? permissions : Collections.emptyList();
+    return permissions.asList();
+  }
+
+  public void setPermissions(List<String> permissions) {
+    this.permissions = AuthoritySet.of(permissions);
+  }
+
+  @Override
+  public AuthoritySet getRoleSet() {
+    return roles;
+  }
+
+  @Override
+  public AuthoritySet getPermissionSet() {
+    return permissions;
   }
 
   @Override
   public boolean hasRole(String role) {
-    return getRoles().contains(role);
+    return roles.contains(role);
   }
 
   @Override
   public boolean hasPermission(String permission) {
-    return getPermissions().contains(permission);
+    return permissions.contains(permission);
   }
 }
@@ -0,0 +1,25 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.auth.model.enums;
+
+/**
+ * 验证码存储模式枚举
+ *
+ * <p>枚举值说明：
+ *
+ * <ul>
+ *   <li>REDIS：生成时将答案的加盐哈希写入 Redis，校验时 GETDEL 取出
+ *   <li>STATELESS：captchaKey 为 HMAC 签名的自包含信封（含过期时间与答案摘要），生成时不写 Redis，
+ *       仅在校验时通过 SETNX 记录已使用
+ * </ul>
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+public enum CaptchaMode {
+
+  /** Redis 存储模式 */
+  REDIS,
+
+  /** 无状态签名模式 */
+  STATELESS
+}
@@ -14,6 +14,7 @@ import com.atlas.auth.model.vo.LoginResponseVO;
  * <ul>
  *   <li>用户登录（验证用户身份并签发 Token）
  *   <li>用户登出（使 Token 失效并清除会话）
+ *   <li>退出所有设备（吊销用户的全部会话）
  * </ul>
  *
  * @author Atlas Team
@@ -63,4 +64,15 @@ public interface AuthService {
    * @throws com.atlas.common.feature.core.exception.BusinessException 如果 Token 无效
    */
   void logout(String token);
+
+  /**
+   * 退出所有设备
+   *
+   * <p>校验当前 Token 后，吊销该用户在所有设备上的会话（包括当前 Token）。
+   *
+   * @param token JWT Token 字符串
+   * @return 被吊销的会话数量
+   * @throws com.atlas.common.feature.core.exception.BusinessException 如果 Token 无效
+   */
+  int logoutAll(String token);
 }
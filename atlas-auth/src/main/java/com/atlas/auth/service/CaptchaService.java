@@ -3,12 +3,13 @@
  */
 package com.atlas.auth.service;
 
+import com.atlas.auth.model.dto.CaptchaStatsDTO;
 import com.atlas.auth.model.vo.CaptchaResponseVO;
 
 /**
  * 验证码服务
  *
- * <p>生成图形验证码、存储到 Redis、校验并一次性消费。
+ * <p>生成图形验证码、将答案的加盐哈希存储到 Redis、校验并一次性消费。
  *
  * @author Atlas Team
  * @since 1.0.0
@@ -18,16 +19,25 @@ public interface CaptchaService {
   /**
    * 生成验证码：随机码 + 图片，并将答案存入 Redis。
    *
+   * @param clientId 客户端标识（如 IP），用于按客户端限流；为 null 时不限流
    * @return captchaKey 与 imageBase64（data URL）
+   * @throws com.atlas.common.feature.core.exception.OverloadException 如果该客户端获取过于频繁（429）
    */
-  CaptchaResponseVO generate();
+  CaptchaResponseVO generate(String clientId);
 
   /**
-   * 校验验证码并消费（校验成功后删除 Redis 中的 key）。不区分大小写。
+   * 校验验证码并消费（原子地取出并删除 Redis 中的 key，无论校验是否通过均不可再次使用）。不区分大小写。
    *
    * @param captchaKey 生成时返回的 key
    * @param userInput 用户输入的验证码
    * @return true 校验通过并已消费，false 校验失败或已过期/缺失
    */
   boolean validateAndConsume(String captchaKey, String userInput);
+
+  /**
+   * 获取验证码发放统计
+   *
+   * @return 统计信息
+   */
+  CaptchaStatsDTO getStats();
 }
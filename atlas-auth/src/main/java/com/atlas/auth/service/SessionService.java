@@ -2,6 +2,7 @@
 package com.atlas.auth.service;
 
 import com.atlas.auth.model.dto.TokenInfoDTO;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -12,11 +13,13 @@ import java.util.Map;
  * <p>功能特性：
  *
  * <ul>
- *   <li>存储用户会话信息到 Redis
+ *   <li>存储用户会话信息到 Redis（支持多设备，每个 Token 一个会话）
+ *   <li>维护用户会话索引（按过期时间排序的 tokenId 集合）
  *   <li>从 Redis 获取用户会话信息
  *   <li>删除用户会话信息
  *   <li>将 Token 加入黑名单
  *   <li>检查 Token 是否在黑名单中
+ *   <li>批量吊销用户的全部会话
  * </ul>
  *
  * @author Atlas Team
@@ -27,32 +30,48 @@ public interface SessionService {
   /**
    * 保存用户会话信息
    *
-   * <p>将用户会话信息存储到 Redis，Key 格式：`session:{userId}`。
+   * <p>将会话信息存储到 Redis，Key 格式：`session:{userId}:{tokenId}`，同时将 tokenId 写入用户会话索引
+   * `session-index:{userId}`（有序集合，分值为 Token 过期时间戳），并顺带清理索引中已过期的条目。
+   *
+   * <p>同一用户在多个设备登录时各自保留独立会话，互不覆盖。
    *
    * @param userId 用户ID
    * @param tokenInfo Token 信息
    * @param expireSeconds 过期时间（秒）
+   * @throws RuntimeException 如果写入会话索引失败（否则该 Token 无法被批量吊销）
    */
   void saveSession(String userId, TokenInfoDTO tokenInfo, Long expireSeconds);
 
   /**
    * 获取用户会话信息
    *
-   * <p>从 Redis 获取用户会话信息。
+   * <p>从 Redis 获取指定 Token 对应的会话信息。
    *
    * @param userId 用户ID
+   * @param tokenId Token ID
    * @return 会话信息（Map 格式），如果不存在则返回 null
    */
-  Map<String, Object> getSession(String userId);
+  Map<String, Object> getSession(String userId, String tokenId);
+
+  /**
+   * 查询用户的全部有效会话
+   *
+   * <p>基于会话索引查询，查询前会清理已过期的条目。
+   *
+   * @param userId 用户ID
+   * @return 会话信息列表（按过期时间升序），无有效会话时返回空列表
+   */
+  List<Map<String, Object>> listSessions(String userId);
 
   /**
    * 删除用户会话信息
    *
-   * <p>从 Redis 删除用户会话信息。
+   * <p>从 Redis 删除指定 Token 的会话信息，并将其从用户会话索引中移除。
    *
    * @param userId 用户ID
+   * @param tokenId Token ID
    */
-  void deleteSession(String userId);
+  void deleteSession(String userId, String tokenId);
 
   /**
    * 将 Token 加入黑名单
@@ -74,4 +93,16 @@ public interface SessionService {
    * @return true 表示 Token 在黑名单中，false 表示不在黑名单中
    */
   boolean isBlacklisted(String tokenId);
+
+  /**
+   * 吊销用户的全部会话
+   *
+   * <p>读取用户会话索引中所有未过期的 tokenId，通过一次 Redis 管道批量加入黑名单（过期时间为各 Token 的剩余有效期），
+   * 随后删除会话信息与索引。适用于修改密码、锁定用户、"退出所有设备"等场景。
+   *
+   * @param userId 用户ID
+   * @return 被吊销的会话数量
+   * @throws RuntimeException 如果读取会话索引或写入黑名单失败（不会报告成功）
+   */
+  int revokeAllSessions(String userId);
 }
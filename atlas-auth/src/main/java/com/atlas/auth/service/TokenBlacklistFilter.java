@@ -0,0 +1,52 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.auth.service;
+
+import com.atlas.auth.model.dto.BlacklistFilterStatsDTO;
+import java.util.Collection;
+
+/**
+ * Token 黑名单本地过滤器接口
+ *
+ * <p>在本地维护已吊销 tokenId 的布隆过滤器，作为 Redis 黑名单查询的前置判断：过滤器未命中即可确定 Token
+ * 未被吊销，无需访问 Redis；命中时再由 Redis 确认。
+ *
+ * <p>多实例之间通过 Redis Pub/Sub 同步新吊销的 tokenId。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+public interface TokenBlacklistFilter {
+
+  /**
+   * 判断 Token 是否可能已被吊销
+   *
+   * <p>返回 false 表示一定未被吊销；返回 true 表示需要查询 Redis 确认。过滤器未就绪或被禁用时始终返回 true。
+   *
+   * @param tokenId Token ID
+   * @return 是否可能已被吊销
+   */
+  boolean mightBeRevoked(String tokenId);
+
+  /**
+   * 记录已吊销的 Token
+   *
+   * <p>写入本地过滤器并广播给其他实例。应在 Redis 黑名单写入成功之后调用。
+   *
+   * @param tokenIds Token ID 集合
+   */
+  void markRevoked(Collection<String> tokenIds);
+
+  /**
+   * 记录 Redis 确认结果（用于统计实测误判率）
+   *
+   * @param revoked Redis 中是否确实存在黑名单记录
+   */
+  void recordConfirmation(boolean revoked);
+
+  /**
+   * 获取过滤器统计信息
+   *
+   * @return 统计信息
+   */
+  BlacklistFilterStatsDTO getStats();
+}
@@ -13,17 +13,24 @@ import com.atlas.auth.service.CaptchaService;
 import com.atlas.auth.service.SessionService;
 import com.atlas.auth.service.TokenService;
 import com.atlas.auth.util.RsaPasswordDecryptor;
+import com.atlas.common.feature.core.constant.CommonErrorCode;
 import com.atlas.common.feature.core.exception.BusinessException;
+import com.atlas.common.feature.core.exception.OverloadException;
 import com.atlas.common.feature.core.result.Result;
+import com.atlas.common.infra.web.executor.AdmissionControlledExecutor;
 import com.atlas.system.api.v1.feign.PermissionQueryApi;
 import com.atlas.system.api.v1.feign.UserQueryApi;
 import com.atlas.system.api.v1.model.dto.UserAuthoritiesDTO;
 import com.atlas.system.api.v1.model.dto.UserDTO;
 import com.atlas.system.api.v1.model.dto.VerifyPasswordRequest;
 import com.atlas.system.api.v1.model.enums.UserStatus;
+import feign.FeignException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 /**
@@ -38,6 +45,9 @@ import org.springframework.stereotype.Service;
 @Service
 public class AuthServiceImpl implements AuthService {
 
+  /** 下游未返回 Retry-After 时建议的重试等待时间（秒） */
+  private static final long DEFAULT_RETRY_AFTER_SECONDS = 1L;
+
   private final UserQueryApi userQueryApi;
   private final PermissionQueryApi permissionQueryApi;
   private final TokenService tokenService;
@@ -46,6 +56,7 @@ public class AuthServiceImpl implements AuthService {
   private final AuthProperties authProperties;
   private final RsaPasswordDecryptor rsaPasswordDecryptor;
   private final CaptchaService captchaService;
+  private final AdmissionControlledExecutor loginCryptoExecutor;
 
   public AuthServiceImpl(
       UserQueryApi userQueryApi,
@@ -55,7 +66,8 @@ public class AuthServiceImpl implements AuthService {
       JwtConfig jwtConfig,
       AuthProperties authProperties,
       RsaPasswordDecryptor rsaPasswordDecryptor,
-      CaptchaService captchaService) {
+      CaptchaService captchaService,
+      AdmissionControlledExecutor loginCryptoExecutor) {
     this.userQueryApi = userQueryApi;
     this.permissionQueryApi = permissionQueryApi;
     this.tokenService = tokenService;
@@ -64,6 +76,7 @@ public class AuthServiceImpl implements AuthService {
     this.authProperties = authProperties;
     this.rsaPasswordDecryptor = rsaPasswordDecryptor;
     this.captchaService = captchaService;
+    this.loginCryptoExecutor = loginCryptoExecutor;
   }
 
   @Override
@@ -90,8 +103,10 @@ public class AuthServiceImpl implements AuthService {
       }
     }
 
-    // 3. 解密密码
-    String plainPassword = rsaPasswordDecryptor.decrypt(loginRequest.getEncryptedPassword());
+    // 3. 解密密码（在有界工作池中执行，池满时快速失败，避免挤占 Web 线程）
+    String plainPassword =
+        loginCryptoExecutor.execute(
+            () -> rsaPasswordDecryptor.decrypt(loginRequest.getEncryptedPassword()));
     if (plainPassword == null) {
       log.warn("密码解密失败: username={}", loginRequest.getUsername());
       throw new BusinessException(AuthErrorCode.USERNAME_OR_PASSWORD_ERROR, "用户名或密码错误");
@@ -196,6 +211,39 @@ public class AuthServiceImpl implements AuthService {
 
   @Override
   public void logout(String token) {
+    TokenInfoDTO tokenInfo = resolveValidToken(token);
+
+    // 3. 将 Token 加入黑名单
+    sessionService.addToBlacklist(
+        tokenInfo.getTokenId(), tokenInfo.getUserId(), jwtConfig.getExpire());
+
+    // 4. 删除会话信息（仅当前 Token，其他设备的会话不受影响）
+    sessionService.deleteSession(tokenInfo.getUserId(), tokenInfo.getTokenId());
+
+    log.info("用户登出成功: userId={}, tokenId={}", tokenInfo.getUserId(), tokenInfo.getTokenId());
+  }
+
+  @Override
+  public int logoutAll(String token) {
+    TokenInfoDTO tokenInfo = resolveValidToken(token);
+
+    // 当前 Token 可能早于会话索引上线签发，先单独加入黑名单，确保其失效
+    sessionService.addToBlacklist(
+        tokenInfo.getTokenId(), tokenInfo.getUserId(), jwtConfig.getExpire());
+    int revoked = sessionService.revokeAllSessions(tokenInfo.getUserId());
+
+    log.info("用户退出所有设备成功: userId={}, revoked={}", tokenInfo.getUserId(), revoked);
+    return revoked;
+  }
+
+  /**
+   * 解析并校验 Token
+   *
+   * @param token JWT Token 字符串
+   * @return Token 信息
+   * @throws BusinessException 如果 Token 为空或无效
+   */
+  private TokenInfoDTO resolveValidToken(String token) {
     if (token == null || token.trim().isEmpty()) {
       throw new BusinessException(AuthErrorCode.TOKEN_MISSING, "Token 不能为空");
     }
@@ -215,15 +263,7 @@ public class AuthServiceImpl implements AuthService {
       log.warn("Token 验证失败: tokenId={}", tokenInfo.getTokenId());
       throw new BusinessException(AuthErrorCode.TOKEN_INVALID, "Token 无效");
     }
-
-    // 3. 将 Token 加入黑名单
-    sessionService.addToBlacklist(
-        tokenInfo.getTokenId(), tokenInfo.getUserId(), jwtConfig.getExpire());
-
-    // 4. 删除会话信息
-    sessionService.deleteSession(tokenInfo.getUserId());
-
-    log.info("用户登出成功: userId={}, tokenId={}", tokenInfo.getUserId(), tokenInfo.getTokenId());
+    return tokenInfo;
   }
 
   /**
@@ -231,9 +271,13 @@ public class AuthServiceImpl implements AuthService {
    *
    * <p>调用 verifyPassword：成功（Result.isSuccess）即表示密码正确，不依赖返回的 data 内容。 此方法设置为 protected 以便在测试中 mock。
    *
+   * <p>System 服务的密码校验工作池饱和时返回 429/503（错误码 050003/050001），此时原样抛出
+   * {@link OverloadException}，让客户端快速得到过载响应，而不是误报"用户名或密码错误"。
+   *
    * @param username 用户名
    * @param password 明文密码
    * @return true 表示密码正确，false 表示错误或调用失败
+   * @throws OverloadException 如果 System 服务过载（429/503）
    */
   protected boolean verifyPasswordWithSystem(String username, String password) {
     if (username == null || password == null) {
@@ -242,10 +286,51 @@ public class AuthServiceImpl implements AuthService {
     try {
       VerifyPasswordRequest request = new VerifyPasswordRequest(username, password);
       Result<String> result = userQueryApi.verifyPassword(request);
+      if (result != null && isOverloadCode(result.getCode())) {
+        throw new OverloadException(
+            result.getCode(), "服务繁忙，请稍后重试", DEFAULT_RETRY_AFTER_SECONDS);
+      }
       return result != null && result.isSuccess();
+    } catch (OverloadException e) {
+      throw e;
+    } catch (FeignException e) {
+      if (e.status() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+        throw new OverloadException(
+            CommonErrorCode.TOO_MANY_REQUESTS, "登录请求过多，请稍后重试", retryAfterSeconds(e));
+      }
+      if (e.status() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+        throw new OverloadException(
+            CommonErrorCode.SERVICE_UNAVAILABLE, "服务繁忙，请稍后重试", retryAfterSeconds(e));
+      }
+      log.warn("密码校验失败: username={}, status={}, error={}", username, e.status(), e.getMessage());
+      return false;
     } catch (Exception e) {
       log.warn("密码校验失败: username={}, error={}", username, e.getMessage());
       return false;
     }
   }
+
+  private static boolean isOverloadCode(String code) {
+    return CommonErrorCode.TOO_MANY_REQUESTS.equals(code)
+        || CommonErrorCode.SERVICE_UNAVAILABLE.equals(code);
+  }
+
+  /**
+   * 读取下游返回的 Retry-After（秒），缺失或非法时使用默认值
+   *
+   * @param e Feign 异常
+   * @return 重试等待时间（秒）
+   */
+  private static long retryAfterSeconds(FeignException e) {
+    Collection<String> values =
+        e.responseHeaders().getOrDefault(HttpHeaders.RETRY_AFTER, List.of());
+    for (String value : values) {
+      try {
+        return Math.max(1L, Long.parseLong(value.trim()));
+      } catch (NumberFormatException ignored) {
+        // 非秒数格式（HTTP 日期）时使用默认值
+      }
+    }
+    return DEFAULT_RETRY_AFTER_SECONDS;
+  }
 }
@@ -4,17 +4,41 @@
 package com.atlas.auth.service.impl;
 
 import com.atlas.auth.config.AuthProperties;
+import com.atlas.auth.constant.AuthErrorCode;
+import com.atlas.auth.model.dto.CaptchaStatsDTO;
+import com.atlas.auth.model.enums.CaptchaMode;
 import com.atlas.auth.model.vo.CaptchaResponseVO;
 import com.atlas.auth.service.CaptchaService;
+import com.atlas.auth.util.CaptchaTokenCodec;
+import com.atlas.auth.util.ClientRateLimiter;
+import com.atlas.auth.util.IndexedPngEncoder;
+import com.atlas.common.feature.core.constant.CommonErrorCode;
+import com.atlas.common.feature.core.exception.BusinessException;
+import com.atlas.common.feature.core.exception.OverloadException;
 import com.atlas.common.infra.redis.key.RedisKeyBuilder;
 import com.atlas.common.infra.redis.util.CacheUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
 import java.util.Base64;
+import java.util.Locale;
 import java.util.UUID;
-import javax.imageio.ImageIO;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -23,6 +47,35 @@ import org.springframework.stereotype.Service;
  *
  * <p>使用 AWT 生成随机字母数字码与图片，答案存 Redis（Key 通过 RedisKeyBuilder 构建并自动补齐前缀），TTL 由配置决定。
  *
+ * <p>存储与消费：
+ *
+ * <ul>
+ *   <li>Redis 中只保存加盐哈希 {@code Base64(salt):Base64(SHA-256(salt || code))}，不保存明文答案
+ *   <li>校验通过 GETDEL 一次往返原子地取出并删除，同一验证码在并发请求下只能被消费一次
+ *   <li>哈希比较使用 {@link MessageDigest#isEqual(byte[], byte[])}，避免时序侧信道
+ * </ul>
+ *
+ * <p>预渲染池：
+ *
+ * <ul>
+ *   <li>/captcha 接口无需认证，为避免被用作 CPU 放大攻击入口，图片由后台线程按 refill-per-second 限速预渲染到有界池中
+ *   <li>请求线程只从池中取出一对（验证码, 图片），每对只发放一次，发放时才生成 captchaKey 并绑定答案
+ *   <li>取池之前按客户端（IP）令牌桶限流，超出返回 429，单个客户端无法耗尽共享池
+ *   <li>池耗尽时在请求线程上同步渲染，但同时渲染数不超过 inline-render-concurrency，超出返回繁忙错误；
+ *       pool-size 小于等于 0 时关闭池，退化为同步渲染
+ *   <li>图片使用 4 色调色板的索引色 PNG，由 {@link IndexedPngEncoder} 编码，不经过 ImageIO
+ *   <li>按 stats-log-seconds 周期输出发放来源、拒绝次数与渲染吞吐，见 {@link #getStats()}
+ * </ul>
+ *
+ * <p>无状态模式（{@code atlas.auth.captcha.mode=STATELESS}）：
+ *
+ * <ul>
+ *   <li>captchaKey 由 {@link CaptchaTokenCodec} 签发，自带过期时间与答案的 HMAC 摘要，生成时不写 Redis
+ *   <li>校验时先在本地检查格式与过期时间，再以 SETNX 写入 {@code captcha-used:{nonce}}（TTL 为剩余有效期）
+ *       标记已使用，写入失败即视为重复提交；最后常量时间比较答案
+ *   <li>Redis 占用只与实际提交的登录次数相关，与验证码获取次数无关
+ * </ul>
+ *
  * @author Atlas Team
  * @since 1.0.0
  */
@@ -31,32 +84,229 @@ import org.springframework.stereotype.Service;
 public class CaptchaServiceImpl implements CaptchaService {
 
   private static final String BUSINESS_CAPTCHA = "captcha";
+  private static final String BUSINESS_CAPTCHA_USED = "captcha-used";
   private static final String CHARS = "23456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghjkmnpqrstuvwxyz";
   private static final int IMAGE_WIDTH = 120;
   private static final int IMAGE_HEIGHT = 40;
   private static final String IMAGE_FORMAT = "png";
+  private static final String IMAGE_DATA_URL_PREFIX = "data:image/" + IMAGE_FORMAT + ";base64,";
+
+  /** 调色板：背景白、文字深灰，其余两色预留给干扰元素 */
+  private static final IndexColorModel PALETTE =
+      new IndexColorModel(
+          8,
+          4,
+          new byte[] {(byte) 0xFF, (byte) 0x40, (byte) 0x80, (byte) 0xC0},
+          new byte[] {(byte) 0xFF, (byte) 0x40, (byte) 0x80, (byte) 0xC0},
+          new byte[] {(byte) 0xFF, (byte) 0x40, (byte) 0x80, (byte) 0xC0});
+
+  private static final int SALT_LENGTH = 16;
+  private static final String HASH_SEPARATOR = ":";
+  private static final SecureRandom RANDOM = new SecureRandom();
+  private static final long RETRY_AFTER_SECONDS = 1L;
 
   private final AuthProperties authProperties;
 
+  /** 无状态模式编解码器（REDIS 模式时为 null） */
+  private final CaptchaTokenCodec tokenCodec;
+
+  /** 预渲染池（未启用时为 null） */
+  private BlockingQueue<RenderedCaptcha> pool;
+
+  private ScheduledExecutorService refillExecutor;
+
+  /** 按客户端限流 */
+  private final ClientRateLimiter clientRateLimiter;
+
+  /** 池耗尽时的同步渲染并发许可 */
+  private final Semaphore inlineRenderPermits;
+
+  private final LongAdder issuedFromPool = new LongAdder();
+  private final LongAdder renderedInline = new LongAdder();
+  private final LongAdder rateLimited = new LongAdder();
+  private final LongAdder busyRejected = new LongAdder();
+  private final LongAdder rendered = new LongAdder();
+  private final LongAdder totalRenderNanos = new LongAdder();
+
   public CaptchaServiceImpl(AuthProperties authProperties) {
     this.authProperties = authProperties;
+    AuthProperties.CaptchaConfig config = authProperties.getCaptcha();
+    this.tokenCodec =
+        config.getMode() == CaptchaMode.STATELESS
+            ? new CaptchaTokenCodec(resolveSecret(config.getSecret()))
+            : null;
+    this.clientRateLimiter =
+        config.getClientPerSecond() > 0
+            ? new ClientRateLimiter(
+                config.getClientPerSecond(), config.getClientBurst(), config.getClientMaxTracked())
+            : null;
+    this.inlineRenderPermits = new Semaphore(Math.max(0, config.getInlineRenderConcurrency()));
+  }
+
+  @PostConstruct
+  public void init() {
+    AuthProperties.CaptchaConfig config = authProperties.getCaptcha();
+    if (!config.isEnabled() || config.getPoolSize() <= 0) {
+      return;
+    }
+    pool = new ArrayBlockingQueue<>(config.getPoolSize());
+    refillExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "captcha-refill");
+              thread.setDaemon(true);
+              thread.setPriority(Thread.MIN_PRIORITY);
+              return thread;
+            });
+    // 启动时先填满，之后按配置速率补充
+    refillExecutor.execute(
+        () -> {
+          while (pool.remainingCapacity() > 0 && refillOne()) {
+            // 渲染失败时交由定时补充重试
+          }
+          log.info("验证码预渲染池初始化完成: size={}", pool.size());
+        });
+    long periodMicros = 1_000_000L / Math.max(1, config.getRefillPerSecond());
+    refillExecutor.scheduleAtFixedRate(
+        () -> refillOne(), periodMicros, periodMicros, TimeUnit.MICROSECONDS);
+    if (config.getStatsLogSeconds() > 0) {
+      refillExecutor.scheduleWithFixedDelay(
+          this::logStats,
+          config.getStatsLogSeconds(),
+          config.getStatsLogSeconds(),
+          TimeUnit.SECONDS);
+    }
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (refillExecutor != null) {
+      refillExecutor.shutdownNow();
+    }
   }
 
   @Override
-  public CaptchaResponseVO generate() {
-    int length = Math.max(4, Math.min(6, authProperties.getCaptcha().getLength()));
+  public CaptchaResponseVO generate(String clientId) {
+    if (clientId != null && clientRateLimiter != null && !clientRateLimiter.tryAcquire(clientId)) {
+      rateLimited.increment();
+      log.debug("验证码获取过于频繁: clientId={}", clientId);
+      throw new OverloadException(
+          CommonErrorCode.TOO_MANY_REQUESTS, "验证码获取过于频繁，请稍后重试", RETRY_AFTER_SECONDS);
+    }
     int ttlSeconds = authProperties.getCaptcha().getTtlSeconds();
-    String code = randomCode(length);
+    RenderedCaptcha captcha = nextCaptcha();
+    if (tokenCodec != null) {
+      // 无状态模式：答案签入 captchaKey，不写 Redis
+      long expiresAt = Instant.now().getEpochSecond() + ttlSeconds;
+      return new CaptchaResponseVO(
+          tokenCodec.issue(captcha.code(), expiresAt), captcha.imageBase64());
+    }
     String captchaKey = UUID.randomUUID().toString();
     String redisKey =
         RedisKeyBuilder.builder().business(BUSINESS_CAPTCHA).id(captchaKey).build();
-    CacheUtil.set(redisKey, code, ttlSeconds);
+    CacheUtil.set(redisKey, hashAnswer(captcha.code()), ttlSeconds);
+    return new CaptchaResponseVO(captchaKey, captcha.imageBase64());
+  }
 
-    byte[] imageBytes = drawImage(code);
-    String base64 = Base64.getEncoder().encodeToString(imageBytes);
-    String imageBase64 = "data:image/" + IMAGE_FORMAT + ";base64," + base64;
+  /**
+   * 获取一个渲染好的验证码
+   *
+   * <p>启用预渲染池时从池中取出（每个只发放一次）；池已耗尽时在并发许可内同步渲染，许可用尽则返回繁忙。
+   * 未启用池时同步渲染。
+   */
+  private RenderedCaptcha nextCaptcha() {
+    if (pool == null) {
+      renderedInline.increment();
+      return render();
+    }
+    RenderedCaptcha captcha = pool.poll();
+    if (captcha != null) {
+      issuedFromPool.increment();
+      return captcha;
+    }
+    if (!inlineRenderPermits.tryAcquire()) {
+      busyRejected.increment();
+      log.warn("验证码预渲染池已耗尽且同步渲染并发已满");
+      throw new BusinessException(AuthErrorCode.CAPTCHA_BUSY, "验证码获取过于频繁，请稍后重试");
+    }
+    try {
+      renderedInline.increment();
+      return render();
+    } finally {
+      inlineRenderPermits.release();
+    }
+  }
+
+  @Override
+  public CaptchaStatsDTO getStats() {
+    CaptchaStatsDTO stats = new CaptchaStatsDTO();
+    if (pool != null) {
+      stats.setPoolSize(pool.size());
+      stats.setPoolCapacity(pool.size() + pool.remainingCapacity());
+    }
+    stats.setIssuedFromPool(issuedFromPool.sum());
+    stats.setRenderedInline(renderedInline.sum());
+    stats.setRateLimited(rateLimited.sum());
+    stats.setBusyRejected(busyRejected.sum());
+    long renderCount = rendered.sum();
+    stats.setRendered(renderCount);
+    if (renderCount > 0) {
+      double avgMillis = totalRenderNanos.sum() / 1_000_000.0 / renderCount;
+      stats.setAvgRenderMillis(avgMillis);
+      if (avgMillis > 0) {
+        stats.setRenderThroughputPerSecond(1000.0 / avgMillis);
+      }
+    }
+    stats.setTrackedClients(clientRateLimiter != null ? clientRateLimiter.size() : 0);
+    return stats;
+  }
 
-    return new CaptchaResponseVO(captchaKey, imageBase64);
+  /** 输出发放与渲染统计 */
+  private void logStats() {
+    CaptchaStatsDTO stats = getStats();
+    log.info(
+        "验证码发放统计: poolSize={}/{}, issuedFromPool={}, renderedInline={}, rateLimited={},"
+            + " busyRejected={}, avgRenderMillis={}, renderThroughputPerSecond={},"
+            + " trackedClients={}",
+        stats.getPoolSize(),
+        stats.getPoolCapacity(),
+        stats.getIssuedFromPool(),
+        stats.getRenderedInline(),
+        stats.getRateLimited(),
+        stats.getBusyRejected(),
+        String.format("%.3f", stats.getAvgRenderMillis()),
+        String.format("%.1f", stats.getRenderThroughputPerSecond()),
+        stats.getTrackedClients());
+  }
+
+  /**
+   * 补充一个验证码到池中（池满时跳过）
+   *
+   * @return 渲染失败时返回 false
+   */
+  private boolean refillOne() {
+    try {
+      if (pool.remainingCapacity() > 0) {
+        pool.offer(render());
+      }
+      return true;
+    } catch (Exception e) {
+      log.error("验证码预渲染失败", e);
+      return false;
+    }
+  }
+
+  private RenderedCaptcha render() {
+    long start = System.nanoTime();
+    int length = Math.max(4, Math.min(6, authProperties.getCaptcha().getLength()));
+    String code = randomCode(length);
+    byte[] imageBytes = drawImage(code);
+    RenderedCaptcha captcha =
+        new RenderedCaptcha(
+            code, IMAGE_DATA_URL_PREFIX + Base64.getEncoder().encodeToString(imageBytes));
+    totalRenderNanos.add(System.nanoTime() - start);
+    rendered.increment();
+    return captcha;
   }
 
   @Override
@@ -64,29 +314,121 @@ public class CaptchaServiceImpl implements CaptchaService {
     if (captchaKey == null || captchaKey.isBlank()) {
       return false;
     }
+    if (tokenCodec != null) {
+      return validateStateless(captchaKey, userInput != null ? userInput.trim() : "");
+    }
     String redisKey =
         RedisKeyBuilder.builder().business(BUSINESS_CAPTCHA).id(captchaKey.trim()).build();
-    String expected = CacheUtil.get(redisKey, String.class);
-    if (expected == null) {
+    // GETDEL：取出即删除，无论校验成功与否验证码都只能使用一次
+    String stored = CacheUtil.getAndDelete(redisKey, String.class);
+    if (stored == null) {
       log.debug("验证码不存在或已过期: captchaKey={}", captchaKey);
       return false;
     }
-    boolean match = expected.equalsIgnoreCase(userInput != null ? userInput.trim() : "");
-    CacheUtil.delete(redisKey);
-    return match;
+    return matches(stored, userInput != null ? userInput.trim() : "");
+  }
+
+  /**
+   * 无状态模式校验
+   *
+   * <p>格式与过期时间在本地校验，不访问 Redis；通过后以 SETNX 原子地标记已使用（无论答案是否正确），
+   * 防止同一 captchaKey 被重放或被用于反复猜测答案。
+   */
+  private boolean validateStateless(String captchaKey, String userInput) {
+    CaptchaTokenCodec.Envelope envelope = tokenCodec.parse(captchaKey);
+    if (envelope == null) {
+      log.debug("验证码格式非法: captchaKey={}", captchaKey);
+      return false;
+    }
+    long remaining = envelope.expiresAt() - Instant.now().getEpochSecond();
+    if (remaining <= 0) {
+      log.debug("验证码已过期: captchaKey={}", captchaKey);
+      return false;
+    }
+    String usedKey =
+        RedisKeyBuilder.builder().business(BUSINESS_CAPTCHA_USED).id(envelope.nonceId()).build();
+    if (!CacheUtil.setIfAbsent(usedKey, 1, (int) remaining)) {
+      log.debug("验证码已被使用: captchaKey={}", captchaKey);
+      return false;
+    }
+    return tokenCodec.matches(envelope, userInput);
+  }
+
+  /**
+   * 解析无状态模式签名密钥
+   *
+   * <p>未配置时生成随机密钥，此时各实例签发的 captchaKey 互不认可，仅适用于单实例部署。
+   */
+  private static byte[] resolveSecret(String secret) {
+    if (secret != null && !secret.isBlank()) {
+      return secret.trim().getBytes(StandardCharsets.UTF_8);
+    }
+    log.warn("未配置 atlas.auth.captcha.secret，已生成随机密钥（仅适用于单实例部署）");
+    byte[] random = new byte[32];
+    RANDOM.nextBytes(random);
+    return random;
   }
 
   private static String randomCode(int length) {
     StringBuilder sb = new StringBuilder(length);
-    java.security.SecureRandom r = new java.security.SecureRandom();
     for (int i = 0; i < length; i++) {
-      sb.append(CHARS.charAt(r.nextInt(CHARS.length())));
+      sb.append(CHARS.charAt(RANDOM.nextInt(CHARS.length())));
     }
     return sb.toString();
   }
 
+  /**
+   * 计算验证码的加盐哈希
+   *
+   * @param code 验证码明文
+   * @return {@code Base64(salt):Base64(hash)}
+   */
+  private static String hashAnswer(String code) {
+    byte[] salt = new byte[SALT_LENGTH];
+    RANDOM.nextBytes(salt);
+    Base64.Encoder encoder = Base64.getEncoder();
+    return encoder.encodeToString(salt)
+        + HASH_SEPARATOR
+        + encoder.encodeToString(digest(salt, code));
+  }
+
+  /**
+   * 校验用户输入与存储的加盐哈希是否匹配（不区分大小写）
+   *
+   * @param stored 存储值
+   * @param input 用户输入
+   * @return 是否匹配
+   */
+  private static boolean matches(String stored, String input) {
+    int idx = stored.indexOf(HASH_SEPARATOR);
+    if (idx <= 0) {
+      return false;
+    }
+    try {
+      Base64.Decoder decoder = Base64.getDecoder();
+      byte[] salt = decoder.decode(stored.substring(0, idx));
+      byte[] expected = decoder.decode(stored.substring(idx + 1));
+      return MessageDigest.isEqual(expected, digest(salt, input));
+    } catch (IllegalArgumentException e) {
+      log.warn("验证码存储格式错误: {}", e.getMessage());
+      return false;
+    }
+  }
+
+  private static byte[] digest(byte[] salt, String code) {
+    try {
+      MessageDigest md = MessageDigest.getInstance("SHA-256");
+      md.update(salt);
+      md.update(code.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+      return md.digest();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 不可用", e);
+    }
+  }
+
   private static byte[] drawImage(String code) {
-    BufferedImage image = new BufferedImage(IMAGE_WIDTH, IMAGE_HEIGHT, BufferedImage.TYPE_INT_RGB);
+    BufferedImage image =
+        new BufferedImage(IMAGE_WIDTH, IMAGE_HEIGHT, BufferedImage.TYPE_BYTE_INDEXED, PALETTE);
     Graphics2D g = image.createGraphics();
     g.setColor(Color.WHITE);
     g.fillRect(0, 0, IMAGE_WIDTH, IMAGE_HEIGHT);
@@ -98,13 +440,14 @@ public class CaptchaServiceImpl implements CaptchaService {
       x += 26;
     }
     g.dispose();
-
-    try {
-      java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
-      ImageIO.write(image, IMAGE_FORMAT, baos);
-      return baos.toByteArray();
-    } catch (Exception e) {
-      throw new RuntimeException("生成验证码图片失败", e);
-    }
+    return IndexedPngEncoder.encode(image);
   }
+
+  /**
+   * 预渲染的验证码
+   *
+   * @param code 验证码明文
+   * @param imageBase64 图片（data URL）
+   */
+  private record RenderedCaptcha(String code, String imageBase64) {}
 }
@@ -3,13 +3,19 @@ package com.atlas.auth.service.impl;
 
 import com.atlas.auth.model.dto.TokenInfoDTO;
 import com.atlas.auth.service.SessionService;
+import com.atlas.auth.service.TokenBlacklistFilter;
 import com.atlas.common.infra.redis.key.RedisKeyBuilder;
 import com.atlas.common.infra.redis.util.CacheUtil;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
 
 /**
@@ -20,10 +26,23 @@ import org.springframework.stereotype.Service;
  * <p>Redis Key 设计（通过 RedisKeyBuilder，自动补齐前缀）：
  *
  * <ul>
- *   <li>会话信息：atlas:{service}:session:{userId} (String, JSON, 带过期时间)
+ *   <li>会话信息：atlas:{service}:session:{userId}:{tokenId} (String, JSON, 带过期时间)
+ *   <li>会话索引：atlas:{service}:session-index:{userId} (ZSet, member=tokenId, score=过期时间戳秒)
  *   <li>Token 黑名单：atlas:{service}:blacklist:{tokenId} (String, JSON, 带过期时间)
  * </ul>
  *
+ * <p>会话索引说明：
+ *
+ * <ul>
+ *   <li>添加/移除单个 tokenId 为 O(log n)（ZADD / ZREM）
+ *   <li>每次写入或读取索引前通过 ZREMRANGEBYSCORE 清理已过期条目，索引自身的过期时间随最新会话续期
+ *   <li>批量吊销时一次管道写入全部黑名单 Key，无需逐个往返
+ *   <li>写入索引与批量吊销读取索引直接访问 Redis，失败时抛出异常：CacheUtil 会吞掉异常并返回空结果，
+ *       索引漏写会使该 Token 无法被批量吊销，读取失败会被误判为"没有会话"而报告吊销成功
+ * </ul>
+ *
+ * <p>黑名单写入后同步通知 {@link TokenBlacklistFilter}，由其更新本地布隆过滤器并广播给其他实例。
+ *
  * @author Atlas Team
  * @since 1.0.0
  */
@@ -32,29 +51,44 @@ import org.springframework.stereotype.Service;
 public class SessionServiceImpl implements SessionService {
 
   private static final String BUSINESS_SESSION = "session";
-  private static final String BUSINESS_BLACKLIST = "blacklist";
+  private static final String BUSINESS_SESSION_INDEX = "session-index";
+  static final String BUSINESS_BLACKLIST = "blacklist";
 
+  private final TokenBlacklistFilter tokenBlacklistFilter;
+  private final RedisTemplate<String, Object> redisTemplate;
+
+  public SessionServiceImpl(
+      TokenBlacklistFilter tokenBlacklistFilter, RedisTemplate<String, Object> redisTemplate) {
+    this.tokenBlacklistFilter = tokenBlacklistFilter;
+    this.redisTemplate = redisTemplate;
+  }
 
   @Override
   public void saveSession(String userId, TokenInfoDTO tokenInfo, Long expireSeconds) {
     try {
-      String key =
-          RedisKeyBuilder.builder()
-              .business(BUSINESS_SESSION)
-              .id(userId)
-              .build();
+      String tokenId = tokenInfo.getTokenId();
+      long now = Instant.now().getEpochSecond();
+      long expiresAt =
+          tokenInfo.getExpiresAt() != null ? tokenInfo.getExpiresAt() : now + expireSeconds;
 
       // 构建会话信息 Map
       Map<String, Object> sessionData = new HashMap<>();
       sessionData.put("userId", userId);
       sessionData.put("username", tokenInfo.getUsername());
-      sessionData.put("token", tokenInfo.getTokenId()); // 存储 tokenId，不存储完整 Token
+      sessionData.put("token", tokenId); // 存储 tokenId，不存储完整 Token
       sessionData.put("loginTime", Instant.now().toString());
-      sessionData.put("expiresAt", tokenInfo.getExpiresAt());
+      sessionData.put("expiresAt", expiresAt);
 
       // 存储到 Redis，设置过期时间
-      CacheUtil.set(key, sessionData, expireSeconds.intValue());
-      log.debug("保存用户会话成功: userId={}, expireSeconds={}", userId, expireSeconds);
+      CacheUtil.set(buildSessionKey(userId, tokenId), sessionData, expireSeconds.intValue());
+
+      // 写入会话索引并清理已过期条目，索引过期时间随最新会话续期
+      String indexKey = buildIndexKey(userId);
+      redisTemplate.opsForZSet().add(CacheUtil.resolveKey(indexKey), tokenId, expiresAt);
+      CacheUtil.zRemoveRangeByScore(indexKey, Double.NEGATIVE_INFINITY, now);
+      CacheUtil.expire(indexKey, expireSeconds.intValue());
+      log.debug(
+          "保存用户会话成功: userId={}, tokenId={}, expireSeconds={}", userId, tokenId, expireSeconds);
     } catch (Exception e) {
       log.error("保存用户会话失败: userId={}", userId, e);
       throw new RuntimeException("保存用户会话失败: " + e.getMessage(), e);
@@ -62,37 +96,45 @@ public class SessionServiceImpl implements SessionService {
   }
 
   @Override
-  public Map<String, Object> getSession(String userId) {
+  public Map<String, Object> getSession(String userId, String tokenId) {
     try {
-      String key =
-          RedisKeyBuilder.builder()
-              .business(BUSINESS_SESSION)
-              .id(userId)
-              .build();
-      Map<String, Object> sessionData = CacheUtil.get(key, Map.class);
+      Map<String, Object> sessionData =
+          CacheUtil.get(buildSessionKey(userId, tokenId), Map.class);
       if (sessionData == null) {
-        log.debug("用户会话不存在: userId={}", userId);
+        log.debug("用户会话不存在: userId={}, tokenId={}", userId, tokenId);
         return null;
       }
       return sessionData;
     } catch (Exception e) {
-      log.error("获取用户会话失败: userId={}", userId, e);
+      log.error("获取用户会话失败: userId={}, tokenId={}", userId, tokenId, e);
       return null;
     }
   }
 
   @Override
-  public void deleteSession(String userId) {
+  public List<Map<String, Object>> listSessions(String userId) {
+    List<Map<String, Object>> sessions = new ArrayList<>();
+    try {
+      for (String tokenId : listLiveTokens(userId).keySet()) {
+        Map<String, Object> sessionData = getSession(userId, tokenId);
+        if (sessionData != null) {
+          sessions.add(sessionData);
+        }
+      }
+    } catch (Exception e) {
+      log.error("查询用户会话列表失败: userId={}", userId, e);
+    }
+    return sessions;
+  }
+
+  @Override
+  public void deleteSession(String userId, String tokenId) {
     try {
-      String key =
-          RedisKeyBuilder.builder()
-              .business(BUSINESS_SESSION)
-              .id(userId)
-              .build();
-      CacheUtil.delete(key);
-      log.debug("删除用户会话成功: userId={}", userId);
+      CacheUtil.delete(buildSessionKey(userId, tokenId));
+      CacheUtil.zRemove(buildIndexKey(userId), tokenId);
+      log.debug("删除用户会话成功: userId={}, tokenId={}", userId, tokenId);
     } catch (Exception e) {
-      log.error("删除用户会话失败: userId={}", userId, e);
+      log.error("删除用户会话失败: userId={}, tokenId={}", userId, tokenId, e);
       // 删除失败不抛出异常，避免影响业务流程
     }
   }
@@ -100,20 +142,12 @@ public class SessionServiceImpl implements SessionService {
   @Override
   public void addToBlacklist(String tokenId, String userId, Long expireSeconds) {
     try {
-      String key =
-          RedisKeyBuilder.builder()
-              .business(BUSINESS_BLACKLIST)
-              .id(tokenId)
-              .build();
-
-      // 构建黑名单信息 Map
-      Map<String, Object> blacklistData = new HashMap<>();
-      blacklistData.put("tokenId", tokenId);
-      blacklistData.put("userId", userId);
-      blacklistData.put("expiresAt", System.currentTimeMillis() / 1000 + expireSeconds);
+      String key = buildBlacklistKey(tokenId);
 
       // 存储到 Redis，设置过期时间
-      CacheUtil.set(key, blacklistData, expireSeconds.intValue());
+      CacheUtil.set(
+          key, buildBlacklistData(tokenId, userId, expireSeconds), expireSeconds.intValue());
+      tokenBlacklistFilter.markRevoked(List.of(tokenId));
       log.debug(
           "Token 加入黑名单成功: tokenId={}, userId={}, expireSeconds={}", tokenId, userId, expireSeconds);
     } catch (Exception e) {
@@ -125,11 +159,7 @@ public class SessionServiceImpl implements SessionService {
   @Override
   public boolean isBlacklisted(String tokenId) {
     try {
-      String key =
-          RedisKeyBuilder.builder()
-              .business(BUSINESS_BLACKLIST)
-              .id(tokenId)
-              .build();
+      String key = buildBlacklistKey(tokenId);
       boolean exists = CacheUtil.exists(key);
       if (exists) {
         log.debug("Token 在黑名单中: tokenId={}", tokenId);
@@ -141,4 +171,95 @@ public class SessionServiceImpl implements SessionService {
       return false;
     }
   }
+
+  @Override
+  public int revokeAllSessions(String userId) {
+    Map<String, Long> liveTokens;
+    try {
+      liveTokens = listLiveTokens(userId);
+    } catch (Exception e) {
+      // 读取索引失败时不能当作"没有会话"处理，否则会报告吊销成功而 Token 仍然有效
+      log.error("读取用户会话索引失败，无法批量吊销: userId={}", userId, e);
+      throw new RuntimeException("批量吊销用户会话失败: userId=" + userId, e);
+    }
+    if (liveTokens.isEmpty()) {
+      CacheUtil.delete(buildIndexKey(userId));
+      return 0;
+    }
+
+    long now = Instant.now().getEpochSecond();
+    Map<String, Object> blacklistEntries = new HashMap<>(liveTokens.size() * 2);
+    Map<String, Integer> blacklistTtls = new HashMap<>(liveTokens.size() * 2);
+    List<String> sessionKeys = new ArrayList<>(liveTokens.size() + 1);
+    liveTokens.forEach(
+        (tokenId, expiresAt) -> {
+          // 黑名单只需保留到 Token 自然过期为止
+          long remaining = Math.max(1L, expiresAt - now);
+          String key = buildBlacklistKey(tokenId);
+          blacklistEntries.put(key, buildBlacklistData(tokenId, userId, remaining));
+          blacklistTtls.put(key, (int) remaining);
+          sessionKeys.add(buildSessionKey(userId, tokenId));
+        });
+
+    // 一次管道写入全部黑名单，失败时保留会话与索引，便于重试
+    if (!CacheUtil.setAll(blacklistEntries, blacklistTtls)) {
+      log.error("批量吊销用户会话失败: userId={}, sessions={}", userId, liveTokens.size());
+      throw new RuntimeException("批量吊销用户会话失败: userId=" + userId);
+    }
+
+    tokenBlacklistFilter.markRevoked(liveTokens.keySet());
+
+    sessionKeys.add(buildIndexKey(userId));
+    CacheUtil.deleteAll(sessionKeys);
+    log.info("批量吊销用户会话成功: userId={}, sessions={}", userId, liveTokens.size());
+    return liveTokens.size();
+  }
+
+  /**
+   * 查询用户未过期的 tokenId
+   *
+   * <p>先清理索引中已过期的条目（尽力而为），再按分值读取剩余条目；读取失败时抛出异常，不返回空结果。
+   *
+   * @param userId 用户ID
+   * @return tokenId 与过期时间戳（秒），按过期时间升序
+   */
+  private Map<String, Long> listLiveTokens(String userId) {
+    String indexKey = buildIndexKey(userId);
+    long now = Instant.now().getEpochSecond();
+    CacheUtil.zRemoveRangeByScore(indexKey, Double.NEGATIVE_INFINITY, now);
+    Set<ZSetOperations.TypedTuple<Object>> tuples =
+        redisTemplate
+            .opsForZSet()
+            .rangeByScoreWithScores(
+                CacheUtil.resolveKey(indexKey), now + 1, Double.POSITIVE_INFINITY);
+    Map<String, Long> liveTokens = new LinkedHashMap<>();
+    if (tuples != null) {
+      for (ZSetOperations.TypedTuple<Object> tuple : tuples) {
+        if (tuple.getValue() != null && tuple.getScore() != null) {
+          liveTokens.put(String.valueOf(tuple.getValue()), tuple.getScore().longValue());
+        }
+      }
+    }
+    return liveTokens;
+  }
+
+  private Map<String, Object> buildBlacklistData(String tokenId, String userId, long expireSeconds) {
+    Map<String, Object> blacklistData = new HashMap<>();
+    blacklistData.put("tokenId", tokenId);
+    blacklistData.put("userId", userId);
+    blacklistData.put("expiresAt", System.currentTimeMillis() / 1000 + expireSeconds);
+    return blacklistData;
+  }
+
+  private String buildSessionKey(String userId, String tokenId) {
+    return RedisKeyBuilder.builder().business(BUSINESS_SESSION).id(userId + ":" + tokenId).build();
+  }
+
+  private String buildIndexKey(String userId) {
+    return RedisKeyBuilder.builder().business(BUSINESS_SESSION_INDEX).id(userId).build();
+  }
+
+  private String buildBlacklistKey(String tokenId) {
+    return RedisKeyBuilder.builder().business(BUSINESS_BLACKLIST).id(tokenId).build();
+  }
 }
@@ -0,0 +1,302 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.auth.service.impl;
+
+import com.atlas.auth.config.AuthProperties;
+import com.atlas.auth.config.JwtConfig;
+import com.atlas.auth.model.dto.BlacklistFilterStatsDTO;
+import com.atlas.auth.service.TokenBlacklistFilter;
+import com.atlas.auth.util.RotatingBloomFilter;
+import com.atlas.common.infra.redis.key.RedisKeyBuilder;
+import com.atlas.common.infra.redis.util.CacheUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Service;
+
+/**
+ * Token 黑名单本地过滤器实现类
+ *
+ * <p>基于 {@link RotatingBloomFilter} 实现，绝大多数从未被吊销的 Token 无需访问 Redis 即可完成黑名单判断。
+ *
+ * <p>数据来源：
+ *
+ * <ul>
+ *   <li>本实例吊销 Token 时直接写入，并通过频道 {@code atlas:{service}:channel:blacklist} 广播
+ *   <li>订阅同一频道，接收其他实例广播的 tokenId
+ *   <li>启动后从 Redis 全量扫描 {@code blacklist:*} 预热，此后按 resync-seconds 周期兜底同步（防止订阅消息丢失）
+ * </ul>
+ *
+ * <p>订阅健康检查：每个实例按 heartbeat-seconds 向同一频道发布心跳。连续 3 个周期未收到任何心跳时视为订阅中断，
+ * 过滤器回退为未就绪（所有判断查询 Redis）；心跳恢复后先全量同步，再重新启用过滤器。
+ *
+ * <p>轮换：过滤器按 rotation-seconds（默认等于 JWT 过期时间）轮换。黑名单记录的存活时间不超过 Token
+ * 剩余有效期，因此轮换不会导致漏判。
+ *
+ * <p>预热完成前过滤器视为未就绪，所有判断回退到 Redis。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class TokenBlacklistFilterImpl implements TokenBlacklistFilter, MessageListener {
+
+  /** 黑名单同步频道（发布与订阅时均会补齐前缀） */
+  public static final String CHANNEL_BLACKLIST =
+      RedisKeyBuilder.builder()
+          .business("channel")
+          .id(SessionServiceImpl.BUSINESS_BLACKLIST)
+          .build();
+
+  private static final int SCAN_BATCH_SIZE = 1000;
+
+  /** 心跳消息体（tokenId 不会与之冲突） */
+  private static final String HEARTBEAT = "__heartbeat__";
+
+  /** 判定订阅中断前允许错过的心跳周期数 */
+  private static final int MISSED_HEARTBEATS = 3;
+
+  private final AuthProperties.BlacklistConfig config;
+  private final long rotationSeconds;
+  private final RedisTemplate<String, Object> redisTemplate;
+
+  private final AtomicLong lookups = new AtomicLong();
+  private final AtomicLong filterHits = new AtomicLong();
+  private final AtomicLong confirmedRevoked = new AtomicLong();
+
+  private RotatingBloomFilter bloomFilter;
+  private ScheduledExecutorService scheduler;
+  private volatile boolean ready;
+  private volatile long lastRotatedAt;
+  private volatile long lastHeartbeatAt;
+  private volatile boolean subscriptionLost;
+
+  public TokenBlacklistFilterImpl(
+      AuthProperties authProperties,
+      JwtConfig jwtConfig,
+      RedisTemplate<String, Object> redisTemplate) {
+    this.config = authProperties.getBlacklist();
+    this.rotationSeconds =
+        config.getRotationSeconds() > 0 ? config.getRotationSeconds() : jwtConfig.getExpire();
+    this.redisTemplate = redisTemplate;
+  }
+
+  @PostConstruct
+  public void init() {
+    if (!config.isFilterEnabled()) {
+      log.info("Token 黑名单本地过滤器未启用，黑名单校验将直接查询 Redis");
+      return;
+    }
+    bloomFilter =
+        new RotatingBloomFilter(config.getExpectedInsertions(), config.getFalsePositiveRate());
+    lastRotatedAt = System.currentTimeMillis();
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "token-blacklist-filter");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleAtFixedRate(
+        this::rotate, rotationSeconds, rotationSeconds, TimeUnit.SECONDS);
+    log.info(
+        "Token 黑名单本地过滤器已创建: bitSize={}, hashFunctions={}, memoryBytes={}, rotationSeconds={}",
+        bloomFilter.getBitSize(),
+        bloomFilter.getHashFunctions(),
+        bloomFilter.getMemoryBytes(),
+        rotationSeconds);
+  }
+
+  /**
+   * 应用就绪后预热
+   *
+   * <p>此时订阅容器已启动，先订阅后扫描，保证预热期间广播的 tokenId 不会丢失。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    if (scheduler == null) {
+      return;
+    }
+    scheduler.execute(this::resync);
+    if (config.getResyncSeconds() > 0) {
+      scheduler.scheduleWithFixedDelay(
+          this::resync, config.getResyncSeconds(), config.getResyncSeconds(), TimeUnit.SECONDS);
+    }
+    long heartbeatSeconds = config.getHeartbeatSeconds();
+    if (heartbeatSeconds > 0) {
+      lastHeartbeatAt = System.currentTimeMillis();
+      scheduler.scheduleWithFixedDelay(
+          this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+
+  @Override
+  public boolean mightBeRevoked(String tokenId) {
+    if (!ready) {
+      return true;
+    }
+    lookups.incrementAndGet();
+    boolean hit = bloomFilter.mightContain(tokenId);
+    if (hit) {
+      filterHits.incrementAndGet();
+    }
+    return hit;
+  }
+
+  @Override
+  public void markRevoked(Collection<String> tokenIds) {
+    if (bloomFilter == null || tokenIds == null || tokenIds.isEmpty()) {
+      return;
+    }
+    tokenIds.forEach(bloomFilter::put);
+    if (!CacheUtil.publish(CHANNEL_BLACKLIST, new ArrayList<>(tokenIds))) {
+      // 广播失败时其他实例依赖周期同步兜底
+      log.warn("Token 黑名单广播失败，其他实例将在下次同步时更新: size={}", tokenIds.size());
+    }
+  }
+
+  @Override
+  public void recordConfirmation(boolean revoked) {
+    if (revoked && ready) {
+      confirmedRevoked.incrementAndGet();
+    }
+  }
+
+  @Override
+  public BlacklistFilterStatsDTO getStats() {
+    BlacklistFilterStatsDTO stats = new BlacklistFilterStatsDTO();
+    stats.setReady(ready);
+    stats.setLookups(lookups.get());
+    stats.setFilterHits(filterHits.get());
+    stats.setConfirmedRevoked(confirmedRevoked.get());
+    stats.setLastRotatedAt(lastRotatedAt);
+    if (bloomFilter != null) {
+      stats.setBitSize(bloomFilter.getBitSize());
+      stats.setHashFunctions(bloomFilter.getHashFunctions());
+      stats.setCurrentInsertions(bloomFilter.getCurrentInsertions());
+      stats.setPreviousInsertions(bloomFilter.getPreviousInsertions());
+      stats.setMemoryBytes(bloomFilter.getMemoryBytes());
+      stats.setEstimatedFalsePositiveRate(bloomFilter.estimateFalsePositiveRate());
+    }
+    long totalLookups = stats.getLookups();
+    if (totalLookups > 0) {
+      long falsePositives = Math.max(0, stats.getFilterHits() - stats.getConfirmedRevoked());
+      stats.setObservedFalsePositiveRate((double) falsePositives / totalLookups);
+    }
+    return stats;
+  }
+
+  /**
+   * 接收其他实例广播的 tokenId
+   *
+   * @param message 消息（tokenId 列表）
+   * @param pattern 订阅模式
+   */
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    if (bloomFilter == null) {
+      return;
+    }
+    try {
+      Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+      if (HEARTBEAT.equals(body)) {
+        lastHeartbeatAt = System.currentTimeMillis();
+      } else if (body instanceof Collection<?> tokenIds) {
+        tokenIds.forEach(tokenId -> bloomFilter.put(String.valueOf(tokenId)));
+      } else if (body != null) {
+        bloomFilter.put(String.valueOf(body));
+      }
+    } catch (Exception e) {
+      log.warn("解析 Token 黑名单广播消息失败: {}", e.getMessage());
+    }
+  }
+
+  /** 轮换过滤器并输出统计 */
+  private void rotate() {
+    try {
+      BlacklistFilterStatsDTO stats = getStats();
+      bloomFilter.rotate();
+      lastRotatedAt = System.currentTimeMillis();
+      log.info(
+          "Token 黑名单过滤器轮换: insertions={}, memoryBytes={}, estimatedFpp={}, observedFpp={},"
+              + " lookups={}, filterHits={}",
+          stats.getCurrentInsertions(),
+          stats.getMemoryBytes(),
+          stats.getEstimatedFalsePositiveRate(),
+          stats.getObservedFalsePositiveRate(),
+          stats.getLookups(),
+          stats.getFilterHits());
+    } catch (Exception e) {
+      log.error("Token 黑名单过滤器轮换失败", e);
+    }
+  }
+
+  /**
+   * 发布心跳并检查订阅是否中断
+   *
+   * <p>订阅中断期间其他实例广播的 tokenId 会丢失，此时回退到 Redis 校验；心跳恢复后全量同步补齐丢失的记录。
+   */
+  private void heartbeat() {
+    CacheUtil.publish(CHANNEL_BLACKLIST, HEARTBEAT);
+    long silentMillis = System.currentTimeMillis() - lastHeartbeatAt;
+    long thresholdMillis =
+        TimeUnit.SECONDS.toMillis(config.getHeartbeatSeconds()) * MISSED_HEARTBEATS;
+    if (silentMillis > thresholdMillis) {
+      if (!subscriptionLost) {
+        subscriptionLost = true;
+        ready = false;
+        log.warn("Token 黑名单订阅疑似中断，回退到 Redis 校验: silentMillis={}", silentMillis);
+      }
+    } else if (subscriptionLost) {
+      subscriptionLost = false;
+      log.info("Token 黑名单订阅已恢复，重新同步后启用过滤器");
+      resync();
+    }
+  }
+
+  /** 从 Redis 全量同步黑名单（SCAN，不阻塞 Redis） */
+  private void resync() {
+    String pattern = CacheUtil.resolveKey(SessionServiceImpl.BUSINESS_BLACKLIST + ":*");
+    ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH_SIZE).build();
+    long count = 0;
+    try (Cursor<String> cursor = redisTemplate.scan(options)) {
+      while (cursor.hasNext()) {
+        String key = cursor.next();
+        bloomFilter.put(key.substring(key.lastIndexOf(':') + 1));
+        count++;
+      }
+      if (subscriptionLost) {
+        // 订阅中断期间保持未就绪，同步结果仅用于心跳恢复后减少漏判
+        log.debug("Token 黑名单过滤器同步完成（订阅中断，保持未就绪）: entries={}", count);
+      } else if (!ready) {
+        ready = true;
+        log.info("Token 黑名单过滤器预热完成: entries={}", count);
+      } else {
+        log.debug("Token 黑名单过滤器同步完成: entries={}", count);
+      }
+    } catch (Exception e) {
+      // 预热失败时保持未就绪状态（回退 Redis），等待下次同步
+      log.error("Token 黑名单过滤器同步失败: ready={}", ready, e);
+    }
+  }
+}
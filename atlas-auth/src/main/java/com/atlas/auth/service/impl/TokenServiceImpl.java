@@ -3,6 +3,7 @@ package com.atlas.auth.service.impl;
 
 import com.atlas.auth.model.dto.TokenInfoDTO;
 import com.atlas.auth.service.SessionService;
+import com.atlas.auth.service.TokenBlacklistFilter;
 import com.atlas.auth.service.TokenService;
 import com.atlas.auth.util.JwtUtil;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +14,9 @@ import org.springframework.stereotype.Service;
  *
  * <p>实现 Token 的生成、解析和验证功能。
  *
+ * <p>黑名单校验先经过本地布隆过滤器（{@link TokenBlacklistFilter}），未命中即可判定 Token 未被吊销，
+ * 仅在命中时查询 Redis 确认，避免每次校验都产生一次 Redis 往返。
+ *
  * @author Atlas Team
  * @since 1.0.0
  */
@@ -22,10 +26,13 @@ public class TokenServiceImpl implements TokenService {
 
   private final JwtUtil jwtUtil;
   private final SessionService sessionService;
+  private final TokenBlacklistFilter tokenBlacklistFilter;
 
-  public TokenServiceImpl(JwtUtil jwtUtil, SessionService sessionService) {
+  public TokenServiceImpl(
+      JwtUtil jwtUtil, SessionService sessionService, TokenBlacklistFilter tokenBlacklistFilter) {
     this.jwtUtil = jwtUtil;
     this.sessionService = sessionService;
+    this.tokenBlacklistFilter = tokenBlacklistFilter;
   }
 
   @Override
@@ -44,10 +51,15 @@ public class TokenServiceImpl implements TokenService {
       // 解析 Token（验证格式、签名、过期时间）
       TokenInfoDTO tokenInfo = jwtUtil.parseToken(token);
 
-      // 检查 Token 是否在黑名单中
-      if (sessionService.isBlacklisted(tokenInfo.getTokenId())) {
-        log.warn("Token 在黑名单中: tokenId={}", tokenInfo.getTokenId());
-        return null;
+      // 检查 Token 是否在黑名单中（本地过滤器未命中则一定未被吊销，无需查询 Redis）
+      String tokenId = tokenInfo.getTokenId();
+      if (tokenBlacklistFilter.mightBeRevoked(tokenId)) {
+        boolean blacklisted = sessionService.isBlacklisted(tokenId);
+        tokenBlacklistFilter.recordConfirmation(blacklisted);
+        if (blacklisted) {
+          log.warn("Token 在黑名单中: tokenId={}", tokenId);
+          return null;
+        }
       }
 
       return tokenInfo;
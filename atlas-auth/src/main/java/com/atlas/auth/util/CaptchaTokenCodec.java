@@ -0,0 +1,148 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.auth.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * 无状态验证码 Key 编解码器
+ *
+ * <p>将验证码答案封装为 HMAC 签名、带过期时间的自包含 captchaKey，服务端无需存储答案即可校验。
+ *
+ * <p>Key 结构（Base64URL，无填充）：
+ *
+ * <pre>
+ * version(1) | nonce(16) | expiresAt(8, 秒) | tag(16)
+ * tag = HMAC-SHA256(secret, version | nonce | expiresAt | lower(code)) 截取前 16 字节
+ * </pre>
+ *
+ * <p>说明：
+ *
+ * <ul>
+ *   <li>答案只以带密钥的摘要形式出现在 tag 中，客户端无法在不知道密钥的情况下离线枚举答案
+ *   <li>nonce 唯一标识一次发放，用于校验时记录"已使用"
+ *   <li>过期时间受签名保护，无法被篡改
+ * </ul>
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+public final class CaptchaTokenCodec {
+
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+  private static final byte VERSION = 1;
+  private static final int NONCE_LENGTH = 16;
+  private static final int TAG_LENGTH = 16;
+  private static final int TOKEN_LENGTH = 1 + NONCE_LENGTH + Long.BYTES + TAG_LENGTH;
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private final SecretKeySpec secretKey;
+
+  /**
+   * 创建编解码器
+   *
+   * @param secret HMAC 密钥
+   */
+  public CaptchaTokenCodec(byte[] secret) {
+    if (secret == null || secret.length == 0) {
+      throw new IllegalArgumentException("验证码签名密钥不能为空");
+    }
+    this.secretKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+  }
+
+  /**
+   * 签发 captchaKey
+   *
+   * @param code 验证码答案
+   * @param expiresAt 过期时间戳（秒）
+   * @return captchaKey
+   */
+  public String issue(String code, long expiresAt) {
+    byte[] nonce = new byte[NONCE_LENGTH];
+    RANDOM.nextBytes(nonce);
+    ByteBuffer buffer = ByteBuffer.allocate(TOKEN_LENGTH);
+    buffer.put(VERSION).put(nonce).putLong(expiresAt).put(tag(nonce, expiresAt, code));
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+  }
+
+  /**
+   * 解析 captchaKey（只校验格式，不校验答案与过期时间）
+   *
+   * @param captchaKey captchaKey
+   * @return 解析结果，格式非法时返回 null
+   */
+  public Envelope parse(String captchaKey) {
+    if (captchaKey == null) {
+      return null;
+    }
+    byte[] bytes;
+    try {
+      bytes = Base64.getUrlDecoder().decode(captchaKey.trim());
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+    if (bytes.length != TOKEN_LENGTH || bytes[0] != VERSION) {
+      return null;
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, TOKEN_LENGTH - 1);
+    byte[] nonce = new byte[NONCE_LENGTH];
+    buffer.get(nonce);
+    long expiresAt = buffer.getLong();
+    byte[] tag = new byte[TAG_LENGTH];
+    buffer.get(tag);
+    return new Envelope(nonce, expiresAt, tag);
+  }
+
+  /**
+   * 校验用户输入是否与 captchaKey 中签名的答案一致（常量时间比较，不区分大小写）
+   *
+   * @param envelope 解析结果
+   * @param userInput 用户输入
+   * @return 是否一致
+   */
+  public boolean matches(Envelope envelope, String userInput) {
+    byte[] expected = tag(envelope.nonce(), envelope.expiresAt(), userInput);
+    return MessageDigest.isEqual(expected, envelope.tag());
+  }
+
+  private byte[] tag(byte[] nonce, long expiresAt, String code) {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(secretKey);
+      mac.update(VERSION);
+      mac.update(nonce);
+      mac.update(ByteBuffer.allocate(Long.BYTES).putLong(expiresAt).array());
+      mac.update(code.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+      return Arrays.copyOf(mac.doFinal(), TAG_LENGTH);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("验证码签名失败", e);
+    }
+  }
+
+  /**
+   * captchaKey 解析结果
+   *
+   * @param nonce 发放唯一标识
+   * @param expiresAt 过期时间戳（秒）
+   * @param tag 签名
+   */
+  public record Envelope(byte[] nonce, long expiresAt, byte[] tag) {
+
+    /**
+     * 获取 nonce 的文本形式（用于构建"已使用"标记的 Redis Key）
+     *
+     * @return Base64URL 编码的 nonce
+     */
+    public String nonceId() {
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(nonce);
+    }
+  }
+}
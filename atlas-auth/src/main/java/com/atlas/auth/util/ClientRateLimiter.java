@@ -0,0 +1,119 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.auth.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按客户端限流的令牌桶
+ *
+ * <p>每个客户端（如 IP）一个令牌桶：容量为 burst，按 permitsPerSecond 匀速补充。用于无需认证的接口，
+ * 防止单个客户端耗尽共享资源。
+ *
+ * <p>特性：
+ *
+ * <ul>
+ *   <li>令牌桶在首次请求时创建，更新通过 {@link ConcurrentHashMap#compute} 原子完成
+ *   <li>跟踪的客户端数超过上限时先清理已补满的桶（与新建桶等价），仍超限时按最近更新时间淘汰最久未活动的桶，
+ *       直至降到上限的 {@value #EVICT_TARGET_PERCENT}%。正在被限流的客户端持续请求、桶一直在更新，不会因大量新客户端涌入而被重置
+ *   <li>仅在当前实例内生效，多实例部署时单个客户端的总速率上限为实例数倍
+ * </ul>
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+public class ClientRateLimiter {
+
+  /** 淘汰后保留的客户端数占上限的百分比，批量淘汰以分摊排序开销 */
+  private static final int EVICT_TARGET_PERCENT = 90;
+
+  private final double permitsPerNano;
+  private final double burst;
+  private final int maxClients;
+
+  private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+  /**
+   * 创建限流器
+   *
+   * @param permitsPerSecond 每个客户端每秒补充的令牌数
+   * @param burst 每个客户端的桶容量（允许的突发请求数）
+   * @param maxClients 最多跟踪的客户端数
+   */
+  public ClientRateLimiter(double permitsPerSecond, int burst, int maxClients) {
+    if (permitsPerSecond <= 0) {
+      throw new IllegalArgumentException("permitsPerSecond 必须大于 0");
+    }
+    this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+    this.burst = Math.max(1, burst);
+    this.maxClients = Math.max(1, maxClients);
+  }
+
+  /**
+   * 尝试为客户端获取一个令牌
+   *
+   * @param clientId 客户端标识
+   * @return 获取成功返回 true，已超出速率返回 false
+   */
+  public boolean tryAcquire(String clientId) {
+    if (buckets.size() >= maxClients && !buckets.containsKey(clientId)) {
+      evict();
+    }
+    long now = System.nanoTime();
+    boolean[] acquired = new boolean[1];
+    buckets.compute(
+        clientId,
+        (k, bucket) -> {
+          double tokens =
+              bucket == null
+                  ? burst
+                  : Math.min(burst, bucket.tokens() + (now - bucket.updatedAt()) * permitsPerNano);
+          if (tokens >= 1) {
+            acquired[0] = true;
+            tokens -= 1;
+          }
+          return new Bucket(tokens, now);
+        });
+    return acquired[0];
+  }
+
+  /**
+   * 当前跟踪的客户端数
+   *
+   * @return 客户端数
+   */
+  public int size() {
+    return buckets.size();
+  }
+
+  private synchronized void evict() {
+    if (buckets.size() < maxClients) {
+      return;
+    }
+    long now = System.nanoTime();
+    buckets.values().removeIf(b -> b.tokens() + (now - b.updatedAt()) * permitsPerNano >= burst);
+    int excess = buckets.size() - (int) ((long) maxClients * EVICT_TARGET_PERCENT / 100);
+    if (excess <= 0) {
+      return;
+    }
+    List<Map.Entry<String, Bucket>> entries = new ArrayList<>(buckets.entrySet());
+    entries.sort(Comparator.comparingLong(e -> e.getValue().updatedAt()));
+    for (int i = 0; i < excess && i < entries.size(); i++) {
+      Map.Entry<String, Bucket> entry = entries.get(i);
+      // 仅当桶在排序后未被更新时移除，刚活动过的客户端保留
+      buckets.remove(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * 令牌桶状态（不可变，每次更新替换）
+   *
+   * @param tokens 剩余令牌数
+   * @param updatedAt 上次更新时间（纳秒）
+   */
+  private record Bucket(double tokens, long updatedAt) {}
+}
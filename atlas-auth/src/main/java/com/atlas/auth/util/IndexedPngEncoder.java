@@ -0,0 +1,126 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.auth.util;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * 索引色 PNG 编码器
+ *
+ * <p>针对 {@link BufferedImage#TYPE_BYTE_INDEXED} 图片的轻量 PNG 编码实现，直接读取调色板下标写出
+ * IHDR/PLTE/IDAT/IEND 四个数据块，跳过 ImageIO 的插件查找、元数据构建与逐像素颜色转换。
+ *
+ * <p>适用于验证码等颜色数量少、尺寸小的图片：每像素 1 字节、不做行过滤（filter type 0），使用
+ * {@link Deflater#BEST_SPEED} 压缩，输出体积与编码耗时均明显小于 24 位真彩色 PNG。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+public final class IndexedPngEncoder {
+
+  private static final byte[] PNG_SIGNATURE = {
+    (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'
+  };
+  private static final int COLOR_TYPE_INDEXED = 3;
+  private static final int BIT_DEPTH = 8;
+
+  private IndexedPngEncoder() {
+    throw new UnsupportedOperationException("工具类不允许实例化");
+  }
+
+  /**
+   * 编码索引色图片为 PNG
+   *
+   * @param image 图片（必须为 {@link BufferedImage#TYPE_BYTE_INDEXED}）
+   * @return PNG 字节
+   * @throws IllegalArgumentException 如果图片类型不是索引色
+   */
+  public static byte[] encode(BufferedImage image) {
+    if (image.getType() != BufferedImage.TYPE_BYTE_INDEXED
+        || !(image.getColorModel() instanceof IndexColorModel colorModel)) {
+      throw new IllegalArgumentException("仅支持 TYPE_BYTE_INDEXED 图片");
+    }
+    int width = image.getWidth();
+    int height = image.getHeight();
+    byte[] pixels = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(width * height / 4 + 128);
+    out.writeBytes(PNG_SIGNATURE);
+    writeChunk(out, "IHDR", header(width, height));
+    writeChunk(out, "PLTE", palette(colorModel));
+    writeChunk(out, "IDAT", compress(pixels, width, height));
+    writeChunk(out, "IEND", new byte[0]);
+    return out.toByteArray();
+  }
+
+  private static byte[] header(int width, int height) {
+    byte[] ihdr = new byte[13];
+    writeInt(ihdr, 0, width);
+    writeInt(ihdr, 4, height);
+    ihdr[8] = BIT_DEPTH;
+    ihdr[9] = COLOR_TYPE_INDEXED;
+    // compression=0, filter=0, interlace=0
+    return ihdr;
+  }
+
+  private static byte[] palette(IndexColorModel colorModel) {
+    int size = colorModel.getMapSize();
+    byte[] plte = new byte[size * 3];
+    for (int i = 0; i < size; i++) {
+      plte[i * 3] = (byte) colorModel.getRed(i);
+      plte[i * 3 + 1] = (byte) colorModel.getGreen(i);
+      plte[i * 3 + 2] = (byte) colorModel.getBlue(i);
+    }
+    return plte;
+  }
+
+  private static byte[] compress(byte[] pixels, int width, int height) {
+    // 每行前置 1 字节过滤类型（0 = None）
+    byte[] raw = new byte[(width + 1) * height];
+    for (int y = 0; y < height; y++) {
+      System.arraycopy(pixels, y * width, raw, y * (width + 1) + 1, width);
+    }
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(raw);
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+      byte[] buffer = new byte[4096];
+      while (!deflater.finished()) {
+        int n = deflater.deflate(buffer);
+        out.write(buffer, 0, n);
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static void writeChunk(ByteArrayOutputStream out, String type, byte[] data) {
+    byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+    byte[] length = new byte[4];
+    writeInt(length, 0, data.length);
+    out.writeBytes(length);
+    out.writeBytes(typeBytes);
+    out.writeBytes(data);
+
+    CRC32 crc = new CRC32();
+    crc.update(typeBytes);
+    crc.update(data);
+    byte[] crcBytes = new byte[4];
+    writeInt(crcBytes, 0, (int) crc.getValue());
+    out.writeBytes(crcBytes);
+  }
+
+  private static void writeInt(byte[] target, int offset, int value) {
+    target[offset] = (byte) (value >>> 24);
+    target[offset + 1] = (byte) (value >>> 16);
+    target[offset + 2] = (byte) (value >>> 8);
+    target[offset + 3] = (byte) value;
+  }
+}
@@ -0,0 +1,232 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.auth.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 按时间窗口轮换的布隆过滤器
+ *
+ * <p>内部维护"当前"与"上一代"两个位图，写入只进入当前代，查询同时检查两代。每次 {@link #rotate()}
+ * 丢弃上一代、将当前代降级为上一代并新建当前代。只要轮换周期不小于元素需要保留的时长（如 Token 有效期），
+ * 任一元素在写入后至少保留一个完整周期，最多保留两个周期，因此不会出现漏判。
+ *
+ * <p>特性：
+ *
+ * <ul>
+ *   <li>位图基于 {@link AtomicLongArray}，写入与查询均无锁，可被多线程并发访问
+ *   <li>哈希采用双重哈希（Kirsch-Mitzenmacher），k 个下标由两个 64 位哈希线性组合得到
+ *   <li>按预期元素数量与目标误判率计算位图大小与哈希函数个数
+ *   <li>提供理论误判率与内存占用统计
+ * </ul>
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+public class RotatingBloomFilter {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  /** 每代位图的位数 */
+  private final long bitSize;
+
+  /** 哈希函数个数 */
+  private final int hashFunctions;
+
+  /** 当前代（volatile 保证轮换后对所有线程可见） */
+  private volatile Generation current;
+
+  /** 上一代 */
+  private volatile Generation previous;
+
+  /**
+   * 创建布隆过滤器
+   *
+   * @param expectedInsertions 每个时间窗口内预期写入的元素数量
+   * @param falsePositiveRate 目标误判率（0 ~ 1）
+   */
+  public RotatingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+    if (expectedInsertions <= 0) {
+      throw new IllegalArgumentException("expectedInsertions 必须大于 0");
+    }
+    if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("falsePositiveRate 必须在 (0, 1) 区间内");
+    }
+    // m = -n * ln(p) / (ln2)^2，按 64 位对齐
+    double ln2 = Math.log(2);
+    long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+    this.bitSize = Math.max(64L, ((bits + 63) / 64) * 64);
+    // k = m / n * ln2
+    this.hashFunctions =
+        Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * ln2));
+    this.current = new Generation(bitSize);
+    this.previous = new Generation(bitSize);
+  }
+
+  /**
+   * 写入元素
+   *
+   * @param value 元素
+   */
+  public void put(String value) {
+    if (value == null) {
+      return;
+    }
+    current.put(hash(value), hashFunctions);
+  }
+
+  /**
+   * 判断元素是否可能存在
+   *
+   * @param value 元素
+   * @return false 表示一定不存在，true 表示可能存在（存在误判）
+   */
+  public boolean mightContain(String value) {
+    if (value == null) {
+      return false;
+    }
+    long[] hashes = hash(value);
+    return current.mightContain(hashes, hashFunctions)
+        || previous.mightContain(hashes, hashFunctions);
+  }
+
+  /** 轮换：丢弃上一代，当前代降级为上一代，并新建当前代 */
+  public synchronized void rotate() {
+    previous = current;
+    current = new Generation(bitSize);
+  }
+
+  /**
+   * 获取每代位图位数
+   *
+   * @return 位数
+   */
+  public long getBitSize() {
+    return bitSize;
+  }
+
+  /**
+   * 获取哈希函数个数
+   *
+   * @return 哈希函数个数
+   */
+  public int getHashFunctions() {
+    return hashFunctions;
+  }
+
+  /**
+   * 获取当前代写入次数
+   *
+   * <p>仅统计至少置位了一个新比特的写入，重复写入同一元素不会重复计数，因此可近似视为不同元素数量。
+   *
+   * @return 写入次数
+   */
+  public long getCurrentInsertions() {
+    return current.insertions.get();
+  }
+
+  /**
+   * 获取上一代写入次数
+   *
+   * @return 写入次数
+   */
+  public long getPreviousInsertions() {
+    return previous.insertions.get();
+  }
+
+  /**
+   * 获取位图占用内存（字节，两代合计）
+   *
+   * @return 内存占用
+   */
+  public long getMemoryBytes() {
+    return 2 * (bitSize / 8);
+  }
+
+  /**
+   * 估算当前理论误判率
+   *
+   * <p>单代误判率 p = (1 - e^(-k*n/m))^k；查询同时检查两代，合并误判率为 1 - (1 - p1)(1 - p2)。
+   *
+   * @return 理论误判率
+   */
+  public double estimateFalsePositiveRate() {
+    double p1 = generationFalsePositiveRate(getCurrentInsertions());
+    double p2 = generationFalsePositiveRate(getPreviousInsertions());
+    return 1 - (1 - p1) * (1 - p2);
+  }
+
+  private double generationFalsePositiveRate(long insertions) {
+    if (insertions <= 0) {
+      return 0;
+    }
+    return Math.pow(1 - Math.exp(-(double) hashFunctions * insertions / bitSize), hashFunctions);
+  }
+
+  /**
+   * 计算元素的两个 64 位哈希值
+   *
+   * <p>FNV-1a 得到基础哈希，再经 SplitMix64 混淆得到两个相互独立的哈希值。
+   */
+  private static long[] hash(String value) {
+    long h = FNV_OFFSET_BASIS;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      h ^= b;
+      h *= FNV_PRIME;
+    }
+    long h1 = mix64(h);
+    long h2 = mix64(h1 ^ 0x9e3779b97f4a7c15L) | 1L;
+    return new long[] {h1, h2};
+  }
+
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  /** 单代位图 */
+  private static final class Generation {
+
+    private final long bitSize;
+    private final AtomicLongArray words;
+    private final AtomicLong insertions = new AtomicLong();
+
+    private Generation(long bitSize) {
+      this.bitSize = bitSize;
+      this.words = new AtomicLongArray((int) (bitSize / 64));
+    }
+
+    private void put(long[] hashes, int hashFunctions) {
+      boolean changed = false;
+      for (int i = 0; i < hashFunctions; i++) {
+        long index = Math.floorMod(hashes[0] + i * hashes[1], bitSize);
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long old;
+        do {
+          old = words.get(word);
+          if ((old & mask) != 0) {
+            break;
+          }
+        } while (!words.compareAndSet(word, old, old | mask));
+        changed |= (old & mask) == 0;
+      }
+      if (changed) {
+        insertions.incrementAndGet();
+      }
+    }
+
+    private boolean mightContain(long[] hashes, int hashFunctions) {
+      for (int i = 0; i < hashFunctions; i++) {
+        long index = Math.floorMod(hashes[0] + i * hashes[1], bitSize);
+        if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
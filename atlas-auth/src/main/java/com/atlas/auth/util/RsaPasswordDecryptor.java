@@ -4,17 +4,16 @@
 package com.atlas.auth.util;
 
 import java.nio.charset.StandardCharsets;
-import java.security.KeyFactory;
+import java.security.GeneralSecurityException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.spec.MGF1ParameterSpec;
-import java.security.spec.PKCS8EncodedKeySpec;
-import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import javax.crypto.Cipher;
 import javax.crypto.spec.OAEPParameterSpec;
 import javax.crypto.spec.PSource;
-
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -25,6 +24,17 @@ import org.springframework.stereotype.Component;
  *
  * <p>前端应使用 GET /api/v1/auth/public-key 获取公钥，对密码加密后 Base64 编码传 encryptedPassword。
  *
+ * <p>Cipher 复用：
+ *
+ * <ul>
+ *   <li>{@link Cipher#getInstance(String)} 的 Provider 查找与 {@code init} 开销较大，因此维护一个有界的
+ *       已初始化 Cipher 池，解密时借出、完成后归还
+ *   <li>{@link Cipher#doFinal(byte[])} 成功后会重置为 init 时的状态，可直接复用；解密失败的实例直接丢弃，不归还池中
+ *   <li>Cipher 非线程安全，同一时刻只会被一个借用方持有；池与线程无关（不使用 ThreadLocal），
+ *       大量虚拟线程并发时不会为每个线程各创建一个实例
+ *   <li>池为空时临时新建，池满时归还的实例直接丢弃，池本身不会阻塞调用方
+ * </ul>
+ *
  * @author Atlas Team
  * @since 1.0.0
  */
@@ -34,12 +44,30 @@ public class RsaPasswordDecryptor {
 
   private static final String TRANSFORMATION = "RSA/ECB/OAEPWithSHA-256AndMGF1Padding";
 
+  private static final OAEPParameterSpec OAEP_PARAMETERS =
+      new OAEPParameterSpec(
+          "SHA-256", "MGF1", MGF1ParameterSpec.SHA256, PSource.PSpecified.DEFAULT);
+
+  /** 池容量（CPU 核数的 2 倍，至少 4） */
+  private static final int POOL_CAPACITY =
+      Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
   private final PrivateKey privateKey;
   private final PublicKey publicKey;
+  private final BlockingQueue<Cipher> cipherPool = new ArrayBlockingQueue<>(POOL_CAPACITY);
 
   public RsaPasswordDecryptor(PrivateKey privateKey, PublicKey publicKey) {
     this.privateKey = privateKey;
     this.publicKey = publicKey;
+    // 预热：启动时按 CPU 核数预先创建并初始化
+    int warmup = Math.min(POOL_CAPACITY, Runtime.getRuntime().availableProcessors());
+    try {
+      for (int i = 0; i < warmup; i++) {
+        cipherPool.offer(newCipher());
+      }
+    } catch (GeneralSecurityException e) {
+      log.warn("RSA 解密 Cipher 预热失败: {}", e.getMessage());
+    }
   }
 
   /**
@@ -52,25 +80,31 @@ public class RsaPasswordDecryptor {
     if (base64CipherText == null || base64CipherText.isBlank()) {
       return null;
     }
+    byte[] cipherBytes;
     try {
-      byte[] cipherBytes = Base64.getDecoder().decode(base64CipherText.trim());
-      Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-//      cipher.init(Cipher.DECRYPT_MODE, privateKey);
-      cipher.init(
-              Cipher.DECRYPT_MODE,
-              privateKey,
-              new OAEPParameterSpec(
-                      "SHA-256",
-                      "MGF1",
-                      MGF1ParameterSpec.SHA256,
-                      PSource.PSpecified.DEFAULT
-              )
-      );
+      cipherBytes = Base64.getDecoder().decode(base64CipherText.trim());
+    } catch (IllegalArgumentException e) {
+      log.debug("密码解密失败: {}", e.getMessage());
+      return null;
+    }
+    Cipher cipher = cipherPool.poll();
+    try {
+      if (cipher == null) {
+        cipher = newCipher();
+      }
       byte[] plainBytes = cipher.doFinal(cipherBytes);
+      // 仅成功解密的实例归还池中（doFinal 成功后已重置为 init 状态）
+      cipherPool.offer(cipher);
       return new String(plainBytes, StandardCharsets.UTF_8);
     } catch (Exception e) {
       log.debug("密码解密失败: {}", e.getMessage());
       return null;
     }
   }
+
+  private Cipher newCipher() throws GeneralSecurityException {
+    Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+    cipher.init(Cipher.DECRYPT_MODE, privateKey, OAEP_PARAMETERS);
+    return cipher;
+  }
 }
@@ -25,6 +25,9 @@ public class CommonErrorCode {
   /** 请求处理超时 */
   public static final String REQUEST_TIMEOUT = "050002";
 
+  /** 请求过多（已被限流） */
+  public static final String TOO_MANY_REQUESTS = "050003";
+
   // ========== 参数错误 (10-19) ==========
 
   /** 参数错误 */
@@ -0,0 +1,54 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.common.feature.core.exception;
+
+import com.atlas.common.feature.core.constant.CommonErrorCode;
+import lombok.Getter;
+
+/**
+ * 过载异常
+ *
+ * <p>用于服务处于饱和状态、主动拒绝请求的场景（如工作队列已满、排队超时）。
+ *
+ * <p>错误码与 HTTP 状态对应关系：
+ *
+ * <ul>
+ *   <li>{@link CommonErrorCode#TOO_MANY_REQUESTS}：准入拒绝，对应 HTTP 429
+ *   <li>{@link CommonErrorCode#SERVICE_UNAVAILABLE}：排队超时等暂时不可用，对应 HTTP 503
+ * </ul>
+ *
+ * <p>使用示例：
+ *
+ * <pre>
+ * throw new OverloadException(CommonErrorCode.TOO_MANY_REQUESTS, "登录请求过多，请稍后重试", 1);
+ * </pre>
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Getter
+public class OverloadException extends BusinessException {
+
+  /** 建议客户端重试的等待时间（秒），用于 Retry-After 响应头 */
+  private final long retryAfterSeconds;
+
+  /**
+   * 创建过载异常
+   *
+   * @param errorCode 错误码
+   * @param message 错误消息
+   * @param retryAfterSeconds 建议重试等待时间（秒）
+   */
+  public OverloadException(String errorCode, String message, long retryAfterSeconds) {
+    super(errorCode, message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /**
+   * 是否为准入拒绝（HTTP 429），否则视为暂时不可用（HTTP 503）
+   *
+   * @return 是否为准入拒绝
+   */
+  public boolean isTooManyRequests() {
+    return CommonErrorCode.TOO_MANY_REQUESTS.equals(getErrorCode());
+  }
+}
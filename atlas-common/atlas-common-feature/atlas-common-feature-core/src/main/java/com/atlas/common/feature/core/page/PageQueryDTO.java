@@ -17,6 +17,8 @@ import lombok.NoArgsConstructor;
  *   <li>page：当前页码，从 1 开始，默认 1
  *   <li>size：每页条数，默认 10，建议上限 100
  *   <li>sort：排序，格式为「字段名,方向」，如 createdAt,desc 或 username,asc
+ *   <li>withTotal：是否统计总记录数，默认 true；传 false 时跳过 COUNT 查询
+ *   <li>cursor：游标分页，传入即启用（首页传空值，后续页传上一页返回的 nextCursor）；此时忽略 page
  * </ul>
  *
  * <p>使用方式：Controller 层通过 QueryParam 绑定，或与业务 QueryDTO 组合使用；排序字段由各业务层白名单校验。
@@ -39,6 +41,30 @@ public class PageQueryDTO {
   /** 排序，格式：字段名,asc 或 字段名,desc，可选 */
   private String sort;
 
+  /** 是否统计总记录数，默认 true。传 false 时跳过 COUNT 查询，响应不含 total、pages */
+  @Builder.Default private Boolean withTotal = Boolean.TRUE;
+
+  /** 游标，可选。非 null 时使用游标分页（空字符串表示首页），由 {@link PageResult#getNextCursor()} 返回 */
+  private String cursor;
+
+  /**
+   * 是否需要统计总记录数
+   *
+   * @return withTotal 未设置或为 true 时返回 true
+   */
+  public boolean isTotalRequired() {
+    return withTotal == null || withTotal;
+  }
+
+  /**
+   * 是否使用游标分页
+   *
+   * @return cursor 非 null 时返回 true
+   */
+  public boolean isCursorPaging() {
+    return cursor != null;
+  }
+
   /**
    * 获取有效的页码（至少为 1）
    *
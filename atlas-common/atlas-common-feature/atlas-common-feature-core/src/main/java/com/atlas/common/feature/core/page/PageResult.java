@@ -21,6 +21,9 @@ import org.slf4j.MDC;
  * PageResult&lt;User&gt; pageResult = PageResult.of(userList, totalCount, page, size);
  * </pre>
  *
+ * <p>游标分页时使用 {@link #ofCursor}：不返回 total、page、pages，以 nextCursor 表示下一页。
+ * 不需要总数时使用 {@link #ofWithoutTotal}：不返回 total、pages，以当前页是否取满判断是否还有下一页。
+ *
  * @param <T> 数据列表元素类型
  * @author Atlas Team
  * @date 2026-01-05
@@ -34,9 +37,12 @@ public class PageResult<T> {
   /** 数据列表 */
   private List<T> list;
 
-  /** 总记录数 */
+  /** 总记录数（未统计时为 null） */
   private Long total;
 
+  /** 总记录数是否为估算值（大表按数据库统计信息估算，可能与实际值存在偏差） */
+  private Boolean totalEstimated;
+
   /** 当前页码（从 1 开始） */
   private Integer page;
 
@@ -46,6 +52,9 @@ public class PageResult<T> {
   /** 总页数（自动计算） */
   private Integer pages;
 
+  /** 下一页游标（仅游标分页），为 null 表示没有下一页 */
+  private String nextCursor;
+
   /**
    * 链路追踪 ID
    *
@@ -103,31 +112,73 @@ public class PageResult<T> {
     return of(list, total, 1, size);
   }
 
+  /**
+   * 创建游标分页对象
+   *
+   * @param list 当前页数据列表
+   * @param size 每页大小
+   * @param nextCursor 下一页游标，没有下一页时为 null
+   * @param <T> 数据列表元素类型
+   * @return PageResult 对象
+   */
+  public static <T> PageResult<T> ofCursor(List<T> list, Integer size, String nextCursor) {
+    return PageResult.<T>builder()
+        .list(list != null ? list : Collections.emptyList())
+        .size(size)
+        .nextCursor(nextCursor)
+        .traceId(getTraceIdFromMDC())
+        .build();
+  }
+
+  /**
+   * 创建不统计总数的分页对象
+   *
+   * @param list 当前页数据列表
+   * @param page 当前页码（从 1 开始）
+   * @param size 每页大小
+   * @param <T> 数据列表元素类型
+   * @return PageResult 对象
+   */
+  public static <T> PageResult<T> ofWithoutTotal(List<T> list, Integer page, Integer size) {
+    return PageResult.<T>builder()
+        .list(list != null ? list : Collections.emptyList())
+        .page(page)
+        .size(size)
+        .traceId(getTraceIdFromMDC())
+        .build();
+  }
+
   /**
    * 是否有上一页
    *
-   * @return true 表示有上一页，false 表示没有
+   * @return true 表示有上一页，false 表示没有（游标分页不支持向前翻页，始终为 false）
    */
   public boolean hasPrevious() {
-    return page > 1;
+    return page != null && page > 1;
   }
 
   /**
    * 是否有下一页
    *
-   * @return true 表示有下一页，false 表示没有
+   * @return true 表示有下一页，false 表示没有（不统计总数时，当前页取满即视为有下一页）
    */
   public boolean hasNext() {
-    return page < pages;
+    if (page != null && pages != null) {
+      return page < pages;
+    }
+    if (nextCursor != null) {
+      return true;
+    }
+    return page != null && size != null && list != null && list.size() >= size;
   }
 
   /**
    * 是否是第一页
    *
-   * @return true 表示是第一页，false 表示不是
+   * @return true 表示是第一页，false 表示不是（游标分页时无页码，始终为 false）
    */
   public boolean isFirst() {
-    return page == 1;
+    return Objects.equals(page, 1);
   }
 
   /**
@@ -136,6 +187,9 @@ public class PageResult<T> {
    * @return true 表示是最后一页，false 表示不是
    */
   public boolean isLast() {
+    if (page == null || pages == null) {
+      return !hasNext();
+    }
     return pages == 0 || Objects.equals(page, pages);
   }
 
@@ -9,7 +9,7 @@ import java.lang.annotation.Target;
 /**
  * 权限检查注解
  *
- * <p>用于在方法或类上声明权限要求。权限检查框架（后续实现）会根据此注解进行权限验证。
+ * <p>用于在方法或类上声明权限要求。atlas-common-infra-web 中的 AuthorizationInterceptor 会根据此注解进行权限验证。
  *
  * <p>使用规则：
  *
@@ -0,0 +1,59 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.common.feature.security.user;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 角色/权限码驻留表
+ *
+ * <p>进程级的"权限码 → 连续整数 ID"映射，使权限判断可以用位图完成：
+ *
+ * <ul>
+ *   <li>权限校验规则（如 {@code @RequiresPermission}）在启动时通过 {@link #intern(String)} 注册所需的权限码
+ *   <li>{@link AuthoritySet#bits()} 将用户持有的权限码转换为位图，仅包含已驻留的权限码
+ *   <li>ID 只增不减，已分配的 ID 永不变化
+ * </ul>
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+public final class AuthorityInterner {
+
+  private static final ConcurrentHashMap<String, Integer> IDS = new ConcurrentHashMap<>();
+  private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+  private AuthorityInterner() {
+    throw new UnsupportedOperationException("工具类不允许实例化");
+  }
+
+  /**
+   * 驻留权限码并返回其 ID（已驻留时返回已有 ID）
+   *
+   * @param authority 角色或权限码
+   * @return 整数 ID
+   */
+  public static int intern(String authority) {
+    return IDS.computeIfAbsent(authority, k -> NEXT_ID.getAndIncrement());
+  }
+
+  /**
+   * 查询权限码的 ID
+   *
+   * @param authority 角色或权限码
+   * @return 整数 ID；未驻留时返回 -1
+   */
+  public static int idOf(String authority) {
+    Integer id = authority != null ? IDS.get(authority) : null;
+    return id != null ? id : -1;
+  }
+
+  /**
+   * 获取已驻留的权限码数量（同时也是下一个可分配的 ID）
+   *
+   * @return 数量
+   */
+  public static int size() {
+    return NEXT_ID.get();
+  }
+}
@@ -0,0 +1,154 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.common.feature.security.user;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 不可变权限/角色集合
+ *
+ * <p>在构建安全上下文时一次性生成，同时保留原始顺序的列表与预先哈希的集合：
+ *
+ * <ul>
+ *   <li>{@link #contains(String)} 为 O(1) 哈希查找，不产生任何对象分配
+ *   <li>{@link #asList()} 返回构建时的只读列表，供序列化与下传请求头使用
+ *   <li>{@link #bits()} 返回基于 {@link AuthorityInterner} 的位图，供预编译的校验规则按位求值
+ * </ul>
+ *
+ * <p>用于 {@link LoginUser#hasRole(String)} 与 {@link LoginUser#hasPermission(String)}，替代对列表的线性 {@code
+ * contains}，在权限码较多（数百个）且单次请求多次校验（如菜单过滤）时避免 O(n×m) 的开销。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+public final class AuthoritySet {
+
+  /** 空集合 */
+  public static final AuthoritySet EMPTY =
+      new AuthoritySet(Collections.emptyList(), Collections.emptySet());
+
+  private final List<String> values;
+  private final Set<String> lookup;
+
+  /** 位图缓存及其对应的驻留表大小（驻留表增长后重新计算），两者通过同一个不可变对象原子发布 */
+  private volatile CachedBits cachedBits;
+
+  private AuthoritySet(List<String> values, Set<String> lookup) {
+    this.values = values;
+    this.lookup = lookup;
+  }
+
+  /**
+   * 从集合构建（忽略 null 元素，保留首次出现顺序并去重）
+   *
+   * @param authorities 角色或权限码集合，可以为 null
+   * @return 不可变集合
+   */
+  public static AuthoritySet of(Collection<String> authorities) {
+    if (authorities == null || authorities.isEmpty()) {
+      return EMPTY;
+    }
+    Set<String> lookup = new HashSet<>((int) (authorities.size() / 0.75f) + 1);
+    List<String> values = new ArrayList<>(authorities.size());
+    for (String authority : authorities) {
+      if (authority != null && lookup.add(authority)) {
+        values.add(authority);
+      }
+    }
+    return new AuthoritySet(
+        Collections.unmodifiableList(values), Collections.unmodifiableSet(lookup));
+  }
+
+  /**
+   * 判断是否包含指定角色或权限码
+   *
+   * @param authority 角色或权限码
+   * @return 是否包含；authority 为 null 时返回 false
+   */
+  public boolean contains(String authority) {
+    return authority != null && lookup.contains(authority);
+  }
+
+  /**
+   * 获取位图表示（bit i 表示持有 ID 为 i 的已驻留权限码）
+   *
+   * <p>首次调用时计算并缓存；驻留表增长后会重新计算。返回值只读，调用方不得修改。
+   *
+   * @return 位图
+   */
+  public BitSet bits() {
+    int internedSize = AuthorityInterner.size();
+    CachedBits cached = cachedBits;
+    if (cached != null && cached.internedSize() == internedSize) {
+      return cached.bits();
+    }
+    BitSet computed = new BitSet(internedSize);
+    for (String value : values) {
+      int id = AuthorityInterner.idOf(value);
+      if (id >= 0) {
+        computed.set(id);
+      }
+    }
+    // 并发计算时后写入者覆盖先写入者，但位图与驻留表大小始终成对出现，不会出现旧位图配新大小
+    cachedBits = new CachedBits(computed, internedSize);
+    return computed;
+  }
+
+  /**
+   * 获取只读列表（构建时的顺序）
+   *
+   * @return 只读列表
+   */
+  public List<String> asList() {
+    return values;
+  }
+
+  /**
+   * 获取元素数量
+   *
+   * @return 元素数量
+   */
+  public int size() {
+    return values.size();
+  }
+
+  /**
+   * 是否为空
+   *
+   * @return 是否为空
+   */
+  public boolean isEmpty() {
+    return values.isEmpty();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    return o instanceof AuthoritySet other && values.equals(other.values);
+  }
+
+  @Override
+  public int hashCode() {
+    return values.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return values.toString();
+  }
+
+  /**
+   * 位图缓存
+   *
+   * @param bits 位图（只读）
+   * @param internedSize 计算位图时读取的驻留表大小
+   */
+  private record CachedBits(BitSet bits, int internedSize) {}
+}
@@ -15,6 +15,8 @@ import java.util.List;
  *   <li>getUsername() 不能返回 null 或空字符串
  *   <li>getRoles() 和 getPermissions() 不能返回 null（可以为空列表）
  *   <li>hasRole() 和 hasPermission() 方法应该基于 getRoles() 和 getPermissions() 的结果进行判断
+ *   <li>hasRole() 和 hasPermission() 会在单次请求中被频繁调用（如菜单过滤），建议在构建时使用 {@link
+ *       AuthoritySet} 预先哈希，使其为 O(1) 且无对象分配
  * </ul>
  *
  * @author Atlas
@@ -71,4 +73,26 @@ public interface LoginUser {
    * @return 如果用户拥有指定权限返回 true，否则返回 false
    */
   boolean hasPermission(String permission);
+
+  /**
+   * 获取角色集合（预先哈希，支持位图求值）
+   *
+   * <p>默认实现每次调用都会根据 getRoles() 重新构建，建议实现类在设置角色时构建一次并直接返回。
+   *
+   * @return 角色集合
+   */
+  default AuthoritySet getRoleSet() {
+    return AuthoritySet.of(getRoles());
+  }
+
+  /**
+   * 获取权限集合（预先哈希，支持位图求值）
+   *
+   * <p>默认实现每次调用都会根据 getPermissions() 重新构建，建议实现类在设置权限时构建一次并直接返回。
+   *
+   * @return 权限集合
+   */
+  default AuthoritySet getPermissionSet() {
+    return AuthoritySet.of(getPermissions());
+  }
 }
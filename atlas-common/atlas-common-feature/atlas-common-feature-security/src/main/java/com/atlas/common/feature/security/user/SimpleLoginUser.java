@@ -1,7 +1,6 @@
 /*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
 package com.atlas.common.feature.security.user;
 
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -9,6 +8,8 @@ import java.util.List;
  *
  * <p>下游服务在 Gateway 已校验并传递用户信息头时使用，避免重复解析 Token。
  *
+ * <p>角色与权限在设置时即构建为 {@link AuthoritySet}，{@link #hasRole} / {@link #hasPermission} 为 O(1) 查找。
+ *
  * @author Atlas Team
  * @since 1.0.0
  */
@@ -16,8 +17,8 @@ public class SimpleLoginUser implements LoginUser {
 
   private Object userId;
   private String username;
-  private List<String> roles;
-  private List<String> permissions;
+  private AuthoritySet roles = AuthoritySet.EMPTY;
+  private AuthoritySet permissions = AuthoritySet.EMPTY;
 
   public SimpleLoginUser() {}
 
@@ -25,8 +26,8 @@ public class SimpleLoginUser implements LoginUser {
       Object userId, String username, List<String> roles, List<String> permissions) {
     this.userId = userId;
     this.username = username;
-    this.roles = roles;
-    this.permissions = permissions;
+    this.roles = AuthoritySet.of(roles);
+    this.permissions = AuthoritySet.of(permissions);
   }
 
   public void setUserId(Object userId) {
@@ -38,11 +39,11 @@ public class SimpleLoginUser implements LoginUser {
   }
 
   public void setRoles(List<String> roles) {
-    this.roles = roles;
+    this.roles = AuthoritySet.of(roles);
   }
 
   public void setPermissions(List<String> permissions) {
-    this.permissions = permissions;
+    this.permissions = AuthoritySet.of(permissions);
   }
 
   @Override
@@ -57,21 +58,31 @@ public class SimpleLoginUser implements LoginUser {
 
   @Override
   public List<String> getRoles() {
-    return roles != null ? roles : Collections.emptyList();
+    return roles.asList();
   }
 
   @Override
   public List<String> getPermissions() {
-    return permissions != null ? permissions : Collections.emptyList();
+    return permissions.asList();
+  }
+
+  @Override
+  public AuthoritySet getRoleSet() {
+    return roles;
+  }
+
+  @Override
+  public AuthoritySet getPermissionSet() {
+    return permissions;
   }
 
   @Override
   public boolean hasRole(String role) {
-    return getRoles().contains(role);
+    return roles.contains(role);
   }
 
   @Override
   public boolean hasPermission(String permission) {
-    return getPermissions().contains(permission);
+    return permissions.contains(permission);
   }
 }
@@ -1,10 +1,18 @@
 /*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
 package com.atlas.common.infra.redis.util;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Component;
 
 /**
@@ -27,6 +35,9 @@ import org.springframework.stereotype.Component;
  * // 删除缓存
  * CacheUtil.delete("session:123");
  *
+ * // 获取并删除缓存（原子操作）
+ * String code = CacheUtil.getAndDelete("captcha:abc", String.class);
+ *
  * // 检查缓存是否存在
  * boolean exists = CacheUtil.exists("session:123");
  *
@@ -35,6 +46,13 @@ import org.springframework.stereotype.Component;
  *
  * // 获取剩余过期时间
  * long ttl = CacheUtil.getExpire("session:123");
+ *
+ * // 有序集合：按分值（如过期时间戳）维护索引
+ * CacheUtil.zAdd("session-index:123", tokenId, expiresAt);
+ * CacheUtil.zRemoveRangeByScore("session-index:123", 0, now);
+ *
+ * // 批量设置（单次管道提交）
+ * CacheUtil.setAll(values, ttlSeconds);
  * }</pre>
  *
  * @author Atlas
@@ -70,6 +88,18 @@ public class CacheUtil {
     fullPrefix = servicePrefix.isBlank() ? fixedPrefix : fixedPrefix + ":" + servicePrefix;
   }
 
+  /**
+   * 获取补齐前缀后的完整 Key
+   *
+   * <p>用于需要直接使用 Redis 原始 API 的场景（如订阅频道），保证与本工具类写入的 Key 前缀一致。
+   *
+   * @param key 缓存 Key 或频道名
+   * @return 完整 Key
+   */
+  public static String resolveKey(String key) {
+    return normalizeKey(key);
+  }
+
   private static String normalizeKey(String key) {
     if (key == null) {
       return null;
@@ -121,6 +151,29 @@ public class CacheUtil {
     }
   }
 
+  /**
+   * 仅当 Key 不存在时设置缓存（SET NX EX）
+   *
+   * <p>设置与过期时间在 Redis 端原子完成，可用于一次性标记、去重等场景。
+   *
+   * @param key 缓存 Key
+   * @param value 缓存值
+   * @param seconds 过期时间（秒）
+   * @return 设置成功（Key 原本不存在）返回 true；Key 已存在或操作失败返回 false
+   */
+  public static boolean setIfAbsent(String key, Object value, int seconds) {
+    try {
+      Boolean success =
+          redisTemplate
+              .opsForValue()
+              .setIfAbsent(normalizeKey(key), value, Duration.ofSeconds(seconds));
+      return Boolean.TRUE.equals(success);
+    } catch (Exception e) {
+      log.error("缓存设置（NX）失败: key={}, seconds={}", key, seconds, e);
+      return false;
+    }
+  }
+
   /**
    * 获取缓存
    *
@@ -142,6 +195,30 @@ public class CacheUtil {
     }
   }
 
+  /**
+   * 获取并删除缓存（GETDEL）
+   *
+   * <p>读取与删除在 Redis 端原子完成且只需一次往返，并发调用时同一个值只会被一个调用方取到，
+   * 适用于一次性凭证（如验证码）的消费。要求 Redis 6.2 及以上版本。
+   *
+   * @param key 缓存 Key
+   * @param clazz 返回值类型
+   * @param <T> 泛型类型
+   * @return 缓存值，如果 Key 不存在则返回 null
+   */
+  public static <T> T getAndDelete(String key, Class<T> clazz) {
+    try {
+      Object value = redisTemplate.opsForValue().getAndDelete(normalizeKey(key));
+      if (value == null) {
+        return null;
+      }
+      return clazz.cast(value);
+    } catch (Exception e) {
+      log.error("缓存获取并删除失败: key={}", key, e);
+      return null;
+    }
+  }
+
   /**
    * 删除缓存
    *
@@ -216,4 +293,160 @@ public class CacheUtil {
       return -1;
     }
   }
+
+  /**
+   * 批量删除缓存
+   *
+   * <p>单条 DEL 命令删除多个 Key。
+   *
+   * @param keys 缓存 Key 集合
+   */
+  public static void deleteAll(Collection<String> keys) {
+    if (keys == null || keys.isEmpty()) {
+      return;
+    }
+    try {
+      List<String> normalized = keys.stream().map(CacheUtil::normalizeKey).toList();
+      redisTemplate.delete(normalized);
+    } catch (Exception e) {
+      log.error("批量删除缓存失败: size={}", keys.size(), e);
+    }
+  }
+
+  /**
+   * 批量设置缓存（管道）
+   *
+   * <p>所有写入通过一次 Redis 管道提交，避免逐条往返。每个 Key 可指定各自的过期时间。
+   *
+   * @param values Key 与缓存值
+   * @param ttlSeconds Key 与过期时间（秒），未指定或小于等于 0 的 Key 不设置过期时间
+   * @return 成功提交返回 true，否则返回 false
+   */
+  public static boolean setAll(Map<String, Object> values, Map<String, Integer> ttlSeconds) {
+    if (values == null || values.isEmpty()) {
+      return true;
+    }
+    try {
+      redisTemplate.executePipelined(
+          new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+              RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+              values.forEach(
+                  (key, value) -> {
+                    Integer seconds = ttlSeconds != null ? ttlSeconds.get(key) : null;
+                    if (seconds != null && seconds > 0) {
+                      ops.opsForValue()
+                          .set(normalizeKey(key), value, Duration.ofSeconds(seconds));
+                    } else {
+                      ops.opsForValue().set(normalizeKey(key), value);
+                    }
+                  });
+              return null;
+            }
+          });
+      return true;
+    } catch (Exception e) {
+      log.error("批量设置缓存失败: size={}", values.size(), e);
+      return false;
+    }
+  }
+
+  /**
+   * 向有序集合添加成员（ZADD）
+   *
+   * <p>成员已存在时更新其分值，时间复杂度 O(log n)。
+   *
+   * @param key 缓存 Key
+   * @param member 成员
+   * @param score 分值
+   */
+  public static void zAdd(String key, Object member, double score) {
+    try {
+      redisTemplate.opsForZSet().add(normalizeKey(key), member, score);
+    } catch (Exception e) {
+      log.error("有序集合添加成员失败: key={}", key, e);
+    }
+  }
+
+  /**
+   * 从有序集合移除成员（ZREM）
+   *
+   * @param key 缓存 Key
+   * @param members 成员
+   * @return 实际移除的成员数量，失败返回 0
+   */
+  public static long zRemove(String key, Object... members) {
+    try {
+      Long removed = redisTemplate.opsForZSet().remove(normalizeKey(key), members);
+      return removed != null ? removed : 0L;
+    } catch (Exception e) {
+      log.error("有序集合移除成员失败: key={}", key, e);
+      return 0L;
+    }
+  }
+
+  /**
+   * 按分值区间移除有序集合成员（ZREMRANGEBYSCORE）
+   *
+   * @param key 缓存 Key
+   * @param min 最小分值（含）
+   * @param max 最大分值（含）
+   * @return 实际移除的成员数量，失败返回 0
+   */
+  public static long zRemoveRangeByScore(String key, double min, double max) {
+    try {
+      Long removed = redisTemplate.opsForZSet().removeRangeByScore(normalizeKey(key), min, max);
+      return removed != null ? removed : 0L;
+    } catch (Exception e) {
+      log.error("有序集合按分值移除失败: key={}", key, e);
+      return 0L;
+    }
+  }
+
+  /**
+   * 按分值区间查询有序集合成员及分值（ZRANGEBYSCORE WITHSCORES）
+   *
+   * @param key 缓存 Key
+   * @param min 最小分值（含）
+   * @param max 最大分值（含）
+   * @return 成员与分值（按分值升序），Key 不存在或失败时返回空 Map
+   */
+  public static Map<Object, Double> zRangeByScoreWithScores(String key, double min, double max) {
+    Map<Object, Double> result = new LinkedHashMap<>();
+    try {
+      Set<ZSetOperations.TypedTuple<Object>> tuples =
+          redisTemplate.opsForZSet().rangeByScoreWithScores(normalizeKey(key), min, max);
+      if (tuples != null) {
+        for (ZSetOperations.TypedTuple<Object> tuple : tuples) {
+          if (tuple.getValue() != null && tuple.getScore() != null) {
+            result.put(tuple.getValue(), tuple.getScore());
+          }
+        }
+      }
+    } catch (Exception e) {
+      log.error("有序集合按分值查询失败: key={}", key, e);
+    }
+    return result;
+  }
+
+  /**
+   * 发布消息（PUBLISH）
+   *
+   * <p>频道名同样会补齐前缀，订阅方应通过 {@link #resolveKey(String)} 获取完整频道名。
+   *
+   * @param channel 频道名
+   * @param message 消息体（使用 Value 序列化器序列化）
+   * @return 发布成功返回 true，否则返回 false
+   */
+  public static boolean publish(String channel, Object message) {
+    try {
+      redisTemplate.convertAndSend(normalizeKey(channel), message);
+      return true;
+    } catch (Exception e) {
+      log.error("消息发布失败: channel={}", channel, e);
+      return false;
+    }
+  }
 }
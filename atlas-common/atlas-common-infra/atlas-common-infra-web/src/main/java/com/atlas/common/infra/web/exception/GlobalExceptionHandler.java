@@ -4,13 +4,17 @@ package com.atlas.common.infra.web.exception;
 import com.atlas.common.feature.core.constant.CommonErrorCode;
 import com.atlas.common.feature.core.exception.BusinessException;
 import com.atlas.common.feature.core.exception.DataException;
+import com.atlas.common.feature.core.exception.OverloadException;
 import com.atlas.common.feature.core.exception.ParameterException;
 import com.atlas.common.feature.core.exception.PermissionException;
 import com.atlas.common.feature.core.result.Result;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolationException;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -30,6 +34,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
  * <ul>
  *   <li>业务异常：{@link BusinessException}、{@link ParameterException}、{@link
  *       PermissionException}、{@link DataException}
+ *   <li>过载异常：{@link OverloadException}（HTTP 429/503，携带 Retry-After）
  *   <li>参数校验异常：{@link MethodArgumentNotValidException}、{@link ConstraintViolationException}
  *   <li>Spring MVC 异常：{@link HttpRequestMethodNotSupportedException}、{@link
  *       HttpMediaTypeNotSupportedException}、{@link MissingServletRequestParameterException}
@@ -106,6 +111,24 @@ public class GlobalExceptionHandler {
     return Result.error(e.getErrorCode(), e.getMessage());
   }
 
+  /**
+   * 处理过载异常
+   *
+   * <p>准入拒绝返回 429，排队超时等暂时不可用返回 503，并携带 Retry-After 响应头。
+   *
+   * @param e 过载异常
+   * @return 错误响应
+   */
+  @ExceptionHandler(OverloadException.class)
+  public ResponseEntity<Result<Void>> handleOverloadException(OverloadException e) {
+    log.warn("过载异常: errorCode={}, message={}", e.getErrorCode(), e.getMessage());
+    HttpStatus status =
+        e.isTooManyRequests() ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+    return ResponseEntity.status(status)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+        .body(Result.error(e.getErrorCode(), e.getMessage()));
+  }
+
   // ========== 参数校验异常处理 ==========
 
   /**
@@ -223,12 +246,21 @@ public class GlobalExceptionHandler {
    *
    * <p>处理所有未被上述方法捕获的异常，返回通用错误响应。 生产环境不暴露异常堆栈信息，避免泄露敏感信息。
    *
+   * <p>响应已提交时（如流式导出写出部分数据后失败）不能再写入错误体，否则会拼接在已输出的内容之后；
+   * 此时原样抛出，由容器中断连接，客户端可感知响应不完整。
+   *
    * @param e 系统异常
+   * @param response HTTP 响应
    * @return Result 错误响应
+   * @throws Exception 如果响应已提交
    */
   @ExceptionHandler(Exception.class)
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-  public Result<Void> handleException(Exception e) {
+  public Result<Void> handleException(Exception e, HttpServletResponse response)
+      throws Exception {
+    if (response.isCommitted()) {
+      throw e;
+    }
     log.error("系统异常", e);
     return Result.error(CommonErrorCode.SYSTEM_ERROR, "系统错误，请联系管理员");
   }
@@ -0,0 +1,269 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.common.infra.web.executor;
+
+import com.atlas.common.feature.core.constant.CommonErrorCode;
+import com.atlas.common.feature.core.exception.OverloadException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 带准入控制的有界执行器
+ *
+ * <p>用于隔离 CPU 密集型步骤（如 RSA 解密、BCrypt 校验），避免其在流量高峰时占满 Web 容器线程， 挤占 Token
+ * 校验等普通请求的 CPU。
+ *
+ * <p>行为说明：
+ *
+ * <ul>
+ *   <li>固定数量的工作线程 + 有界等待队列；队列已满时立即拒绝，抛出 {@link OverloadException}（HTTP 429）
+ *   <li>任务开始执行时若已排队超过 maxQueueWaitMillis，则放弃执行并抛出 {@link OverloadException}（HTTP 503），
+ *       调用方此时大概率已接近超时，继续计算只会浪费 CPU
+ *   <li>调用方同步等待结果，任务内抛出的运行时异常原样抛回调用方
+ *   <li>分别统计排队时间与计算时间，见 {@link #getStats()}；按 stats-log-seconds 周期输出到日志
+ * </ul>
+ *
+ * <p>使用示例：
+ *
+ * <pre>{@code
+ * AdmissionControlledExecutor executor =
+ *     new AdmissionControlledExecutor("login-crypto", properties);
+ * String plain = executor.execute(() -> decryptor.decrypt(cipherText));
+ * }</pre>
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class AdmissionControlledExecutor implements AutoCloseable {
+
+  private static final long RETRY_AFTER_SECONDS = 1L;
+
+  private final String name;
+  private final long maxQueueWaitNanos;
+  private final ThreadPoolExecutor executor;
+
+  /** 统计日志调度器（未启用时为 null） */
+  private final ScheduledExecutorService statsLogger;
+
+  /** 上次输出统计时的请求总数（仅由统计日志线程访问） */
+  private long lastLoggedRequests;
+
+  private final LongAdder submitted = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder expired = new LongAdder();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder totalQueueWaitNanos = new LongAdder();
+  private final LongAdder totalComputeNanos = new LongAdder();
+  private final AtomicLong maxQueueWaitNanosSeen = new AtomicLong();
+  private final AtomicLong maxComputeNanosSeen = new AtomicLong();
+
+  /**
+   * 创建执行器
+   *
+   * @param name 名称（用于线程名与日志）
+   * @param properties 工作池配置
+   */
+  public AdmissionControlledExecutor(String name, WorkerPoolProperties properties) {
+    this.name = name;
+    this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(properties.getMaxQueueWaitMillis());
+    int threads = properties.resolveThreads();
+    AtomicInteger threadIndex = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+            r -> {
+              Thread thread = new Thread(r, name + "-" + threadIndex.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    this.executor.prestartAllCoreThreads();
+    long statsLogSeconds = properties.getStatsLogSeconds();
+    if (statsLogSeconds > 0) {
+      this.statsLogger =
+          Executors.newSingleThreadScheduledExecutor(
+              r -> {
+                Thread thread = new Thread(r, name + "-stats");
+                thread.setDaemon(true);
+                return thread;
+              });
+      this.statsLogger.scheduleWithFixedDelay(
+          this::logStats, statsLogSeconds, statsLogSeconds, TimeUnit.SECONDS);
+    } else {
+      this.statsLogger = null;
+    }
+    log.info(
+        "有界工作池已创建: name={}, threads={}, queueCapacity={}, maxQueueWaitMillis={}",
+        name,
+        threads,
+        properties.getQueueCapacity(),
+        properties.getMaxQueueWaitMillis());
+  }
+
+  /**
+   * 在工作池中执行任务并同步等待结果
+   *
+   * @param task 任务
+   * @param <T> 返回值类型
+   * @return 任务结果
+   * @throws OverloadException 如果队列已满（429）或排队超时（503）
+   */
+  public <T> T execute(Callable<T> task) {
+    Future<T> future = submit(task);
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new OverloadException(
+          CommonErrorCode.SERVICE_UNAVAILABLE, "请求已中断", RETRY_AFTER_SECONDS);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * 提交任务到工作池，不等待结果
+   *
+   * <p>准入控制与统计同 {@link #execute}，供需要并行提交一批任务的调用方使用（如批量导入时的密码哈希）。
+   * 排队超时的任务通过 {@link Future#get()} 抛出以 {@link OverloadException} 为原因的 ExecutionException。
+   *
+   * @param task 任务
+   * @param <T> 返回值类型
+   * @return 任务的 Future
+   * @throws OverloadException 如果队列已满（429）
+   */
+  public <T> Future<T> submit(Callable<T> task) {
+    long enqueuedAt = System.nanoTime();
+    Future<T> future;
+    try {
+      future = executor.submit(() -> runTimed(task, enqueuedAt));
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      log.warn("有界工作池已满，拒绝任务: name={}, queueDepth={}", name, executor.getQueue().size());
+      throw new OverloadException(
+          CommonErrorCode.TOO_MANY_REQUESTS, "请求过多，请稍后重试", RETRY_AFTER_SECONDS);
+    }
+    submitted.increment();
+    return future;
+  }
+
+  private <T> T runTimed(Callable<T> task, long enqueuedAt) throws Exception {
+    long startedAt = System.nanoTime();
+    long waited = startedAt - enqueuedAt;
+    totalQueueWaitNanos.add(waited);
+    maxQueueWaitNanosSeen.accumulateAndGet(waited, Math::max);
+    if (maxQueueWaitNanos > 0 && waited > maxQueueWaitNanos) {
+      expired.increment();
+      log.warn(
+          "任务排队超时，放弃执行: name={}, waitedMillis={}",
+          name,
+          TimeUnit.NANOSECONDS.toMillis(waited));
+      throw new OverloadException(
+          CommonErrorCode.SERVICE_UNAVAILABLE, "服务繁忙，请稍后重试", RETRY_AFTER_SECONDS);
+    }
+    try {
+      return task.call();
+    } finally {
+      long computed = System.nanoTime() - startedAt;
+      totalComputeNanos.add(computed);
+      maxComputeNanosSeen.accumulateAndGet(computed, Math::max);
+      completed.increment();
+    }
+  }
+
+  /**
+   * 获取统计信息
+   *
+   * @return 统计信息
+   */
+  public WorkerPoolStats getStats() {
+    WorkerPoolStats stats = new WorkerPoolStats();
+    stats.setName(name);
+    stats.setThreads(executor.getCorePoolSize());
+    stats.setActive(executor.getActiveCount());
+    stats.setQueueDepth(executor.getQueue().size());
+    stats.setQueueCapacity(executor.getQueue().size() + executor.getQueue().remainingCapacity());
+    stats.setSubmitted(submitted.sum());
+    stats.setRejected(rejected.sum());
+    stats.setExpired(expired.sum());
+    long done = completed.sum();
+    stats.setCompleted(done);
+    long started = done + expired.sum();
+    if (started > 0) {
+      stats.setAvgQueueWaitMillis(toMillis(totalQueueWaitNanos.sum()) / started);
+    }
+    if (done > 0) {
+      stats.setAvgComputeMillis(toMillis(totalComputeNanos.sum()) / done);
+    }
+    stats.setMaxQueueWaitMillis(toMillis(maxQueueWaitNanosSeen.get()));
+    stats.setMaxComputeMillis(toMillis(maxComputeNanosSeen.get()));
+    return stats;
+  }
+
+  /** 输出统计日志（自上次输出以来没有新请求时跳过） */
+  private void logStats() {
+    try {
+      long requests = submitted.sum() + rejected.sum();
+      if (requests == lastLoggedRequests) {
+        return;
+      }
+      lastLoggedRequests = requests;
+      WorkerPoolStats stats = getStats();
+      log.info(
+          "有界工作池统计: name={}, threads={}, active={}, queueDepth={}/{}, submitted={},"
+              + " rejected={}, expired={}, completed={}, avgQueueWaitMillis={},"
+              + " maxQueueWaitMillis={}, avgComputeMillis={}, maxComputeMillis={}",
+          stats.getName(),
+          stats.getThreads(),
+          stats.getActive(),
+          stats.getQueueDepth(),
+          stats.getQueueCapacity(),
+          stats.getSubmitted(),
+          stats.getRejected(),
+          stats.getExpired(),
+          stats.getCompleted(),
+          String.format("%.3f", stats.getAvgQueueWaitMillis()),
+          String.format("%.3f", stats.getMaxQueueWaitMillis()),
+          String.format("%.3f", stats.getAvgComputeMillis()),
+          String.format("%.3f", stats.getMaxComputeMillis()));
+    } catch (RuntimeException e) {
+      log.warn("输出有界工作池统计失败: name={}", name, e);
+    }
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+
+  /** 关闭工作池（由 Spring 在容器关闭时调用） */
+  @Override
+  public void close() {
+    if (statsLogger != null) {
+      statsLogger.shutdownNow();
+    }
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,49 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.common.infra.web.executor;
+
+import lombok.Data;
+
+/**
+ * 有界工作池配置
+ *
+ * <p>供各服务嵌入到自身的配置属性类中，用于创建 {@link AdmissionControlledExecutor}。
+ *
+ * <p>配置示例：
+ *
+ * <pre>{@code
+ * atlas:
+ *   auth:
+ *     login-executor:
+ *       threads: 4
+ *       queue-capacity: 64
+ *       max-queue-wait-millis: 2000
+ *       stats-log-seconds: 60
+ * }</pre>
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Data
+public class WorkerPoolProperties {
+
+  /** 工作线程数（小于等于 0 时使用 CPU 核数） */
+  private int threads = 0;
+
+  /** 等待队列容量，队列满时直接拒绝（HTTP 429） */
+  private int queueCapacity = 64;
+
+  /** 任务最长排队时间（毫秒），超时未开始执行的任务被放弃（HTTP 503） */
+  private long maxQueueWaitMillis = 2000L;
+
+  /** 统计日志周期（秒，默认 60），输出排队时间与计算时间；期间无任务时不输出；小于等于 0 时关闭 */
+  private long statsLogSeconds = 60L;
+
+  /**
+   * 获取实际工作线程数
+   *
+   * @return 工作线程数
+   */
+  public int resolveThreads() {
+    return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+  }
+}
@@ -0,0 +1,55 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.common.infra.web.executor;
+
+import lombok.Data;
+
+/**
+ * 有界工作池统计
+ *
+ * <p>区分排队等待时间与实际计算时间，便于判断延迟来自排队（容量不足）还是计算本身。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Data
+public class WorkerPoolStats {
+
+  /** 工作池名称 */
+  private String name;
+
+  /** 工作线程数 */
+  private int threads;
+
+  /** 正在执行的任务数 */
+  private int active;
+
+  /** 当前排队任务数 */
+  private int queueDepth;
+
+  /** 队列容量 */
+  private int queueCapacity;
+
+  /** 已提交任务数 */
+  private long submitted;
+
+  /** 准入拒绝数（队列已满，HTTP 429） */
+  private long rejected;
+
+  /** 排队超时放弃数（HTTP 503） */
+  private long expired;
+
+  /** 已完成任务数 */
+  private long completed;
+
+  /** 平均排队时间（毫秒） */
+  private double avgQueueWaitMillis;
+
+  /** 最大排队时间（毫秒） */
+  private double maxQueueWaitMillis;
+
+  /** 平均计算时间（毫秒） */
+  private double avgComputeMillis;
+
+  /** 最大计算时间（毫秒） */
+  private double maxComputeMillis;
+}
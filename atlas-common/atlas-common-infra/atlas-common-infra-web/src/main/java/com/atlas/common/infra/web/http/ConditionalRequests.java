@@ -0,0 +1,86 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.common.infra.web.http;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * 条件请求（ETag / If-None-Match）工具类
+ *
+ * <p>用于"结果很少变化、但前端每次页面加载都会请求"的 GET 接口：由调用方根据版本号生成 ETag，
+ * 在计算结果之前校验。客户端携带的 {@code If-None-Match} 匹配时直接返回 304，省去计算与 JSON 序列化。
+ *
+ * <p>行为说明：
+ *
+ * <ul>
+ *   <li>始终写入 {@code ETag} 与 {@code Cache-Control: private, no-cache}（允许客户端缓存，但每次需重新校验）
+ *   <li>匹配时响应状态置为 304，处理方法应直接返回 {@code null}，不写响应体
+ *   <li>ETag 为空或当前不在 Web 请求上下文中时不做处理，返回 false
+ * </ul>
+ *
+ * <p>使用示例：
+ *
+ * <pre>{@code
+ * @GetMapping("/menus/tree")
+ * public Result<List<MenuTreeVO>> listMenuTree() {
+ *   if (ConditionalRequests.checkNotModified(etagOf(version))) {
+ *     return null;
+ *   }
+ *   return Result.success(menuService.listMenuTree());
+ * }
+ * }</pre>
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+public final class ConditionalRequests {
+
+  private static final String CACHE_CONTROL = "private, no-cache";
+
+  private ConditionalRequests() {}
+
+  /**
+   * 构造弱 ETag
+   *
+   * <p>响应体经过 {@code Result} 包装（含 traceId、时间戳等），只保证语义等价，因此使用弱 ETag。
+   *
+   * @param parts ETag 组成部分，以 "-" 连接
+   * @return 弱 ETag，如 {@code W/"m-1a2b-42"}
+   */
+  public static String weakETag(Object... parts) {
+    StringBuilder builder = new StringBuilder("W/\"");
+    for (int i = 0; i < parts.length; i++) {
+      if (i > 0) {
+        builder.append('-');
+      }
+      builder.append(parts[i]);
+    }
+    return builder.append('"').toString();
+  }
+
+  /**
+   * 校验当前请求的 If-None-Match
+   *
+   * @param etag 当前资源的 ETag（为空时不做处理）
+   * @return 客户端缓存仍然有效（已置 304）时返回 true
+   */
+  public static boolean checkNotModified(String etag) {
+    if (etag == null || etag.isEmpty()) {
+      return false;
+    }
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+      return false;
+    }
+    HttpServletResponse response = servletAttributes.getResponse();
+    if (response == null) {
+      return false;
+    }
+    response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+    return new ServletWebRequest(servletAttributes.getRequest(), response).checkNotModified(etag);
+  }
+}
@@ -0,0 +1,121 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.common.infra.web.security;
+
+import com.atlas.common.feature.security.annotation.Logical;
+import com.atlas.common.feature.security.annotation.RequiresPermission;
+import com.atlas.common.feature.security.annotation.RequiresRole;
+import com.atlas.common.feature.security.user.AuthorityInterner;
+import com.atlas.common.feature.security.user.LoginUser;
+import java.util.BitSet;
+
+/**
+ * 预编译的权限校验规则
+ *
+ * <p>由 {@link RequiresPermission} / {@link RequiresRole} 在启动时编译得到：所需的角色与权限码通过 {@link
+ * AuthorityInterner} 驻留为整数 ID 并存为位图，请求时只需与 {@link LoginUser} 的位图做按位求值：
+ *
+ * <ul>
+ *   <li>AND：所需位图中的每一位都在用户位图中
+ *   <li>OR：所需位图与用户位图有交集
+ * </ul>
+ *
+ * <p>请求路径上不涉及反射、注解查找与字符串比较，也不产生对象分配。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+final class AuthorizationRule {
+
+  private final BitSet requiredRoles;
+  private final Logical roleLogical;
+  private final BitSet requiredPermissions;
+  private final Logical permissionLogical;
+  private final String description;
+
+  private AuthorizationRule(
+      BitSet requiredRoles,
+      Logical roleLogical,
+      BitSet requiredPermissions,
+      Logical permissionLogical,
+      String description) {
+    this.requiredRoles = requiredRoles;
+    this.roleLogical = roleLogical;
+    this.requiredPermissions = requiredPermissions;
+    this.permissionLogical = permissionLogical;
+    this.description = description;
+  }
+
+  /**
+   * 编译规则
+   *
+   * @param requiresRole 角色注解，可以为 null
+   * @param requiresPermission 权限注解，可以为 null
+   * @param description 规则描述（用于日志）
+   * @return 规则；两个注解均未声明有效要求时返回 null
+   */
+  static AuthorizationRule compile(
+      RequiresRole requiresRole, RequiresPermission requiresPermission, String description) {
+    BitSet roles = requiresRole != null ? internAll(requiresRole.value()) : null;
+    BitSet permissions =
+        requiresPermission != null ? internAll(requiresPermission.value()) : null;
+    if (isEmpty(roles) && isEmpty(permissions)) {
+      return null;
+    }
+    return new AuthorizationRule(
+        isEmpty(roles) ? null : roles,
+        requiresRole != null ? requiresRole.logical() : Logical.AND,
+        isEmpty(permissions) ? null : permissions,
+        requiresPermission != null ? requiresPermission.logical() : Logical.AND,
+        description);
+  }
+
+  /**
+   * 判断用户是否满足规则（角色与权限要求需同时满足）
+   *
+   * @param loginUser 当前用户
+   * @return 是否满足
+   */
+  boolean permits(LoginUser loginUser) {
+    if (requiredRoles != null
+        && !matches(requiredRoles, roleLogical, loginUser.getRoleSet().bits())) {
+      return false;
+    }
+    return requiredPermissions == null
+        || matches(requiredPermissions, permissionLogical, loginUser.getPermissionSet().bits());
+  }
+
+  /**
+   * 获取规则描述
+   *
+   * @return 描述
+   */
+  String getDescription() {
+    return description;
+  }
+
+  private static boolean matches(BitSet required, Logical logical, BitSet granted) {
+    if (logical == Logical.OR) {
+      return required.intersects(granted);
+    }
+    for (int i = required.nextSetBit(0); i >= 0; i = required.nextSetBit(i + 1)) {
+      if (!granted.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static BitSet internAll(String[] authorities) {
+    BitSet bits = new BitSet();
+    for (String authority : authorities) {
+      if (authority != null && !authority.isBlank()) {
+        bits.set(AuthorityInterner.intern(authority.trim()));
+      }
+    }
+    return bits;
+  }
+
+  private static boolean isEmpty(BitSet bits) {
+    return bits == null || bits.isEmpty();
+  }
+}
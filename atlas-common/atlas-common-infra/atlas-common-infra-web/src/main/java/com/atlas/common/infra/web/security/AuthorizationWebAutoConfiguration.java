@@ -0,0 +1,59 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.common.infra.web.security;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * 权限校验 Web 自动配置
+ *
+ * <p>注册 {@link AuthorizationInterceptor}，使 {@code @RequiresPermission} / {@code @RequiresRole} 生效，
+ * 并在容器刷新完成后为所有处理方法预编译校验规则。
+ *
+ * <p>条件：{@code atlas.security.authorization.enabled=true}（默认）。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@AutoConfiguration
+@ConditionalOnProperty(
+    prefix = "atlas.security.authorization",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class AuthorizationWebAutoConfiguration {
+
+  @Bean
+  public AuthorizationInterceptor authorizationInterceptor() {
+    return new AuthorizationInterceptor();
+  }
+
+  @Bean
+  public WebMvcConfigurer authorizationWebMvcConfigurer(
+      AuthorizationInterceptor authorizationInterceptor) {
+    return new WebMvcConfigurer() {
+      @Override
+      public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(authorizationInterceptor).addPathPatterns("/**");
+      }
+    };
+  }
+
+  /** 容器刷新完成后预编译所有处理方法的校验规则，避免首个请求承担注解解析开销。 */
+  @Bean
+  public ApplicationListener<ContextRefreshedEvent> authorizationRulePrecompiler(
+      AuthorizationInterceptor authorizationInterceptor) {
+    return event ->
+        event
+            .getApplicationContext()
+            .getBeansOfType(RequestMappingHandlerMapping.class)
+            .values()
+            .forEach(mapping -> authorizationInterceptor.precompile(mapping.getHandlerMethods()));
+  }
+}
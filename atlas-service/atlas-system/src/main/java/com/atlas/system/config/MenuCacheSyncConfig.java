@@ -0,0 +1,53 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.config;
+
+import com.atlas.common.infra.redis.util.CacheUtil;
+import com.atlas.system.menu.cache.MenuTreeCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 菜单缓存同步配置
+ *
+ * <p>注册 Redis 订阅容器，将菜单变更广播频道的消息交给 {@link MenuTreeCache} 失效本地菜单树。
+ *
+ * <p>条件：{@code atlas.system.menu-cache.sync-enabled=true}（默认）。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(
+    prefix = "atlas.system.menu-cache",
+    name = "sync-enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class MenuCacheSyncConfig {
+
+  /**
+   * 菜单变更广播订阅容器
+   *
+   * <p>依赖 RedisTemplate 以确保 CacheUtil 前缀已初始化，频道名与发布方一致。
+   *
+   * @param connectionFactory Redis 连接工厂
+   * @param redisTemplate RedisTemplate
+   * @param menuTreeCache 菜单树缓存
+   * @return 订阅容器
+   */
+  @Bean
+  public RedisMessageListenerContainer menuListenerContainer(
+      RedisConnectionFactory connectionFactory,
+      RedisTemplate<String, Object> redisTemplate,
+      MenuTreeCache menuTreeCache) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    String channel = CacheUtil.resolveKey(MenuTreeCache.CHANNEL_MENU);
+    container.addMessageListener(menuTreeCache, new ChannelTopic(channel));
+    return container;
+  }
+}
@@ -1,31 +1,116 @@
 /*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
 package com.atlas.system.config;
 
+import com.atlas.common.infra.web.executor.AdmissionControlledExecutor;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
  * 安全配置类
  *
- * <p>提供密码加密器 Bean 配置。
+ * <p>提供密码加密器与密码校验工作池 Bean 配置。
  *
  * @author Atlas Team
  * @since 1.0.0
  */
+@Slf4j
 @Configuration
+@EnableConfigurationProperties(SystemProperties.class)
 public class SecurityConfig {
 
+  /** 当前编码使用的算法 ID（哈希以 {@code {bcrypt}} 前缀存储） */
+  private static final String ENCODING_ID = "bcrypt";
+
+  /** 校准时使用的样例口令 */
+  private static final String CALIBRATION_SAMPLE = "atlas-calibration-sample";
+
   /**
    * 配置密码加密器
    *
-   * <p>使用 BCrypt 算法进行密码加密，强度参数为 10（默认）。
+   * <p>使用 {@link DelegatingPasswordEncoder}，新哈希以 {@code {bcrypt}} 前缀存储，便于后续更换算法或调整强度：
+   *
+   * <ul>
+   *   <li>强度由 {@code atlas.system.password.bcrypt-strength} 指定；未指定时在启动时按目标耗时自动校准
+   *   <li>历史无前缀的 BCrypt 哈希仍可校验，并在 {@link PasswordEncoder#upgradeEncoding} 中被标记为需要升级
+   *   <li>强度低于当前策略的哈希同样被标记为需要升级，由登录流程透明重新哈希
+   * </ul>
    *
+   * @param systemProperties System 配置属性
    * @return PasswordEncoder 实例
    */
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(SystemProperties systemProperties) {
+    SystemProperties.PasswordConfig config = systemProperties.getPassword();
+    int strength =
+        config.getBcryptStrength() > 0 ? config.getBcryptStrength() : calibrateStrength(config);
+    log.info("密码哈希策略: algorithm={}, strength={}", ENCODING_ID, strength);
+
+    DelegatingPasswordEncoder encoder =
+        new DelegatingPasswordEncoder(
+            ENCODING_ID, Map.of(ENCODING_ID, new BCryptPasswordEncoder(strength)));
+    // 兼容历史无前缀的 BCrypt 哈希（BCrypt 校验时从哈希本身读取强度，与此处构造参数无关）
+    encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+    return encoder;
+  }
+
+  /**
+   * 按目标耗时校准 BCrypt 强度
+   *
+   * <p>从最小强度开始逐级测量单次哈希耗时，取首个达到目标耗时的强度（BCrypt 每加 1 耗时约翻倍）， 并限制在
+   * [minStrength, maxStrength] 区间内。
+   *
+   * @param config 密码哈希策略配置
+   * @return 校准后的强度
+   */
+  private static int calibrateStrength(SystemProperties.PasswordConfig config) {
+    int min = Math.max(4, config.getMinStrength());
+    int max = Math.max(min, Math.min(31, config.getMaxStrength()));
+    // 预热一次，避免首次调用的类加载与 JIT 影响测量
+    new BCryptPasswordEncoder(4).encode(CALIBRATION_SAMPLE);
+    for (int strength = min; strength < max; strength++) {
+      long start = System.nanoTime();
+      new BCryptPasswordEncoder(strength).encode(CALIBRATION_SAMPLE);
+      long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+      log.debug("BCrypt 强度校准: strength={}, elapsedMillis={}", strength, elapsedMillis);
+      if (elapsedMillis >= config.getTargetHashMillis()) {
+        return strength;
+      }
+    }
+    return max;
+  }
+
+  /**
+   * 配置密码校验工作池
+   *
+   * <p>BCrypt 校验为 CPU 密集型操作，放入独立的有界工作池执行，与 Web 容器线程隔离。 池满时返回 429，排队超时返回
+   * 503，避免登录洪峰拖慢其他查询接口。
+   *
+   * @param systemProperties System 配置属性
+   * @return 有界工作池
+   */
+  @Bean(destroyMethod = "close")
+  public AdmissionControlledExecutor passwordVerifyExecutor(SystemProperties systemProperties) {
+    return new AdmissionControlledExecutor(
+        "password-verify", systemProperties.getPasswordExecutor());
+  }
+
+  /**
+   * 配置用户导入密码哈希工作池
+   *
+   * <p>批量导入时并行计算 BCrypt 哈希，与登录校验池分开，导入不会挤占登录请求。
+   *
+   * @param systemProperties System 配置属性
+   * @return 有界工作池
+   */
+  @Bean(destroyMethod = "close")
+  public AdmissionControlledExecutor userImportHashExecutor(SystemProperties systemProperties) {
+    return new AdmissionControlledExecutor(
+        "user-import-hash", systemProperties.getUserImport().getHashExecutor());
   }
 }
@@ -0,0 +1,220 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.config;
+
+import com.atlas.common.infra.web.executor.WorkerPoolProperties;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * System 配置属性类
+ *
+ * <p>用于读取配置文件中的 System 服务相关配置（{@code atlas.system.*}）。
+ *
+ * <p>配置示例：
+ *
+ * <pre>{@code
+ * atlas:
+ *   system:
+ *     password:
+ *       bcrypt-strength: 0
+ *       target-hash-millis: 250
+ *     password-executor:
+ *       threads: 4
+ *       queue-capacity: 64
+ *       max-queue-wait-millis: 2000
+ * }</pre>
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "atlas.system")
+public class SystemProperties {
+
+  /** RBAC 内存快照配置 */
+  private RbacConfig rbac = new RbacConfig();
+
+  /** 用户权限本地缓存配置 */
+  private AuthorityCacheConfig authorityCache = new AuthorityCacheConfig();
+
+  /** 密码哈希策略配置 */
+  private PasswordConfig password = new PasswordConfig();
+
+  /** 密码校验工作池配置（BCrypt 校验等 CPU 密集型步骤） */
+  private WorkerPoolProperties passwordExecutor = new WorkerPoolProperties();
+
+  /** 分页配置 */
+  private PageConfig page = new PageConfig();
+
+  /** 用户批量导入配置 */
+  private UserImportConfig userImport = new UserImportConfig();
+
+  /** 系统设置本地缓存配置 */
+  private SettingsConfig settings = new SettingsConfig();
+
+  /** 菜单树缓存配置 */
+  private MenuCacheConfig menuCache = new MenuCacheConfig();
+
+  /** 流式导出配置 */
+  private ExportConfig export = new ExportConfig();
+
+  /** 分页配置内部类 */
+  @Data
+  public static class PageConfig {
+
+    /**
+     * 游标签名密钥。多实例部署时必须配置为相同的值，否则游标只在签发实例上有效；
+     * 未配置时启动后随机生成
+     */
+    private String cursorSecret;
+
+    /** 是否缓存分页总数（默认 true） */
+    private boolean countCacheEnabled = true;
+
+    /** 分页总数缓存时间（秒，默认 30），写操作提交后立即失效 */
+    private long countCacheTtlSeconds = 30L;
+
+    /** 分页总数缓存的最大条目数（默认 1000），超出时整体清空 */
+    private int countCacheMaxSize = 1000;
+
+    /** 估算总数阈值（默认 100000）：执行计划估算行数不低于该值时直接返回估算值；小于等于 0 时关闭估算 */
+    private long estimateCountThreshold = 100_000L;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile byte[] generatedKey;
+
+    /**
+     * 获取游标签名密钥
+     *
+     * @return 密钥字节
+     */
+    public byte[] resolveCursorKey() {
+      if (cursorSecret != null && !cursorSecret.isBlank()) {
+        return cursorSecret.getBytes(StandardCharsets.UTF_8);
+      }
+      byte[] key = generatedKey;
+      if (key == null) {
+        synchronized (this) {
+          key = generatedKey;
+          if (key == null) {
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            generatedKey = key;
+          }
+        }
+      }
+      return key;
+    }
+  }
+
+  /** RBAC 内存快照配置内部类 */
+  @Data
+  public static class RbacConfig {
+
+    /** 是否启用（默认 true）。关闭后权限查询直接访问数据库 */
+    private boolean snapshotEnabled = true;
+
+    /** 全量重建周期（秒，默认 300），用于兜底多实例部署下其他实例的变更；小于等于 0 时关闭 */
+    private long refreshSeconds = 300L;
+  }
+
+  /** 系统设置本地缓存配置内部类 */
+  @Data
+  public static class SettingsConfig {
+
+    /** 是否通过 Redis 广播设置变更（默认 true）。关闭后其他实例仅依赖周期性全量加载 */
+    private boolean syncEnabled = true;
+
+    /** 全量加载周期（秒，默认 300），用于兜底广播消息丢失；小于等于 0 时关闭 */
+    private long refreshSeconds = 300L;
+  }
+
+  /** 菜单树缓存配置内部类 */
+  @Data
+  public static class MenuCacheConfig {
+
+    /** 是否通过 Redis 广播菜单变更（默认 true）。关闭后其他实例仅依赖周期性变更检测 */
+    private boolean syncEnabled = true;
+
+    /** 变更检测周期（秒，默认 60），比较菜单表的行数与最大更新时间，兜底广播消息丢失；小于等于 0 时关闭 */
+    private long checkSeconds = 60L;
+  }
+
+  /** 流式导出配置内部类 */
+  @Data
+  public static class ExportConfig {
+
+    /** 同时执行的导出数上限（默认 2），每个导出在下载期间占用一个数据库连接；超出时返回 429 */
+    private int maxConcurrent = 2;
+
+    /** 单次导出的时长上限（秒，默认 600），超时后中断响应并回滚事务，释放数据库连接 */
+    private long timeoutSeconds = 600L;
+  }
+
+  /** 用户权限本地缓存配置内部类 */
+  @Data
+  public static class AuthorityCacheConfig {
+
+    /** 是否启用（默认 true） */
+    private boolean enabled = true;
+
+    /** 最大缓存用户数（默认 10000），超出时整体清空 */
+    private int maxSize = 10_000;
+
+    /** 条目存活时间（秒，默认 300），用于兜底多实例部署下其他实例的变更 */
+    private long ttlSeconds = 300L;
+  }
+
+  /** 密码哈希策略配置内部类 */
+  @Data
+  public static class PasswordConfig {
+
+    /** BCrypt 强度（4-31）。小于等于 0 时在启动时按 targetHashMillis 自动校准 */
+    private int bcryptStrength = 0;
+
+    /** 自动校准的目标单次哈希耗时（毫秒，默认 250） */
+    private long targetHashMillis = 250L;
+
+    /** 自动校准的最小强度（默认 10，不低于历史默认值） */
+    private int minStrength = 10;
+
+    /** 自动校准的最大强度（默认 14） */
+    private int maxStrength = 14;
+
+    /** 登录成功时是否将不符合当前策略的哈希透明升级（默认 true） */
+    private boolean rehashOnLogin = true;
+  }
+
+  /** 用户批量导入配置内部类 */
+  @Data
+  public static class UserImportConfig {
+
+    /** 每批处理的行数（默认 500）：批内一次校验用户名、并行哈希密码、一次批量写入 */
+    private int batchSize = 500;
+
+    /** 密码哈希工作池（独立于登录校验池；队列容量不小于批大小，不设排队超时） */
+    private WorkerPoolProperties hashExecutor = defaultHashExecutor();
+
+    /**
+     * 获取实际批大小（不超过哈希工作池队列容量，保证一批任务可全部入队）
+     *
+     * @return 批大小
+     */
+    public int resolveBatchSize() {
+      return Math.max(1, Math.min(batchSize, hashExecutor.getQueueCapacity()));
+    }
+
+    private static WorkerPoolProperties defaultHashExecutor() {
+      WorkerPoolProperties properties = new WorkerPoolProperties();
+      properties.setQueueCapacity(1000);
+      properties.setMaxQueueWaitMillis(0L);
+      return properties;
+    }
+  }
+}
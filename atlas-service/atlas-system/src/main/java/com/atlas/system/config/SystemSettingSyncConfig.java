@@ -0,0 +1,53 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.config;
+
+import com.atlas.common.infra.redis.util.CacheUtil;
+import com.atlas.system.settings.cache.SystemSettingCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 系统设置同步配置
+ *
+ * <p>注册 Redis 订阅容器，将设置变更广播频道的消息交给 {@link SystemSettingCache} 刷新本地缓存。
+ *
+ * <p>条件：{@code atlas.system.settings.sync-enabled=true}（默认）。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(
+    prefix = "atlas.system.settings",
+    name = "sync-enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class SystemSettingSyncConfig {
+
+  /**
+   * 设置变更广播订阅容器
+   *
+   * <p>依赖 RedisTemplate 以确保 CacheUtil 前缀已初始化，频道名与发布方一致。
+   *
+   * @param connectionFactory Redis 连接工厂
+   * @param redisTemplate RedisTemplate
+   * @param systemSettingCache 系统设置本地缓存
+   * @return 订阅容器
+   */
+  @Bean
+  public RedisMessageListenerContainer systemSettingListenerContainer(
+      RedisConnectionFactory connectionFactory,
+      RedisTemplate<String, Object> redisTemplate,
+      SystemSettingCache systemSettingCache) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    String channel = CacheUtil.resolveKey(SystemSettingCache.CHANNEL_SETTINGS);
+    container.addMessageListener(systemSettingCache, new ChannelTopic(channel));
+    return container;
+  }
+}
@@ -0,0 +1,342 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.menu.cache;
+
+import com.atlas.common.infra.redis.key.RedisKeyBuilder;
+import com.atlas.common.infra.redis.util.CacheUtil;
+import com.atlas.system.config.SystemProperties;
+import com.atlas.system.menu.event.MenuChangedEvent;
+import com.atlas.system.menu.mapper.MenuMapper;
+import com.atlas.system.menu.model.vo.MenuTreeVO;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+/**
+ * 菜单树缓存
+ *
+ * <p>缓存完整的、已排序的菜单树，并按"权限指纹"记忆按用户权限裁剪后的子树：
+ *
+ * <ul>
+ *   <li>完整树在首次访问时加载并冻结（children 为只读列表），菜单变更事件提交后失效
+ *   <li>本实例的失效通过 Redis 频道广播，其他实例收到后同样失效；另按 check-seconds 周期比较菜单表的变更标记，
+ *       兜底广播消息丢失。每次失效版本号加一，其他实例上的 ETag 随之失效
+ *   <li>权限指纹：对菜单引用到的每个权限码判断用户是否持有，得到的位图即指纹。 只与菜单相关的权限参与计算，权限相同（或仅在菜单无关的权限上不同）的用户共享同一棵子树
+ *   <li>裁剪规则与原实现一致：不可见节点的可见子孙提升为根节点，根节点重新排序
+ * </ul>
+ *
+ * <p>返回的树为共享实例，调用方只能读取（序列化），不得修改。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MenuTreeCache implements MessageListener {
+
+  /** 菜单变更同步频道（发布与订阅时均会补齐前缀） */
+  public static final String CHANNEL_MENU =
+      RedisKeyBuilder.builder().business("channel").id("menu").build();
+
+  /** 记忆的裁剪结果上限，超出时整体清空 */
+  private static final int MAX_VARIANTS = 1024;
+
+  private static final Comparator<MenuTreeVO> COMPARATOR =
+      Comparator.comparing(MenuTreeVO::getSort, Comparator.nullsLast(Integer::compareTo))
+          .thenComparing(MenuTreeVO::getMenuId, Comparator.nullsLast(String::compareTo));
+
+  private final SystemProperties systemProperties;
+  private final MenuMapper menuMapper;
+  private final RedisTemplate<String, Object> redisTemplate;
+
+  /** 实例标识，用于忽略本实例发出的广播 */
+  private final String instanceId = UUID.randomUUID().toString();
+
+  private final AtomicLong generation = new AtomicLong();
+  private final Map<BitSet, List<MenuTreeVO>> variants = new ConcurrentHashMap<>();
+  private volatile FrozenTree tree;
+  private volatile ScheduledExecutorService checkExecutor;
+
+  /** 上次检测到的菜单表变更标记（仅由检测线程访问） */
+  private String lastMarker;
+
+  /** 应用就绪后按配置启动周期性变更检测 */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    long checkSeconds = systemProperties.getMenuCache().getCheckSeconds();
+    if (checkSeconds <= 0) {
+      return;
+    }
+    checkExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "menu-tree-check");
+              thread.setDaemon(true);
+              return thread;
+            });
+    checkExecutor.scheduleWithFixedDelay(
+        this::checkForChanges, 0, checkSeconds, TimeUnit.SECONDS);
+  }
+
+  /** 停止周期性变更检测 */
+  @PreDestroy
+  public void destroy() {
+    if (checkExecutor != null) {
+      checkExecutor.shutdownNow();
+    }
+  }
+
+  /**
+   * 获取菜单树版本号
+   *
+   * <p>进程内单调递增，每次菜单变更后加一，可用于生成 ETag。
+   *
+   * @return 版本号
+   */
+  public long getVersion() {
+    return generation.get();
+  }
+
+  /**
+   * 获取完整菜单树
+   *
+   * @param loader 加载完整菜单树（已排序）的函数，未命中时调用
+   * @return 完整菜单树（只读）
+   */
+  public List<MenuTreeVO> getFullTree(Supplier<List<MenuTreeVO>> loader) {
+    return load(loader).roots();
+  }
+
+  /**
+   * 获取按权限裁剪后的菜单树
+   *
+   * @param loader 加载完整菜单树（已排序）的函数，未命中时调用
+   * @param hasPermission 判断用户是否持有某权限码
+   * @return 裁剪后的菜单树（只读，可能与其他用户共享）
+   */
+  public List<MenuTreeVO> getTreeFor(
+      Supplier<List<MenuTreeVO>> loader, Predicate<String> hasPermission) {
+    FrozenTree frozen = load(loader);
+    BitSet fingerprint = new BitSet(frozen.permissionCodes().length);
+    for (int i = 0; i < frozen.permissionCodes().length; i++) {
+      if (hasPermission.test(frozen.permissionCodes()[i])) {
+        fingerprint.set(i);
+      }
+    }
+    if (fingerprint.cardinality() == frozen.permissionCodes().length) {
+      return frozen.roots();
+    }
+    List<MenuTreeVO> cached = variants.get(fingerprint);
+    if (cached != null) {
+      return cached;
+    }
+    List<MenuTreeVO> pruned = prune(frozen, fingerprint);
+    if (tree == frozen) {
+      if (variants.size() >= MAX_VARIANTS) {
+        variants.clear();
+      }
+      variants.put(fingerprint, pruned);
+      // 写入期间菜单发生变更，丢弃可能基于旧树的结果
+      if (tree != frozen) {
+        variants.remove(fingerprint, pruned);
+      }
+    }
+    return pruned;
+  }
+
+  /**
+   * 处理菜单变更事件（事务提交后执行；无事务时立即执行）
+   *
+   * @param event 菜单变更事件
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onMenuChanged(MenuChangedEvent event) {
+    invalidate(event.reason());
+    if (!systemProperties.getMenuCache().isSyncEnabled()) {
+      return;
+    }
+    if (!CacheUtil.publish(CHANNEL_MENU, instanceId)) {
+      // 广播失败时其他实例依赖周期性变更检测兜底
+      log.warn("菜单变更广播失败，其他实例将在下次变更检测时失效: menuId={}", event.menuId());
+    }
+  }
+
+  /**
+   * 接收其他实例广播的菜单变更（消息体为发布方实例标识）
+   *
+   * @param message 消息
+   * @param pattern 订阅模式
+   */
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    try {
+      Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+      if (!instanceId.equals(body)) {
+        invalidate("remote change");
+      }
+    } catch (Exception e) {
+      log.warn("处理菜单变更广播消息失败: {}", e.getMessage());
+    }
+  }
+
+  /** 比较菜单表的变更标记，发生变化时失效（首次检测只记录标记） */
+  private void checkForChanges() {
+    try {
+      String marker = menuMapper.selectChangeMarker();
+      if (lastMarker != null && !Objects.equals(lastMarker, marker)) {
+        invalidate("change detected");
+      }
+      lastMarker = marker;
+    } catch (RuntimeException e) {
+      log.warn("菜单变更检测失败: {}", e.getMessage());
+    }
+  }
+
+  private void invalidate(String reason) {
+    generation.incrementAndGet();
+    tree = null;
+    variants.clear();
+    log.debug("菜单树缓存已失效: reason={}", reason);
+  }
+
+  private FrozenTree load(Supplier<List<MenuTreeVO>> loader) {
+    FrozenTree current = tree;
+    if (current != null) {
+      return current;
+    }
+    long observedGeneration = generation.get();
+    FrozenTree loaded = freeze(loader.get());
+    synchronized (this) {
+      if (generation.get() == observedGeneration && tree == null) {
+        tree = loaded;
+        variants.clear();
+      }
+    }
+    return loaded;
+  }
+
+  private static FrozenTree freeze(List<MenuTreeVO> roots) {
+    Map<String, Integer> codeIndex = new HashMap<>();
+    List<MenuTreeVO> frozenRoots = freezeNodes(roots, codeIndex);
+    String[] codes = new String[codeIndex.size()];
+    codeIndex.forEach((code, index) -> codes[index] = code);
+    return new FrozenTree(frozenRoots, codes, Collections.unmodifiableMap(codeIndex));
+  }
+
+  private static List<MenuTreeVO> freezeNodes(
+      List<MenuTreeVO> nodes, Map<String, Integer> codeIndex) {
+    for (MenuTreeVO node : nodes) {
+      if (StringUtils.hasText(node.getPermissionCode())) {
+        codeIndex.putIfAbsent(node.getPermissionCode(), codeIndex.size());
+      }
+      List<MenuTreeVO> children =
+          node.getChildren() != null ? node.getChildren() : Collections.emptyList();
+      node.setChildren(freezeNodes(children, codeIndex));
+    }
+    return List.copyOf(nodes);
+  }
+
+  private static List<MenuTreeVO> prune(FrozenTree frozen, BitSet fingerprint) {
+    List<MenuTreeVO> roots = new ArrayList<>();
+    for (MenuTreeVO node : frozen.roots()) {
+      prune(node, frozen, fingerprint, roots, roots);
+    }
+    roots.sort(COMPARATOR);
+    return freezeList(roots);
+  }
+
+  /**
+   * 裁剪节点：可见节点复制到 target；不可见节点的可见子孙提升到 roots
+   *
+   * @param node 节点
+   * @param frozen 完整树
+   * @param fingerprint 权限指纹
+   * @param target 可见时加入的列表
+   * @param roots 根节点列表
+   */
+  private static void prune(
+      MenuTreeVO node,
+      FrozenTree frozen,
+      BitSet fingerprint,
+      List<MenuTreeVO> target,
+      List<MenuTreeVO> roots) {
+    if (isVisible(node, frozen, fingerprint)) {
+      MenuTreeVO copy = copyWithoutChildren(node);
+      List<MenuTreeVO> children = new ArrayList<>(node.getChildren().size());
+      for (MenuTreeVO child : node.getChildren()) {
+        prune(child, frozen, fingerprint, children, roots);
+      }
+      copy.setChildren(freezeList(children));
+      target.add(copy);
+    } else {
+      for (MenuTreeVO child : node.getChildren()) {
+        prune(child, frozen, fingerprint, roots, roots);
+      }
+    }
+  }
+
+  private static boolean isVisible(MenuTreeVO node, FrozenTree frozen, BitSet fingerprint) {
+    if (!StringUtils.hasText(node.getPermissionCode())) {
+      return true;
+    }
+    return fingerprint.get(frozen.codeIndex().get(node.getPermissionCode()));
+  }
+
+  private static List<MenuTreeVO> freezeList(List<MenuTreeVO> nodes) {
+    return nodes.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(nodes);
+  }
+
+  private static MenuTreeVO copyWithoutChildren(MenuTreeVO source) {
+    MenuTreeVO copy = new MenuTreeVO();
+    copy.setMenuId(source.getMenuId());
+    copy.setParentId(source.getParentId());
+    copy.setName(source.getName());
+    copy.setPath(source.getPath());
+    copy.setComponent(source.getComponent());
+    copy.setRedirect(source.getRedirect());
+    copy.setIcon(source.getIcon());
+    copy.setType(source.getType());
+    copy.setSort(source.getSort());
+    copy.setVisible(source.getVisible());
+    copy.setKeepAlive(source.getKeepAlive());
+    copy.setExternal(source.getExternal());
+    copy.setPermissionCode(source.getPermissionCode());
+    copy.setStatus(source.getStatus());
+    return copy;
+  }
+
+  /**
+   * 冻结的完整菜单树
+   *
+   * @param roots 根节点（只读）
+   * @param permissionCodes 指纹位 -> 权限码
+   * @param codeIndex 权限码 -> 指纹位
+   */
+  private record FrozenTree(
+      List<MenuTreeVO> roots, String[] permissionCodes, Map<String, Integer> codeIndex) {}
+}
@@ -2,10 +2,13 @@
 package com.atlas.system.menu.controller;
 
 import com.atlas.common.feature.core.result.Result;
+import com.atlas.common.feature.security.context.SecurityContextHolder;
+import com.atlas.common.infra.web.http.ConditionalRequests;
 import com.atlas.system.menu.model.dto.MenuCreateDTO;
 import com.atlas.system.menu.model.dto.MenuUpdateDTO;
 import com.atlas.system.menu.model.vo.MenuTreeVO;
 import com.atlas.system.menu.service.MenuService;
+import com.atlas.system.web.ResourceETags;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +37,8 @@ import org.springframework.web.bind.annotation.RestController;
  *   <li>DELETE /api/v1/menus/{menuId}：删除菜单（逻辑删除）
  * </ul>
  *
+ * <p>菜单树接口支持条件请求：响应携带 ETag，客户端以 If-None-Match 重新校验，未变化时返回 304。
+ *
  * <p>返回格式：统一使用 {@link Result} 包装响应数据
  *
  * @author Atlas Team
@@ -45,16 +50,24 @@ import org.springframework.web.bind.annotation.RestController;
 public class MenuController {
 
   private final MenuService menuService;
+  private final ResourceETags resourceETags;
 
-  /** 查询完整菜单树 */
+  /** 查询完整菜单树（未变化时返回 304） */
   @GetMapping("/menus/tree")
   public Result<List<MenuTreeVO>> listMenuTree() {
+    if (ConditionalRequests.checkNotModified(resourceETags.menuTree())) {
+      return null;
+    }
     return Result.success(menuService.listMenuTree());
   }
 
-  /** 查询当前用户菜单树 */
+  /** 查询当前用户菜单树（未变化时返回 304） */
   @GetMapping("/menus/me")
   public Result<List<MenuTreeVO>> listMyMenuTree() {
+    if (ConditionalRequests.checkNotModified(
+        resourceETags.myMenuTree(SecurityContextHolder.getLoginUser()))) {
+      return null;
+    }
     return Result.success(menuService.listMyMenuTree());
   }
 
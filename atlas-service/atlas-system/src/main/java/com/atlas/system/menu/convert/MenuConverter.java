@@ -0,0 +1,29 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.menu.convert;
+
+import com.atlas.system.menu.model.entity.Menu;
+import com.atlas.system.menu.model.vo.MenuTreeVO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+/**
+ * 菜单对象转换器
+ *
+ * <p>菜单树构建时每个节点转换一次，children 由调用方组装。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface MenuConverter {
+
+  /**
+   * 将 Menu 实体转换为树节点 VO（children 为空列表）
+   *
+   * @param menu 菜单实体
+   * @return 树节点 VO
+   */
+  @Mapping(target = "children", ignore = true)
+  MenuTreeVO toTreeVO(Menu menu);
+}
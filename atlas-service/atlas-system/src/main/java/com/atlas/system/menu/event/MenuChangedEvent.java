@@ -0,0 +1,14 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.menu.event;
+
+/**
+ * 菜单变更事件
+ *
+ * <p>在菜单创建、更新、删除后发布，用于失效菜单树缓存。
+ *
+ * @param menuId 变更的菜单ID
+ * @param reason 变更原因（用于日志）
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+public record MenuChangedEvent(String menuId, String reason) {}
@@ -4,6 +4,7 @@ package com.atlas.system.menu.mapper;
 import com.atlas.system.menu.model.entity.Menu;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
 
 /**
  * 菜单 Mapper 接口
@@ -14,4 +15,18 @@ import org.apache.ibatis.annotations.Mapper;
  * @since 1.0.0
  */
 @Mapper
-public interface MenuMapper extends BaseMapper<Menu> {}
+public interface MenuMapper extends BaseMapper<Menu> {
+
+  /**
+   * 查询菜单表的变更标记
+   *
+   * <p>由行数与最大更新时间组成：创建改变行数，更新与删除（状态置为 DELETED）刷新 updated_at。
+   * 用于周期性检测其他实例的菜单变更。
+   *
+   * @return 变更标记
+   */
+  @Select(
+      "SELECT COUNT(*) || ':' || COALESCE(CAST(MAX(updated_at) AS VARCHAR), '')"
+          + " FROM sys_menu WHERE deleted = 0")
+  String selectChangeMarker();
+}
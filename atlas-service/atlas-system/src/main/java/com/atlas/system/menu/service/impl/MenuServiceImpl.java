@@ -5,6 +5,9 @@ import com.atlas.common.feature.core.exception.BusinessException;
 import com.atlas.common.feature.security.context.SecurityContextHolder;
 import com.atlas.common.feature.security.user.LoginUser;
 import com.atlas.system.constant.SystemErrorCode;
+import com.atlas.system.menu.cache.MenuTreeCache;
+import com.atlas.system.menu.convert.MenuConverter;
+import com.atlas.system.menu.event.MenuChangedEvent;
 import com.atlas.system.menu.mapper.MenuMapper;
 import com.atlas.system.menu.model.dto.MenuCreateDTO;
 import com.atlas.system.menu.model.dto.MenuUpdateDTO;
@@ -13,18 +16,20 @@ import com.atlas.system.menu.model.vo.MenuTreeVO;
 import com.atlas.system.menu.service.MenuService;
 import com.atlas.system.permission.mapper.PermissionMapper;
 import com.atlas.system.permission.model.entity.Permission;
+import com.atlas.system.permission.rbac.RbacSnapshot;
+import com.atlas.system.permission.rbac.RbacSnapshotHolder;
+import com.atlas.system.util.QueryFilters;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -43,11 +48,14 @@ public class MenuServiceImpl implements MenuService {
 
   private final MenuMapper menuMapper;
   private final PermissionMapper permissionMapper;
+  private final RbacSnapshotHolder rbacSnapshotHolder;
+  private final MenuTreeCache menuTreeCache;
+  private final MenuConverter menuConverter;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   public List<MenuTreeVO> listMenuTree() {
-    List<Menu> menus = listActiveMenus();
-    return buildMenuTree(menus);
+    return menuTreeCache.getFullTree(this::loadMenuTree);
   }
 
   @Override
@@ -56,14 +64,14 @@ public class MenuServiceImpl implements MenuService {
     if (loginUser == null) {
       return Collections.emptyList();
     }
-    List<String> permissions =
-        Optional.ofNullable(loginUser.getPermissions()).orElse(Collections.emptyList());
-    List<Menu> menus = listActiveMenus();
-    List<Menu> filtered =
-        menus.stream()
-            .filter(menu -> isMenuVisible(menu, permissions))
-            .collect(Collectors.toList());
-    return buildMenuTree(filtered);
+    RbacSnapshot snapshot = rbacSnapshotHolder.current();
+    if (snapshot != null) {
+      // 基于 RBAC 快照求值：用户权限位图只计算一次，每个菜单权限码一次哈希查找 + 位测试
+      BitSet bits = snapshot.permissionBitsOf(String.valueOf(loginUser.getUserId()));
+      return menuTreeCache.getTreeFor(
+          this::loadMenuTree, code -> snapshot.hasPermission(bits, code));
+    }
+    return menuTreeCache.getTreeFor(this::loadMenuTree, loginUser::hasPermission);
   }
 
   @Override
@@ -72,10 +80,7 @@ public class MenuServiceImpl implements MenuService {
     if (menu == null || "DELETED".equals(menu.getStatus())) {
       throw new BusinessException(SystemErrorCode.MENU_NOT_FOUND, "菜单不存在");
     }
-    MenuTreeVO vo = new MenuTreeVO();
-    BeanUtils.copyProperties(menu, vo);
-    vo.setChildren(new ArrayList<>());
-    return vo;
+    return menuConverter.toTreeVO(menu);
   }
 
   @Override
@@ -109,6 +114,7 @@ public class MenuServiceImpl implements MenuService {
     menu.setStatus("ACTIVE");
 
     menuMapper.insert(menu);
+    eventPublisher.publishEvent(new MenuChangedEvent(menu.getMenuId(), "menu created"));
     return menu.getMenuId();
   }
 
@@ -150,6 +156,7 @@ public class MenuServiceImpl implements MenuService {
       existing.setStatus(dto.getStatus());
     }
     menuMapper.updateById(existing);
+    eventPublisher.publishEvent(new MenuChangedEvent(menuId, "menu updated"));
   }
 
   @Override
@@ -164,22 +171,16 @@ public class MenuServiceImpl implements MenuService {
     update.setStatus("DELETED");
     update.setDeleted(1);
     menuMapper.updateById(update);
+    eventPublisher.publishEvent(new MenuChangedEvent(menuId, "menu deleted"));
   }
 
   private List<Menu> listActiveMenus() {
     LambdaQueryWrapper<Menu> wrapper = new LambdaQueryWrapper<>();
-    wrapper.ne(Menu::getStatus, "DELETED");
+    QueryFilters.notDeleted(wrapper);
     wrapper.orderByAsc(Menu::getSort).orderByAsc(Menu::getMenuId);
     return menuMapper.selectList(wrapper);
   }
 
-  private boolean isMenuVisible(Menu menu, List<String> permissions) {
-    if (!StringUtils.hasText(menu.getPermissionCode())) {
-      return true;
-    }
-    return permissions.contains(menu.getPermissionCode());
-  }
-
   private void validateMenuType(String type) {
     if (!StringUtils.hasText(type) || !MENU_TYPES.contains(type)) {
       throw new BusinessException(SystemErrorCode.MENU_TYPE_INVALID, "菜单类型不合法");
@@ -201,9 +202,8 @@ public class MenuServiceImpl implements MenuService {
     }
     Permission permission =
         permissionMapper.selectOne(
-            new LambdaQueryWrapper<Permission>()
-                .eq(Permission::getPermissionCode, permissionCode)
-                .ne(Permission::getStatus, "DELETED"));
+            QueryFilters.notDeleted(new LambdaQueryWrapper<Permission>())
+                .eq(Permission::getPermissionCode, permissionCode));
     if (permission == null) {
       throw new BusinessException(SystemErrorCode.MENU_PERMISSION_NOT_FOUND, "权限码不存在");
     }
@@ -216,12 +216,14 @@ public class MenuServiceImpl implements MenuService {
     return parentId;
   }
 
+  private List<MenuTreeVO> loadMenuTree() {
+    return buildMenuTree(listActiveMenus());
+  }
+
   private List<MenuTreeVO> buildMenuTree(List<Menu> menus) {
     Map<String, MenuTreeVO> map = new HashMap<>();
     for (Menu menu : menus) {
-      MenuTreeVO vo = new MenuTreeVO();
-      BeanUtils.copyProperties(menu, vo);
-      map.put(menu.getMenuId(), vo);
+      map.put(menu.getMenuId(), menuConverter.toTreeVO(menu));
     }
 
     List<MenuTreeVO> roots = new ArrayList<>();
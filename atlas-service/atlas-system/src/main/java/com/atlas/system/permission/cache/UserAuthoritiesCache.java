@@ -0,0 +1,120 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.permission.cache;
+
+import com.atlas.system.api.v1.model.dto.UserAuthoritiesDTO;
+import com.atlas.system.config.SystemProperties;
+import com.atlas.system.permission.event.AuthoritiesChangedEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 用户权限本地缓存
+ *
+ * <p>缓存已解析的 {@link UserAuthoritiesDTO}，使登录时的权限查询成为一次内存读取。
+ *
+ * <p>一致性保证：
+ *
+ * <ul>
+ *   <li>监听 {@link AuthoritiesChangedEvent}，在事务提交后精确失效单个用户或全部缓存
+ *   <li>使用代数（generation）防止"先读旧数据、后于失效写入"的竞态：加载前记录代数，失效会推进代数，
+ *       代数变化后加载结果不再写入缓存
+ *   <li>条目带 TTL，作为多实例部署下其他实例变更的兜底（本地事件只在当前实例内传播）
+ *   <li>条目数超过上限时整体清空，避免无界增长
+ * </ul>
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserAuthoritiesCache {
+
+  private final SystemProperties systemProperties;
+
+  private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+
+  /**
+   * 获取用户权限，未命中时通过 loader 加载并缓存
+   *
+   * @param userId 用户ID
+   * @param loader 加载函数
+   * @return 用户权限信息（每次返回新的 DTO 实例，调用方可自由修改）
+   */
+  public UserAuthoritiesDTO get(String userId, Function<String, UserAuthoritiesDTO> loader) {
+    SystemProperties.AuthorityCacheConfig config = systemProperties.getAuthorityCache();
+    if (!config.isEnabled() || userId == null) {
+      return loader.apply(userId);
+    }
+    long now = System.nanoTime();
+    Entry entry = entries.get(userId);
+    if (entry != null && entry.expiresAt - now > 0) {
+      return entry.toDTO(userId);
+    }
+
+    long observedGeneration = generation.get();
+    UserAuthoritiesDTO loaded = loader.apply(userId);
+    Entry fresh =
+        new Entry(
+            List.copyOf(loaded.getRoles()),
+            List.copyOf(loaded.getPermissions()),
+            now + TimeUnit.SECONDS.toNanos(config.getTtlSeconds()));
+    if (entries.size() >= config.getMaxSize()) {
+      entries.clear();
+    }
+    entries.put(userId, fresh);
+    // 加载期间发生过失效，刚写入的结果可能已过时
+    if (generation.get() != observedGeneration) {
+      entries.remove(userId, fresh);
+    }
+    return loaded;
+  }
+
+  /**
+   * 处理权限变更事件（事务提交后执行；无事务时立即执行）
+   *
+   * @param event 权限变更事件
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onAuthoritiesChanged(AuthoritiesChangedEvent event) {
+    generation.incrementAndGet();
+    if (event.userId() == null) {
+      entries.clear();
+      log.debug("用户权限缓存已全部失效: reason={}", event.reason());
+    } else {
+      entries.remove(event.userId());
+      log.debug("用户权限缓存已失效: userId={}, reason={}", event.userId(), event.reason());
+    }
+  }
+
+  /**
+   * 获取当前缓存条目数
+   *
+   * @return 条目数
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /** 缓存条目（角色与权限列表不可变） */
+  private record Entry(List<String> roles, List<String> permissions, long expiresAt) {
+
+    UserAuthoritiesDTO toDTO(String userId) {
+      UserAuthoritiesDTO dto = new UserAuthoritiesDTO();
+      dto.setUserId(userId);
+      dto.setRoles(new ArrayList<>(roles));
+      dto.setPermissions(new ArrayList<>(permissions));
+      return dto;
+    }
+  }
+}
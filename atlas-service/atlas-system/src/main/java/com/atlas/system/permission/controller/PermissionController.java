@@ -2,9 +2,11 @@
 package com.atlas.system.permission.controller;
 
 import com.atlas.common.feature.core.result.Result;
+import com.atlas.common.infra.web.http.ConditionalRequests;
 import com.atlas.system.api.v1.feign.PermissionQueryApi;
 import com.atlas.system.api.v1.model.dto.UserAuthoritiesDTO;
 import com.atlas.system.permission.service.PermissionService;
+import com.atlas.system.web.ResourceETags;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -34,6 +36,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class PermissionController implements PermissionQueryApi {
 
   private final PermissionService permissionService;
+  private final ResourceETags resourceETags;
 
   /**
    * 查询用户角色列表
@@ -68,14 +71,18 @@ public class PermissionController implements PermissionQueryApi {
   /**
    * 查询用户完整权限信息（角色+权限）
    *
-   * <p>通过用户ID查询用户的完整权限信息，包括角色列表和权限列表。
+   * <p>通过用户ID查询用户的完整权限信息，包括角色列表和权限列表。支持条件请求：If-None-Match 与当前 ETag
+   * 匹配时返回 304，不查询也不序列化结果。
    *
    * @param userId 用户ID
-   * @return 用户权限信息，使用 {@link Result} 包装
+   * @return 用户权限信息，使用 {@link Result} 包装；未变化时返回 null（304）
    */
   @Override
   @GetMapping("/api/v1/users/{userId}/authorities")
   public Result<UserAuthoritiesDTO> getUserAuthorities(@PathVariable String userId) {
+    if (ConditionalRequests.checkNotModified(resourceETags.authorities())) {
+      return null;
+    }
     UserAuthoritiesDTO authorities = permissionService.getAuthoritiesByUserId(userId);
     return Result.success(authorities);
   }
@@ -8,7 +8,11 @@ import com.atlas.system.permission.model.dto.PermissionQueryDTO;
 import com.atlas.system.permission.model.dto.PermissionUpdateDTO;
 import com.atlas.system.permission.model.vo.PermissionListVO;
 import com.atlas.system.permission.service.PermissionService;
+import com.atlas.system.util.ExportFormat;
+import com.atlas.system.util.ExportRunner;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,6 +21,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -28,6 +33,7 @@ import org.springframework.web.bind.annotation.RestController;
  *
  * <ul>
  *   <li>GET /api/v1/permissions：分页查询权限列表（参数：page、size、sort、permissionCode、permissionName、status）
+ *   <li>GET /api/v1/permissions/export：流式导出权限（参数：format=ndjson|csv，过滤参数同分页查询）
  *   <li>GET /api/v1/permissions/{permissionId}：权限详情
  *   <li>POST /api/v1/permissions：创建权限
  *   <li>PUT /api/v1/permissions/{permissionId}：更新权限
@@ -45,6 +51,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class PermissionManagementController {
 
   private final PermissionService permissionService;
+  private final ExportRunner exportRunner;
 
   /**
    * 分页查询权限列表
@@ -61,6 +68,31 @@ public class PermissionManagementController {
     return Result.success(result);
   }
 
+  /**
+   * 流式导出权限
+   *
+   * <p>过滤条件同分页查询（permissionCode、permissionName、status），以数据库游标逐行写入响应，内存占用与数据量无关，不执行 COUNT。
+   * 响应不使用 {@link Result} 包装；同时执行的导出数与导出时长受限（见 {@link ExportRunner}）。
+   *
+   * @param query 过滤条件
+   * @param format 导出格式（ndjson 或 csv，默认 ndjson）
+   * @param response HTTP 响应
+   * @throws IOException 如果获取响应输出流失败
+   */
+  @GetMapping("/permissions/export")
+  public void exportPermissions(
+      PermissionQueryDTO query,
+      @RequestParam(required = false) String format,
+      HttpServletResponse response)
+      throws IOException {
+    ExportFormat exportFormat = ExportFormat.of(format);
+    exportRunner.run(
+        "permissions",
+        exportFormat,
+        response,
+        out -> permissionService.exportPermissions(query, exportFormat, out));
+  }
+
   /**
    * 根据权限ID查询权限详情
    *
@@ -0,0 +1,25 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.permission.convert;
+
+import com.atlas.system.permission.model.entity.Permission;
+import com.atlas.system.permission.model.vo.PermissionListVO;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+
+/**
+ * 权限对象转换器
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface PermissionConverter {
+
+  /**
+   * 将 Permission 实体转换为 PermissionListVO
+   *
+   * @param permission 权限实体
+   * @return 列表项 VO
+   */
+  PermissionListVO toListVO(Permission permission);
+}
@@ -0,0 +1,41 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.permission.event;
+
+/**
+ * 用户权限变更事件
+ *
+ * <p>在用户角色关联、角色权限关联或角色/权限状态发生变化时发布，用于失效本地权限缓存。
+ *
+ * <ul>
+ *   <li>userId 不为空：仅影响指定用户（如为用户分配/移除角色）
+ *   <li>userId 为空：影响范围无法精确到用户（如角色权限变更、角色或权限状态变更），失效全部缓存
+ * </ul>
+ *
+ * @param userId 受影响的用户ID，为 null 表示全部用户
+ * @param reason 变更原因（用于日志）
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+public record AuthoritiesChangedEvent(String userId, String reason) {
+
+  /**
+   * 创建仅影响单个用户的事件
+   *
+   * @param userId 用户ID
+   * @param reason 变更原因
+   * @return 事件
+   */
+  public static AuthoritiesChangedEvent ofUser(String userId, String reason) {
+    return new AuthoritiesChangedEvent(userId, reason);
+  }
+
+  /**
+   * 创建影响全部用户的事件
+   *
+   * @param reason 变更原因
+   * @return 事件
+   */
+  public static AuthoritiesChangedEvent ofAll(String reason) {
+    return new AuthoritiesChangedEvent(null, reason);
+  }
+}
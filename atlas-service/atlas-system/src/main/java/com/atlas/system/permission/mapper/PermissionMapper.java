@@ -2,16 +2,71 @@
 package com.atlas.system.permission.mapper;
 
 import com.atlas.system.permission.model.entity.Permission;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
 /**
  * 权限 Mapper 接口
  *
  * <p>提供权限数据访问方法，继承 MyBatis-Plus 的 BaseMapper 提供基础 CRUD 功能。
  *
+ * <p>自定义查询方法：
+ *
+ * <ul>
+ *   <li>selectPageOrderBySimilarity：按权限代码/名称与搜索词的相似度排序分页
+ *   <li>selectExportCursor：以游标流式读取权限（用于导出）
+ * </ul>
+ *
  * @author Atlas Team
  * @since 1.0.0
  */
 @Mapper
-public interface PermissionMapper extends BaseMapper<Permission> {}
+public interface PermissionMapper extends BaseMapper<Permission> {
+
+  /**
+   * 按相似度排序分页查询权限
+   *
+   * <p>过滤条件由 wrapper 提供（LIKE 由 pg_trgm 索引支持），按权限代码、权限名称与搜索词的相似度取较大值倒序排列。
+   *
+   * @param page 分页参数
+   * @param wrapper 过滤条件（不含排序）
+   * @param permissionCode 权限代码搜索词（未指定时传空字符串）
+   * @param permissionName 权限名称搜索词（未指定时传空字符串）
+   * @return 分页结果
+   */
+  @Select(
+      "<script>SELECT * FROM sys_permission WHERE deleted = 0"
+          + "<if test='ew.nonEmptyOfNormal'> AND ${ew.sqlSegment}</if>"
+          + " ORDER BY GREATEST(similarity(permission_code, #{permissionCode}),"
+          + " similarity(permission_name, #{permissionName})) DESC, permission_id</script>")
+  Page<Permission> selectPageOrderBySimilarity(
+      Page<Permission> page,
+      @Param(Constants.WRAPPER) Wrapper<Permission> wrapper,
+      @Param("permissionCode") String permissionCode,
+      @Param("permissionName") String permissionName);
+
+  /**
+   * 以游标流式读取权限
+   *
+   * <p>只查询导出列。按 (created_at, permission_id) 排序，与部分索引
+   * idx_permission_created_at_id_active 一致，按索引顺序边扫描边返回，无需排序。服务端每次返回 fetchSize 行，须在事务内消费。
+   *
+   * @param wrapper 过滤条件（不含排序）
+   * @return 权限游标
+   */
+  @Select(
+      "<script>SELECT permission_id, permission_code, permission_name, description, status,"
+          + " created_at FROM sys_permission WHERE deleted = 0"
+          + "<if test='ew.nonEmptyOfNormal'> AND ${ew.sqlSegment}</if>"
+          + " ORDER BY created_at, permission_id</script>")
+  @Options(fetchSize = 1000, resultSetType = ResultSetType.FORWARD_ONLY)
+  Cursor<Permission> selectExportCursor(@Param(Constants.WRAPPER) Wrapper<Permission> wrapper);
+}
@@ -0,0 +1,353 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.permission.rbac;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RBAC 图不可变快照
+ *
+ * <p>由 sys_role、sys_permission、sys_role_permission、sys_user_role 构建的内存快照：
+ *
+ * <ul>
+ *   <li>有效权限码被映射（interning）为连续的整数 ID（按权限码排序，结果顺序稳定）
+ *   <li>每个有效角色的权限集合存储为 {@link BitSet}，用户有效权限为其所有有效角色位图的按位或
+ *   <li>用户角色关联保存原始 roleId（不过滤角色状态），角色是否有效在求值时判断， 因此角色状态变更只需重建角色图，无需重建用户关联
+ *   <li>用户角色关联按 userId 哈希分片存储，单个用户变更只复制分片数组与其所在分片，不复制全部用户
+ * </ul>
+ *
+ * <p>快照创建后不再修改，变更通过 {@link #withRoleGraph} / {@link #withUserRoles} 生成新实例，
+ * 由 {@link RbacSnapshotHolder} 原子替换；重新加载的内容与当前快照相同时不替换，版本号保持不变。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+public final class RbacSnapshot {
+
+  private static final String[] NO_ROLES = new String[0];
+
+  /** 权限 ID -> 权限码 */
+  private final String[] permissionCodes;
+
+  /** 权限码 -> 权限 ID */
+  private final Map<String, Integer> permissionIds;
+
+  /** 有效角色 ID -> 角色节点 */
+  private final Map<String, RoleNode> roles;
+
+  /** 用户 ID -> 关联的角色 ID（含已停用角色） */
+  private final UserRoleShards userRoles;
+
+  /** 快照版本号（内容变化时递增） */
+  private final long version;
+
+  private RbacSnapshot(
+      String[] permissionCodes,
+      Map<String, Integer> permissionIds,
+      Map<String, RoleNode> roles,
+      UserRoleShards userRoles,
+      long version) {
+    this.permissionCodes = permissionCodes;
+    this.permissionIds = permissionIds;
+    this.roles = roles;
+    this.userRoles = userRoles;
+    this.version = version;
+  }
+
+  /**
+   * 构建快照
+   *
+   * @param graph 角色图
+   * @param userRoles 用户 ID -> 角色 ID 列表
+   * @param version 版本号
+   * @return 快照
+   */
+  static RbacSnapshot of(RoleGraph graph, Map<String, String[]> userRoles, long version) {
+    return new RbacSnapshot(
+        graph.permissionCodes(),
+        graph.permissionIds(),
+        graph.roles(),
+        UserRoleShards.of(userRoles),
+        version);
+  }
+
+  /**
+   * 替换角色图，复用用户角色关联
+   *
+   * @param graph 新角色图
+   * @param newVersion 新版本号
+   * @return 新快照
+   */
+  RbacSnapshot withRoleGraph(RoleGraph graph, long newVersion) {
+    return new RbacSnapshot(
+        graph.permissionCodes(), graph.permissionIds(), graph.roles(), userRoles, newVersion);
+  }
+
+  /**
+   * 替换单个用户的角色关联，复用角色图
+   *
+   * @param userId 用户ID
+   * @param roleIds 角色 ID 列表（为空表示移除该用户）
+   * @param newVersion 新版本号
+   * @return 新快照
+   */
+  RbacSnapshot withUserRoles(String userId, Collection<String> roleIds, long newVersion) {
+    String[] newRoles = roleIds == null || roleIds.isEmpty() ? null : roleIds.toArray(NO_ROLES);
+    return new RbacSnapshot(
+        permissionCodes, permissionIds, roles, userRoles.with(userId, newRoles), newVersion);
+  }
+
+  /**
+   * 判断角色图是否与当前快照相同（权限码顺序、角色代码与角色权限位图均一致）
+   *
+   * @param graph 重新加载的角色图
+   * @return 是否相同
+   */
+  boolean hasSameRoleGraph(RoleGraph graph) {
+    return Arrays.equals(permissionCodes, graph.permissionCodes()) && roles.equals(graph.roles());
+  }
+
+  /**
+   * 判断全部用户角色关联是否与当前快照相同
+   *
+   * @param userRoles 重新加载的用户 ID -> 角色 ID（角色 ID 已排序）
+   * @return 是否相同
+   */
+  boolean hasSameUserRoles(Map<String, String[]> userRoles) {
+    return this.userRoles.contentEquals(userRoles);
+  }
+
+  /**
+   * 判断单个用户的角色关联是否与当前快照相同
+   *
+   * @param userId 用户ID
+   * @param roleIds 重新加载的角色 ID（已排序）
+   * @return 是否相同
+   */
+  boolean hasSameUserRoles(String userId, Collection<String> roleIds) {
+    return Arrays.equals(userRoles.getOrDefault(userId), roleIds.toArray(NO_ROLES));
+  }
+
+  /**
+   * 查询用户的有效角色代码
+   *
+   * @param userId 用户ID
+   * @return 角色代码列表
+   */
+  public List<String> roleCodesOf(String userId) {
+    String[] roleIds = userRoles.getOrDefault(userId);
+    List<String> codes = new ArrayList<>(roleIds.length);
+    for (String roleId : roleIds) {
+      RoleNode role = roles.get(roleId);
+      if (role != null) {
+        codes.add(role.roleCode());
+      }
+    }
+    return codes;
+  }
+
+  /**
+   * 计算用户的有效权限位图（各有效角色位图按位或）
+   *
+   * @param userId 用户ID
+   * @return 权限位图（调用方独占，可修改）
+   */
+  public BitSet permissionBitsOf(String userId) {
+    BitSet bits = new BitSet(permissionCodes.length);
+    for (String roleId : userRoles.getOrDefault(userId)) {
+      RoleNode role = roles.get(roleId);
+      if (role != null) {
+        bits.or(role.permissions());
+      }
+    }
+    return bits;
+  }
+
+  /**
+   * 查询用户的有效权限代码（已去重，按权限码排序）
+   *
+   * @param userId 用户ID
+   * @return 权限代码列表
+   */
+  public List<String> permissionCodesOf(String userId) {
+    BitSet bits = permissionBitsOf(userId);
+    List<String> codes = new ArrayList<>(bits.cardinality());
+    for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+      codes.add(permissionCodes[i]);
+    }
+    return codes;
+  }
+
+  /**
+   * 判断权限位图是否包含指定权限码
+   *
+   * @param bits 由 {@link #permissionBitsOf} 得到的位图
+   * @param permissionCode 权限码
+   * @return 是否包含；权限码不存在或已停用时返回 false
+   */
+  public boolean hasPermission(BitSet bits, String permissionCode) {
+    Integer id = permissionIds.get(permissionCode);
+    return id != null && bits.get(id);
+  }
+
+  /**
+   * 获取快照版本号
+   *
+   * @return 版本号
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * 获取有效权限数量
+   *
+   * @return 权限数量
+   */
+  public int getPermissionCount() {
+    return permissionCodes.length;
+  }
+
+  /**
+   * 获取有效角色数量
+   *
+   * @return 角色数量
+   */
+  public int getRoleCount() {
+    return roles.size();
+  }
+
+  /**
+   * 获取拥有角色关联的用户数量
+   *
+   * @return 用户数量
+   */
+  public int getUserCount() {
+    return userRoles.size();
+  }
+
+  /**
+   * 按 userId 哈希分片的用户角色关联（不可变）
+   *
+   * <p>分片数在全量构建时按用户数确定（2 的幂，每片约 {@value #TARGET_SHARD_SIZE} 个用户），
+   * 单用户变更复制分片数组与所在分片，其余分片在新旧快照间共享。
+   */
+  static final class UserRoleShards {
+
+    private static final int MIN_SHARDS = 16;
+    private static final int TARGET_SHARD_SIZE = 1024;
+
+    private final Map<String, String[]>[] shards;
+    private final int size;
+
+    private UserRoleShards(Map<String, String[]>[] shards, int size) {
+      this.shards = shards;
+      this.size = size;
+    }
+
+    /**
+     * 由完整映射构建分片
+     *
+     * @param userRoles 用户 ID -> 角色 ID
+     * @return 分片映射
+     */
+    @SuppressWarnings("unchecked")
+    static UserRoleShards of(Map<String, String[]> userRoles) {
+      int shardCount = shardCountFor(userRoles.size());
+      List<Map<String, String[]>> building = new ArrayList<>(shardCount);
+      for (int i = 0; i < shardCount; i++) {
+        building.add(new HashMap<>());
+      }
+      userRoles.forEach(
+          (userId, roleIds) -> building.get(indexOf(userId, shardCount)).put(userId, roleIds));
+      Map<String, String[]>[] shards = new Map[shardCount];
+      for (int i = 0; i < shardCount; i++) {
+        shards[i] = Collections.unmodifiableMap(building.get(i));
+      }
+      return new UserRoleShards(shards, userRoles.size());
+    }
+
+    String[] getOrDefault(String userId) {
+      return shards[indexOf(userId, shards.length)].getOrDefault(userId, NO_ROLES);
+    }
+
+    /**
+     * 替换单个用户的角色关联，只复制其所在分片
+     *
+     * @param userId 用户ID
+     * @param roleIds 角色 ID（为 null 表示移除该用户）
+     * @return 新的分片映射
+     */
+    UserRoleShards with(String userId, String[] roleIds) {
+      int index = indexOf(userId, shards.length);
+      Map<String, String[]> shard = new HashMap<>(shards[index]);
+      if (roleIds == null) {
+        shard.remove(userId);
+      } else {
+        shard.put(userId, roleIds);
+      }
+      Map<String, String[]>[] copy = shards.clone();
+      copy[index] = Collections.unmodifiableMap(shard);
+      return new UserRoleShards(copy, size - shards[index].size() + shard.size());
+    }
+
+    int size() {
+      return size;
+    }
+
+    /**
+     * 判断与完整映射的内容是否相同
+     *
+     * @param userRoles 用户 ID -> 角色 ID
+     * @return 是否相同
+     */
+    boolean contentEquals(Map<String, String[]> userRoles) {
+      if (userRoles.size() != size) {
+        return false;
+      }
+      for (Map.Entry<String, String[]> entry : userRoles.entrySet()) {
+        if (!Arrays.equals(getOrDefault(entry.getKey()), entry.getValue())) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static int shardCountFor(int users) {
+      int shardCount = MIN_SHARDS;
+      while (shardCount < users / TARGET_SHARD_SIZE) {
+        shardCount <<= 1;
+      }
+      return shardCount;
+    }
+
+    private static int indexOf(String userId, int shardCount) {
+      int h = userId.hashCode();
+      return (h ^ (h >>> 16)) & (shardCount - 1);
+    }
+  }
+
+  /**
+   * 角色节点
+   *
+   * @param roleCode 角色代码
+   * @param permissions 权限位图（构建后只读）
+   */
+  record RoleNode(String roleCode, BitSet permissions) {}
+
+  /**
+   * 角色图（权限码映射 + 有效角色的权限位图）
+   *
+   * @param permissionCodes 权限 ID -> 权限码
+   * @param permissionIds 权限码 -> 权限 ID
+   * @param roles 有效角色 ID -> 角色节点
+   */
+  record RoleGraph(
+      String[] permissionCodes, Map<String, Integer> permissionIds, Map<String, RoleNode> roles) {}
+}
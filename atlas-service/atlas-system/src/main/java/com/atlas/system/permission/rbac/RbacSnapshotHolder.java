@@ -0,0 +1,266 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.permission.rbac;
+
+import com.atlas.system.config.SystemProperties;
+import com.atlas.system.permission.event.AuthoritiesChangedEvent;
+import com.atlas.system.permission.mapper.PermissionMapper;
+import com.atlas.system.permission.model.entity.Permission;
+import com.atlas.system.role.mapper.RoleMapper;
+import com.atlas.system.role.mapper.RolePermissionMapper;
+import com.atlas.system.role.model.entity.Role;
+import com.atlas.system.role.model.entity.RolePermission;
+import com.atlas.system.user.mapper.UserRoleMapper;
+import com.atlas.system.user.model.entity.UserRole;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * RBAC 快照持有者
+ *
+ * <p>负责构建并原子替换 {@link RbacSnapshot}，使权限查询与菜单过滤在读路径上不访问数据库。
+ *
+ * <p>更新策略：
+ *
+ * <ul>
+ *   <li>应用就绪后全量构建；构建完成前 {@link #current()} 返回 null，调用方回退到数据库查询
+ *   <li>单个用户的角色关联变更：只重新加载该用户的关联，复用角色图
+ *   <li>角色权限关联、角色或权限状态变更：重新加载角色图，复用用户关联
+ *   <li>周期性全量重建，兜底多实例部署下其他实例的变更
+ * </ul>
+ *
+ * <p>所有重建串行执行，并在事务提交后触发，新快照构建完成后才替换，读取方始终看到完整一致的快照。
+ * 重新加载的内容与当前快照相同时保留当前快照，版本号只在内容变化时递增（快照被丢弃后重建也不会回退），
+ * 因此周期性重建不会使基于版本号的 ETag 失效。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RbacSnapshotHolder {
+
+  private final SystemProperties systemProperties;
+  private final RoleMapper roleMapper;
+  private final PermissionMapper permissionMapper;
+  private final RolePermissionMapper rolePermissionMapper;
+  private final UserRoleMapper userRoleMapper;
+
+  private final AtomicReference<RbacSnapshot> snapshot = new AtomicReference<>();
+  private final AtomicLong versions = new AtomicLong();
+  private final Object rebuildLock = new Object();
+  private volatile ScheduledExecutorService refreshExecutor;
+
+  /**
+   * 获取当前快照
+   *
+   * @return 当前快照；未启用或尚未构建完成时返回 null
+   */
+  public RbacSnapshot current() {
+    return snapshot.get();
+  }
+
+  /** 应用就绪后全量构建，并按配置启动周期性重建 */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    SystemProperties.RbacConfig config = systemProperties.getRbac();
+    if (!config.isSnapshotEnabled()) {
+      log.info("RBAC 快照未启用，权限查询将直接访问数据库");
+      return;
+    }
+    rebuildAll();
+    if (config.getRefreshSeconds() > 0) {
+      refreshExecutor =
+          Executors.newSingleThreadScheduledExecutor(
+              r -> {
+                Thread thread = new Thread(r, "rbac-snapshot-refresh");
+                thread.setDaemon(true);
+                return thread;
+              });
+      refreshExecutor.scheduleWithFixedDelay(
+          this::rebuildAll,
+          config.getRefreshSeconds(),
+          config.getRefreshSeconds(),
+          TimeUnit.SECONDS);
+    }
+  }
+
+  /** 停止周期性重建 */
+  @PreDestroy
+  public void destroy() {
+    if (refreshExecutor != null) {
+      refreshExecutor.shutdownNow();
+    }
+  }
+
+  /**
+   * 处理权限变更事件（事务提交后执行；无事务时立即执行）
+   *
+   * @param event 权限变更事件
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onAuthoritiesChanged(AuthoritiesChangedEvent event) {
+    try {
+      if (event.userId() == null) {
+        rebuildRoleGraph();
+      } else {
+        reloadUser(event.userId());
+      }
+    } catch (RuntimeException e) {
+      // 重建失败时丢弃快照，回退到数据库查询，直到下一次全量重建成功
+      snapshot.set(null);
+      log.error("RBAC 快照增量更新失败，已回退到数据库查询: reason={}", event.reason(), e);
+    }
+  }
+
+  /** 全量重建快照 */
+  public void rebuildAll() {
+    synchronized (rebuildLock) {
+      try {
+        long start = System.nanoTime();
+        RbacSnapshot.RoleGraph graph = loadRoleGraph();
+        Map<String, String[]> userRoles = loadAllUserRoles();
+        RbacSnapshot currentSnapshot = snapshot.get();
+        if (currentSnapshot != null
+            && currentSnapshot.hasSameRoleGraph(graph)
+            && currentSnapshot.hasSameUserRoles(userRoles)) {
+          log.debug(
+              "RBAC 快照内容未变化，保留当前版本: version={}, elapsedMillis={}",
+              currentSnapshot.getVersion(),
+              TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+          return;
+        }
+        RbacSnapshot fresh = RbacSnapshot.of(graph, userRoles, nextVersion());
+        snapshot.set(fresh);
+        log.info(
+            "RBAC 快照已构建: version={}, permissions={}, roles={}, users={}, elapsedMillis={}",
+            fresh.getVersion(),
+            fresh.getPermissionCount(),
+            fresh.getRoleCount(),
+            fresh.getUserCount(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      } catch (RuntimeException e) {
+        log.error("RBAC 快照构建失败，保留当前快照", e);
+      }
+    }
+  }
+
+  private void rebuildRoleGraph() {
+    synchronized (rebuildLock) {
+      RbacSnapshot currentSnapshot = snapshot.get();
+      if (currentSnapshot == null) {
+        return;
+      }
+      RbacSnapshot.RoleGraph graph = loadRoleGraph();
+      if (currentSnapshot.hasSameRoleGraph(graph)) {
+        return;
+      }
+      RbacSnapshot fresh = currentSnapshot.withRoleGraph(graph, nextVersion());
+      snapshot.set(fresh);
+      log.debug("RBAC 快照角色图已重建: version={}", fresh.getVersion());
+    }
+  }
+
+  private void reloadUser(String userId) {
+    synchronized (rebuildLock) {
+      RbacSnapshot currentSnapshot = snapshot.get();
+      if (currentSnapshot == null) {
+        return;
+      }
+      List<String> roleIds =
+          userRoleMapper.selectLinksByUserId(userId).stream()
+              .map(UserRole::getRoleId)
+              .sorted()
+              .collect(Collectors.toList());
+      if (currentSnapshot.hasSameUserRoles(userId, roleIds)) {
+        return;
+      }
+      RbacSnapshot fresh = currentSnapshot.withUserRoles(userId, roleIds, nextVersion());
+      snapshot.set(fresh);
+      log.debug("RBAC 快照用户角色已更新: userId={}, version={}", userId, fresh.getVersion());
+    }
+  }
+
+  private long nextVersion() {
+    return versions.incrementAndGet();
+  }
+
+  /**
+   * 加载角色图：有效权限按权限码排序后分配连续 ID，有效角色的权限集合转为位图
+   *
+   * @return 角色图
+   */
+  private RbacSnapshot.RoleGraph loadRoleGraph() {
+    List<Permission> permissions =
+        permissionMapper.selectList(
+            new LambdaQueryWrapper<Permission>()
+                .eq(Permission::getStatus, "ACTIVE")
+                .orderByAsc(Permission::getPermissionCode));
+    String[] permissionCodes = new String[permissions.size()];
+    Map<String, Integer> permissionIdsByCode = new HashMap<>(permissions.size() * 2);
+    Map<String, Integer> permissionIdsByKey = new HashMap<>(permissions.size() * 2);
+    for (int i = 0; i < permissions.size(); i++) {
+      Permission permission = permissions.get(i);
+      permissionCodes[i] = permission.getPermissionCode();
+      permissionIdsByCode.put(permission.getPermissionCode(), i);
+      permissionIdsByKey.put(permission.getPermissionId(), i);
+    }
+
+    List<Role> roles =
+        roleMapper.selectList(new LambdaQueryWrapper<Role>().eq(Role::getStatus, "ACTIVE"));
+    Map<String, BitSet> bitsByRole = new HashMap<>(roles.size() * 2);
+    for (RolePermission link : rolePermissionMapper.selectAllActiveLinks()) {
+      Integer id = permissionIdsByKey.get(link.getPermissionId());
+      if (id != null) {
+        bitsByRole
+            .computeIfAbsent(link.getRoleId(), k -> new BitSet(permissionCodes.length))
+            .set(id);
+      }
+    }
+    Map<String, RbacSnapshot.RoleNode> roleNodes = new HashMap<>(roles.size() * 2);
+    for (Role role : roles) {
+      BitSet bits = bitsByRole.getOrDefault(role.getRoleId(), new BitSet(0));
+      roleNodes.put(role.getRoleId(), new RbacSnapshot.RoleNode(role.getRoleCode(), bits));
+    }
+    return new RbacSnapshot.RoleGraph(
+        permissionCodes,
+        Collections.unmodifiableMap(permissionIdsByCode),
+        Collections.unmodifiableMap(roleNodes));
+  }
+
+  private Map<String, String[]> loadAllUserRoles() {
+    Map<String, List<String>> grouped = new HashMap<>();
+    for (UserRole link : userRoleMapper.selectAllActiveLinks()) {
+      grouped.computeIfAbsent(link.getUserId(), k -> new ArrayList<>(2)).add(link.getRoleId());
+    }
+    Map<String, String[]> userRoles = new HashMap<>(grouped.size() * 2);
+    // 角色 ID 排序，使内容比较与数据库返回顺序无关
+    grouped.forEach(
+        (userId, roleIds) -> {
+          String[] sorted = roleIds.toArray(new String[0]);
+          Arrays.sort(sorted);
+          userRoles.put(userId, sorted);
+        });
+    return userRoles;
+  }
+}
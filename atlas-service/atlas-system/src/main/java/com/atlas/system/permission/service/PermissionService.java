@@ -8,6 +8,8 @@ import com.atlas.system.permission.model.dto.PermissionCreateDTO;
 import com.atlas.system.permission.model.dto.PermissionQueryDTO;
 import com.atlas.system.permission.model.dto.PermissionUpdateDTO;
 import com.atlas.system.permission.model.vo.PermissionListVO;
+import com.atlas.system.util.ExportFormat;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -110,4 +112,17 @@ public interface PermissionService {
    * @return 分页结果
    */
   PageResult<PermissionListVO> listPermissionsPage(PermissionQueryDTO query);
+
+  /**
+   * 流式导出权限
+   *
+   * <p>过滤条件同分页查询（permissionCode、permissionName、status），忽略分页与排序参数；按创建时间顺序以数据库游标逐行写出，
+   * 内存占用与数据量无关，不执行 COUNT。
+   *
+   * @param query 查询条件（可为 null）
+   * @param format 导出格式
+   * @param out 输出流（不会被关闭）
+   * @return 导出行数
+   */
+  long exportPermissions(PermissionQueryDTO query, ExportFormat format, OutputStream out);
 }
@@ -4,21 +4,37 @@ package com.atlas.system.permission.service.impl;
 import com.atlas.common.feature.core.exception.BusinessException;
 import com.atlas.common.feature.core.page.PageResult;
 import com.atlas.system.api.v1.model.dto.UserAuthoritiesDTO;
+import com.atlas.system.config.SystemProperties;
 import com.atlas.system.constant.SystemErrorCode;
+import com.atlas.system.permission.cache.UserAuthoritiesCache;
+import com.atlas.system.permission.convert.PermissionConverter;
+import com.atlas.system.permission.event.AuthoritiesChangedEvent;
 import com.atlas.system.permission.mapper.PermissionMapper;
 import com.atlas.system.permission.model.dto.PermissionCreateDTO;
 import com.atlas.system.permission.model.dto.PermissionQueryDTO;
 import com.atlas.system.permission.model.dto.PermissionUpdateDTO;
 import com.atlas.system.permission.model.entity.Permission;
 import com.atlas.system.permission.model.vo.PermissionListVO;
+import com.atlas.system.permission.rbac.RbacSnapshot;
+import com.atlas.system.permission.rbac.RbacSnapshotHolder;
 import com.atlas.system.permission.service.PermissionService;
 import com.atlas.system.role.mapper.RolePermissionMapper;
 import com.atlas.system.user.mapper.UserMapper;
 import com.atlas.system.user.mapper.UserRoleMapper;
+import com.atlas.system.user.model.dto.UserAuthoritiesRowDTO;
+import com.atlas.system.util.CursorExporter;
+import com.atlas.system.util.ExportFormat;
+import com.atlas.system.util.PageCountCache;
+import com.atlas.system.util.QueryFilters;
 import com.atlas.system.util.SortHelper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -27,7 +43,8 @@ import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -57,6 +74,13 @@ public class PermissionServiceImpl implements PermissionService {
   private final UserRoleMapper userRoleMapper;
   private final RolePermissionMapper rolePermissionMapper;
   private final PermissionMapper permissionMapper;
+  private final UserAuthoritiesCache userAuthoritiesCache;
+  private final RbacSnapshotHolder rbacSnapshotHolder;
+  private final SystemProperties systemProperties;
+  private final PageCountCache pageCountCache;
+  private final ObjectMapper objectMapper;
+  private final PermissionConverter permissionConverter;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * 查询用户角色列表
@@ -66,6 +90,10 @@ public class PermissionServiceImpl implements PermissionService {
    */
   @Override
   public List<String> getRolesByUserId(String userId) {
+    RbacSnapshot snapshot = rbacSnapshotHolder.current();
+    if (snapshot != null) {
+      return snapshot.roleCodesOf(userId);
+    }
     // 检查用户是否存在
     if (userMapper.selectById(userId) == null) {
       return Collections.emptyList();
@@ -83,6 +111,10 @@ public class PermissionServiceImpl implements PermissionService {
    */
   @Override
   public List<String> getPermissionsByUserId(String userId) {
+    RbacSnapshot snapshot = rbacSnapshotHolder.current();
+    if (snapshot != null) {
+      return snapshot.permissionCodesOf(userId);
+    }
     // 检查用户是否存在
     if (userMapper.selectById(userId) == null) {
       return Collections.emptyList();
@@ -100,26 +132,46 @@ public class PermissionServiceImpl implements PermissionService {
   /**
    * 查询用户完整权限信息（角色+权限）
    *
-   * <p>仅做一次用户存在性检查，再分别查询角色码与权限码，避免重复 DB 往返。
+   * <p>RBAC 快照可用时直接基于快照求值；否则读取本地权限缓存，未命中时查询数据库并写入缓存， 缓存在角色/权限变更后由事件失效。
    *
    * @param userId 用户ID
    * @return 用户权限信息 DTO
    */
   @Override
   public UserAuthoritiesDTO getAuthoritiesByUserId(String userId) {
+    RbacSnapshot snapshot = rbacSnapshotHolder.current();
+    if (snapshot != null) {
+      UserAuthoritiesDTO dto = new UserAuthoritiesDTO();
+      dto.setUserId(userId);
+      dto.setRoles(snapshot.roleCodesOf(userId));
+      dto.setPermissions(snapshot.permissionCodesOf(userId));
+      return dto;
+    }
+    return userAuthoritiesCache.get(userId, this::loadAuthorities);
+  }
+
+  /**
+   * 从数据库加载用户完整权限信息
+   *
+   * <p>单条 SQL（CTE + array_agg）同时返回用户存在性、角色码与去重后的权限码，只需一次 DB 往返。
+   *
+   * @param userId 用户ID
+   * @return 用户权限信息 DTO
+   */
+  private UserAuthoritiesDTO loadAuthorities(String userId) {
     UserAuthoritiesDTO dto = new UserAuthoritiesDTO();
     dto.setUserId(userId);
     dto.setRoles(new ArrayList<>());
     dto.setPermissions(new ArrayList<>());
-    if (userMapper.selectById(userId) == null) {
+    UserAuthoritiesRowDTO row = userRoleMapper.selectAuthoritiesByUserId(userId);
+    if (row == null || !row.isUserExists()) {
       return dto;
     }
-    List<String> roleCodes = userRoleMapper.selectRoleCodesByUserId(userId);
-    dto.setRoles(Optional.ofNullable(roleCodes).orElse(Collections.emptyList()));
-    List<String> roleIds = userRoleMapper.selectRoleIdsByUserId(userId);
-    if (roleIds != null && !roleIds.isEmpty()) {
-      List<String> permissionCodes = rolePermissionMapper.selectPermissionCodesByRoleIds(roleIds);
-      dto.setPermissions(Optional.ofNullable(permissionCodes).orElse(Collections.emptyList()));
+    if (row.getRoleCodes() != null) {
+      dto.setRoles(new ArrayList<>(Arrays.asList(row.getRoleCodes())));
+    }
+    if (row.getPermissionCodes() != null) {
+      dto.setPermissions(new ArrayList<>(Arrays.asList(row.getPermissionCodes())));
     }
     return dto;
   }
@@ -150,6 +202,7 @@ public class PermissionServiceImpl implements PermissionService {
     permission.setStatus("ACTIVE");
     // 保存权限（createdAt/updatedAt 由 AuditMetaObjectHandler 填充）
     permissionMapper.insert(permission);
+    pageCountCache.invalidate("sys_permission");
     return permission.getPermissionId();
   }
 
@@ -159,7 +212,7 @@ public class PermissionServiceImpl implements PermissionService {
     if (permission == null || "DELETED".equals(permission.getStatus())) {
       throw new BusinessException(SystemErrorCode.PERMISSION_NOT_FOUND, "权限不存在");
     }
-    return convertToListVO(permission);
+    return permissionConverter.toListVO(permission);
   }
 
   @Override
@@ -179,6 +232,10 @@ public class PermissionServiceImpl implements PermissionService {
       permission.setStatus(permissionUpdateDTO.getStatus());
     }
     permissionMapper.updateById(permission);
+    pageCountCache.invalidate("sys_permission");
+    if (permissionUpdateDTO.getStatus() != null) {
+      eventPublisher.publishEvent(AuthoritiesChangedEvent.ofAll("permission status changed"));
+    }
   }
 
   @Override
@@ -190,6 +247,8 @@ public class PermissionServiceImpl implements PermissionService {
     }
     permission.setStatus("DELETED");
     permissionMapper.updateById(permission);
+    pageCountCache.invalidate("sys_permission");
+    eventPublisher.publishEvent(AuthoritiesChangedEvent.ofAll("permission deleted"));
   }
 
   /**
@@ -204,8 +263,89 @@ public class PermissionServiceImpl implements PermissionService {
     int pageSize = Optional.ofNullable(query).map(PermissionQueryDTO::getSizeSafe).orElse(10);
     String sort = Optional.ofNullable(query).map(PermissionQueryDTO::getSort).orElse(null);
 
+    LambdaQueryWrapper<Permission> wrapper = buildListWrapper(query);
+    if (query != null && query.isCursorPaging()) {
+      // 游标分页：按 (created_at, id) seek，不执行 OFFSET 与 COUNT
+      byte[] key = systemProperties.getPage().resolveCursorKey();
+      boolean asc =
+          SortHelper.applyKeyset(
+              wrapper, PERMISSION_KEYSET, sort, query.getCursor(), pageSize, key);
+      SortHelper.KeysetPage<Permission> keysetPage =
+          SortHelper.toKeysetPage(
+              permissionMapper.selectList(wrapper), PERMISSION_KEYSET, pageSize, asc, key);
+      List<PermissionListVO> list =
+          keysetPage.records().stream().map(permissionConverter::toListVO).collect(Collectors.toList());
+      return PageResult.ofCursor(list, pageSize, keysetPage.nextCursor());
+    }
+    // 总数在排序之前统计（COUNT 不需要 ORDER BY），按过滤条件缓存
+    PageCountCache.Total total = null;
+    if (query == null || query.isTotalRequired()) {
+      String filterKey =
+          Optional.ofNullable(query)
+              .map(
+                  q ->
+                      PageCountCache.filterKey(
+                          "permissionCode",
+                          q.getPermissionCode(),
+                          "permissionName",
+                          q.getPermissionName(),
+                          "status",
+                          q.getStatus()))
+              .orElse("");
+      total =
+          pageCountCache.count(
+              "sys_permission", filterKey, () -> permissionMapper.selectCount(wrapper), null);
+    }
+    String permissionCode =
+        Optional.ofNullable(query)
+            .map(PermissionQueryDTO::getPermissionCode)
+            .filter(StringUtils::hasText)
+            .orElse("");
+    String permissionName =
+        Optional.ofNullable(query)
+            .map(PermissionQueryDTO::getPermissionName)
+            .filter(StringUtils::hasText)
+            .orElse("");
+    Page<Permission> pageReq = new Page<>(pageNum, pageSize, false);
+    Page<Permission> resultPage;
+    if ((!permissionCode.isEmpty() || !permissionName.isEmpty()) && !StringUtils.hasText(sort)) {
+      // 有搜索词且未指定排序：按相似度排序，最接近的结果排在前面
+      resultPage =
+          permissionMapper.selectPageOrderBySimilarity(
+              pageReq, wrapper, permissionCode, permissionName);
+    } else {
+      applySort(wrapper, sort);
+      resultPage = permissionMapper.selectPage(pageReq, wrapper);
+    }
+    List<PermissionListVO> list =
+        resultPage.getRecords().stream().map(permissionConverter::toListVO).collect(Collectors.toList());
+    if (total == null) {
+      return PageResult.ofWithoutTotal(list, pageNum, pageSize);
+    }
+    PageResult<PermissionListVO> result = PageResult.of(list, total.value(), pageNum, pageSize);
+    result.setTotalEstimated(total.estimated());
+    return result;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long exportPermissions(PermissionQueryDTO query, ExportFormat format, OutputStream out) {
+    try (Cursor<Permission> cursor = permissionMapper.selectExportCursor(buildListWrapper(query))) {
+      return CursorExporter.write(cursor, format, PERMISSION_EXPORT_COLUMNS, objectMapper, out);
+    } catch (IOException e) {
+      throw new UncheckedIOException("导出权限失败", e);
+    }
+  }
+
+  /**
+   * 构建列表过滤条件（分页查询与导出共用）
+   *
+   * @param query 查询条件（可为 null）
+   * @return 查询包装器（不含排序）
+   */
+  private LambdaQueryWrapper<Permission> buildListWrapper(PermissionQueryDTO query) {
     LambdaQueryWrapper<Permission> wrapper = new LambdaQueryWrapper<>();
-    wrapper.ne(Permission::getStatus, "DELETED");
+    QueryFilters.notDeleted(wrapper);
     Optional.ofNullable(query)
         .ifPresent(
             q -> {
@@ -216,18 +356,26 @@ public class PermissionServiceImpl implements PermissionService {
               if (StringUtils.hasText(q.getStatus()))
                 wrapper.eq(Permission::getStatus, q.getStatus());
             });
-    applySort(wrapper, sort);
-
-    Page<Permission> pageReq = new Page<>(pageNum, pageSize);
-    Page<Permission> resultPage = permissionMapper.selectPage(pageReq, wrapper);
-    List<PermissionListVO> list =
-        resultPage.getRecords().stream().map(this::convertToListVO).collect(Collectors.toList());
-    return PageResult.of(list, resultPage.getTotal(), pageNum, pageSize);
+    return wrapper;
   }
 
+  /** 导出列（与列表 VO 字段一致，不含密码等敏感字段） */
+  private static final List<CursorExporter.Column<Permission>> PERMISSION_EXPORT_COLUMNS =
+      List.of(
+          new CursorExporter.Column<>("permissionId", Permission::getPermissionId),
+          new CursorExporter.Column<>("permissionCode", Permission::getPermissionCode),
+          new CursorExporter.Column<>("permissionName", Permission::getPermissionName),
+          new CursorExporter.Column<>("description", Permission::getDescription),
+          new CursorExporter.Column<>("status", Permission::getStatus),
+          new CursorExporter.Column<>("createdAt", Permission::getCreatedAt));
+
   private static final Map<String, BiConsumer<LambdaQueryWrapper<Permission>, Boolean>>
       PERMISSION_SORT_FIELDS = new HashMap<>();
 
+  private static final SortHelper.KeysetSpec<Permission> PERMISSION_KEYSET =
+      new SortHelper.KeysetSpec<>(
+          Permission::getCreatedAt, "created_at", Permission::getPermissionId, "permission_id");
+
   static {
     PERMISSION_SORT_FIELDS.put(
         "permissioncode", (w, asc) -> w.orderBy(true, asc, Permission::getPermissionCode));
@@ -244,17 +392,4 @@ public class PermissionServiceImpl implements PermissionService {
     SortHelper.applySort(
         wrapper, sort, w -> w.orderByDesc(Permission::getCreatedAt), PERMISSION_SORT_FIELDS);
   }
-
-  /**
-   * 将 Permission 实体转换为 PermissionListVO（原则 20：使用 BeanUtils）
-   *
-   * @param permission 权限实体
-   * @return 列表项 VO
-   */
-  private PermissionListVO convertToListVO(Permission permission) {
-    PermissionListVO vo = new PermissionListVO();
-    BeanUtils.copyProperties(permission, vo);
-    vo.setCreatedAt(permission.getCreatedAt());
-    return vo;
-  }
 }
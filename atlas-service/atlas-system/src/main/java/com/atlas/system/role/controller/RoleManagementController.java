@@ -6,10 +6,18 @@ import com.atlas.common.feature.core.result.Result;
 import com.atlas.system.role.model.dto.RoleCreateDTO;
 import com.atlas.system.role.model.dto.RoleQueryDTO;
 import com.atlas.system.role.model.dto.RoleUpdateDTO;
+import com.atlas.system.role.model.enums.PermissionAssignMode;
 import com.atlas.system.role.model.vo.RoleListVO;
 import com.atlas.system.role.service.RoleService;
+import com.atlas.system.util.ExportFormat;
+import com.atlas.system.util.ExportRunner;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.IOException;
+import java.util.List;
+import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,6 +26,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -29,11 +38,13 @@ import org.springframework.web.bind.annotation.RestController;
  *
  * <ul>
  *   <li>GET /api/v1/roles：分页查询角色列表（参数：page、size、sort、roleCode、roleName、status）
+ *   <li>GET /api/v1/roles/export：流式导出角色（参数：format=ndjson|csv，过滤参数同分页查询）
  *   <li>GET /api/v1/roles/{roleId}：角色详情
  *   <li>POST /api/v1/roles：创建角色
  *   <li>PUT /api/v1/roles/{roleId}：更新角色
  *   <li>DELETE /api/v1/roles/{roleId}：逻辑删除角色
  *   <li>POST /api/v1/roles/{roleId}/permissions：为角色分配权限
+ *   <li>PUT /api/v1/roles/{roleId}/permissions：批量设置、追加或移除角色权限（请求体 mode、permissionIds）
  *   <li>DELETE /api/v1/roles/{roleId}/permissions/{permissionId}：移除角色权限关联
  * </ul>
  *
@@ -48,6 +59,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class RoleManagementController {
 
   private final RoleService roleService;
+  private final ExportRunner exportRunner;
 
   /**
    * 分页查询角色列表
@@ -64,6 +76,28 @@ public class RoleManagementController {
     return Result.success(result);
   }
 
+  /**
+   * 流式导出角色
+   *
+   * <p>过滤条件同分页查询（roleCode、roleName、status），以数据库游标逐行写入响应，内存占用与数据量无关，不执行 COUNT。
+   * 响应不使用 {@link Result} 包装；同时执行的导出数与导出时长受限（见 {@link ExportRunner}）。
+   *
+   * @param query 过滤条件
+   * @param format 导出格式（ndjson 或 csv，默认 ndjson）
+   * @param response HTTP 响应
+   * @throws IOException 如果获取响应输出流失败
+   */
+  @GetMapping("/roles/export")
+  public void exportRoles(
+      RoleQueryDTO query,
+      @RequestParam(required = false) String format,
+      HttpServletResponse response)
+      throws IOException {
+    ExportFormat exportFormat = ExportFormat.of(format);
+    exportRunner.run(
+        "roles", exportFormat, response, out -> roleService.exportRoles(query, exportFormat, out));
+  }
+
   /**
    * 根据角色ID查询角色详情
    *
@@ -132,6 +166,23 @@ public class RoleManagementController {
     return Result.success(null);
   }
 
+  /**
+   * 批量更新角色权限
+   *
+   * <p>mode 为 SET 时角色权限替换为 permissionIds（须显式传空列表才会清空）；ADD 追加；REMOVE 移除。
+   * 全部变更在同一事务内完成，任一待新增的权限不存在时整体失败。
+   *
+   * @param roleId 角色ID
+   * @param request 请求体，含 mode 与 permissionIds（均必填）
+   * @return 操作结果
+   */
+  @PutMapping("/roles/{roleId}/permissions")
+  public Result<Void> updateRolePermissions(
+      @PathVariable String roleId, @Valid @RequestBody UpdatePermissionsRequest request) {
+    roleService.updateRolePermissions(roleId, request.getMode(), request.getPermissionIds());
+    return Result.success(null);
+  }
+
   /**
    * 移除角色与权限的关联
    *
@@ -159,4 +210,17 @@ public class RoleManagementController {
       this.permissionId = permissionId;
     }
   }
+
+  /** 批量更新权限请求对象 */
+  @Data
+  public static class UpdatePermissionsRequest {
+    /** 分配模式，必填（不提供默认值，避免漏传时按 SET 清空角色权限） */
+    @NotNull(message = "分配模式不能为空")
+    private PermissionAssignMode mode;
+
+    /** 权限ID列表，必填；SET 模式下传空列表表示清空。上限保证多行 INSERT 的绑定参数数远低于驱动限制 */
+    @NotNull(message = "权限ID列表不能为空")
+    @Size(max = 1000, message = "单次最多更新 1000 个权限")
+    private List<String> permissionIds;
+  }
 }
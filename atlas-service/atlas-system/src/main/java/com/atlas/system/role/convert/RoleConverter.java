@@ -0,0 +1,25 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.role.convert;
+
+import com.atlas.system.role.model.entity.Role;
+import com.atlas.system.role.model.vo.RoleListVO;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+
+/**
+ * 角色对象转换器
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface RoleConverter {
+
+  /**
+   * 将 Role 实体转换为 RoleListVO
+   *
+   * @param role 角色实体
+   * @return 列表项 VO
+   */
+  RoleListVO toListVO(Role role);
+}
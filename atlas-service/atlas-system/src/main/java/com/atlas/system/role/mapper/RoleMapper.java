@@ -2,16 +2,71 @@
 package com.atlas.system.role.mapper;
 
 import com.atlas.system.role.model.entity.Role;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
 /**
  * 角色 Mapper 接口
  *
  * <p>提供角色数据访问方法，继承 MyBatis-Plus 的 BaseMapper 提供基础 CRUD 功能。
  *
+ * <p>自定义查询方法：
+ *
+ * <ul>
+ *   <li>selectPageOrderBySimilarity：按角色代码/名称与搜索词的相似度排序分页
+ *   <li>selectExportCursor：以游标流式读取角色（用于导出）
+ * </ul>
+ *
  * @author Atlas Team
  * @since 1.0.0
  */
 @Mapper
-public interface RoleMapper extends BaseMapper<Role> {}
+public interface RoleMapper extends BaseMapper<Role> {
+
+  /**
+   * 按相似度排序分页查询角色
+   *
+   * <p>过滤条件由 wrapper 提供（LIKE 由 pg_trgm 索引支持），按角色代码、角色名称与搜索词的相似度取较大值倒序排列。
+   *
+   * @param page 分页参数
+   * @param wrapper 过滤条件（不含排序）
+   * @param roleCode 角色代码搜索词（未指定时传空字符串）
+   * @param roleName 角色名称搜索词（未指定时传空字符串）
+   * @return 分页结果
+   */
+  @Select(
+      "<script>SELECT * FROM sys_role WHERE deleted = 0"
+          + "<if test='ew.nonEmptyOfNormal'> AND ${ew.sqlSegment}</if>"
+          + " ORDER BY GREATEST(similarity(role_code, #{roleCode}),"
+          + " similarity(role_name, #{roleName})) DESC, role_id</script>")
+  Page<Role> selectPageOrderBySimilarity(
+      Page<Role> page,
+      @Param(Constants.WRAPPER) Wrapper<Role> wrapper,
+      @Param("roleCode") String roleCode,
+      @Param("roleName") String roleName);
+
+  /**
+   * 以游标流式读取角色
+   *
+   * <p>只查询导出列。按 (created_at, role_id) 排序，与部分索引
+   * idx_role_created_at_id_active 一致，按索引顺序边扫描边返回，无需排序。服务端每次返回 fetchSize 行，须在事务内消费。
+   *
+   * @param wrapper 过滤条件（不含排序）
+   * @return 角色游标
+   */
+  @Select(
+      "<script>SELECT role_id, role_code, role_name, description, status, created_at"
+          + " FROM sys_role WHERE deleted = 0"
+          + "<if test='ew.nonEmptyOfNormal'> AND ${ew.sqlSegment}</if>"
+          + " ORDER BY created_at, role_id</script>")
+  @Options(fetchSize = 1000, resultSetType = ResultSetType.FORWARD_ONLY)
+  Cursor<Role> selectExportCursor(@Param(Constants.WRAPPER) Wrapper<Role> wrapper);
+}
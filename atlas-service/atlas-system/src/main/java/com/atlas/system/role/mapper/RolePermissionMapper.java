@@ -4,6 +4,7 @@ package com.atlas.system.role.mapper;
 import com.atlas.system.role.model.entity.RolePermission;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import java.util.List;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
@@ -17,6 +18,9 @@ import org.apache.ibatis.annotations.Select;
  *
  * <ul>
  *   <li>selectPermissionCodesByRoleIds：根据角色ID列表查询权限代码列表
+ *   <li>selectAllActiveLinks：查询全部有效的角色权限关联（用于构建 RBAC 快照）
+ *   <li>selectPermissionIdsByRoleId：查询角色当前关联的权限ID
+ *   <li>insertLinks：批量建立角色权限关联（单条多行 INSERT）
  * </ul>
  *
  * @author Atlas Team
@@ -44,4 +48,47 @@ public interface RolePermissionMapper extends BaseMapper<RolePermission> {
           + " AND p.status = 'ACTIVE'"
           + "</script>")
   List<String> selectPermissionCodesByRoleIds(@Param("roleIds") List<String> roleIds);
+
+  /**
+   * 查询全部有效的角色权限关联
+   *
+   * <p>仅返回 roleId 与 permissionId，用于在内存中构建 RBAC 快照。
+   *
+   * @return 角色权限关联列表
+   */
+  @Select("SELECT role_id, permission_id FROM sys_role_permission WHERE deleted = 0")
+  List<RolePermission> selectAllActiveLinks();
+
+  /**
+   * 查询角色当前关联的权限ID
+   *
+   * @param roleId 角色ID
+   * @return 权限ID列表（含已停用权限的关联）
+   */
+  @Select("SELECT permission_id FROM sys_role_permission WHERE role_id = #{roleId} AND deleted = 0")
+  List<String> selectPermissionIdsByRoleId(@Param("roleId") String roleId);
+
+  /**
+   * 批量建立角色权限关联
+   *
+   * <p>单条多行 INSERT。已存在的有效关联保持不变；已被逻辑删除的关联（uk_role_permission 包含已删除行，
+   * 无法重复插入）恢复为有效。主键与审计字段由 MyBatis-Plus 在执行前为每个元素填充。
+   *
+   * @param links 角色权限关联列表（不能为空）
+   * @return 新增或恢复的关联数
+   */
+  @Insert(
+      "<script>"
+          + "INSERT INTO sys_role_permission "
+          + "(id, role_id, permission_id, deleted, created_at, updated_at, created_by, updated_by) "
+          + "VALUES "
+          + "<foreach collection='list' item='item' separator=','>"
+          + "(#{item.id}, #{item.roleId}, #{item.permissionId}, 0, #{item.createdAt}, "
+          + "#{item.updatedAt}, #{item.createdBy}, #{item.updatedBy})"
+          + "</foreach>"
+          + " ON CONFLICT (role_id, permission_id) DO UPDATE SET deleted = 0, "
+          + "updated_at = EXCLUDED.updated_at, updated_by = EXCLUDED.updated_by "
+          + "WHERE sys_role_permission.deleted = 1"
+          + "</script>")
+  int insertLinks(@Param("list") List<RolePermission> links);
 }
@@ -0,0 +1,21 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.role.model.enums;
+
+/**
+ * 角色权限批量分配模式
+ *
+ * <p>用于 PUT /api/v1/roles/{roleId}/permissions，决定请求中的权限ID列表如何作用于角色现有权限。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+public enum PermissionAssignMode {
+  /** 覆盖：角色权限替换为请求中的列表（不在列表中的现有关联被移除） */
+  SET,
+
+  /** 追加：为角色添加列表中尚未拥有的权限 */
+  ADD,
+
+  /** 移除：移除角色与列表中权限的关联 */
+  REMOVE
+}
@@ -6,7 +6,11 @@ import com.atlas.common.feature.core.page.PageResult;
 import com.atlas.system.role.model.dto.RoleCreateDTO;
 import com.atlas.system.role.model.dto.RoleQueryDTO;
 import com.atlas.system.role.model.dto.RoleUpdateDTO;
+import com.atlas.system.role.model.enums.PermissionAssignMode;
 import com.atlas.system.role.model.vo.RoleListVO;
+import com.atlas.system.util.ExportFormat;
+import java.io.OutputStream;
+import java.util.List;
 
 /**
  * 角色服务接口
@@ -18,6 +22,7 @@ import com.atlas.system.role.model.vo.RoleListVO;
  * <ul>
  *   <li>createRole：创建角色
  *   <li>assignPermissionToRole：为角色分配权限
+ *   <li>updateRolePermissions：批量设置、追加或移除角色权限
  * </ul>
  *
  * @author Atlas Team
@@ -86,6 +91,20 @@ public interface RoleService {
    */
   void removePermissionFromRole(String roleId, String permissionId);
 
+  /**
+   * 批量更新角色权限
+   *
+   * <p>在内存中与角色现有权限求差集，一次查询校验待新增的权限，再以多行 INSERT / 批量逻辑删除落库，
+   * 全部在同一事务内完成；有变更时只发布一次权限变更事件。
+   *
+   * @param roleId 角色ID
+   * @param mode 分配模式（SET 覆盖、ADD 追加、REMOVE 移除）
+   * @param permissionIds 权限ID列表（SET 模式下为空列表表示清空角色权限）
+   * @throws BusinessException 如果角色或任一待新增的权限不存在，错误码：032101 或 032201
+   */
+  void updateRolePermissions(
+      String roleId, PermissionAssignMode mode, List<String> permissionIds);
+
   /**
    * 分页查询角色列表
    *
@@ -96,4 +115,17 @@ public interface RoleService {
    * @return 分页结果
    */
   PageResult<RoleListVO> listRolesPage(RoleQueryDTO query);
+
+  /**
+   * 流式导出角色
+   *
+   * <p>过滤条件同分页查询（roleCode、roleName、status），忽略分页与排序参数；按创建时间顺序以数据库游标逐行写出，
+   * 内存占用与数据量无关，不执行 COUNT。
+   *
+   * @param query 查询条件（可为 null）
+   * @param format 导出格式
+   * @param out 输出流（不会被关闭）
+   * @return 导出行数
+   */
+  long exportRoles(RoleQueryDTO query, ExportFormat format, OutputStream out);
 }
@@ -3,9 +3,12 @@ package com.atlas.system.role.service.impl;
 
 import com.atlas.common.feature.core.exception.BusinessException;
 import com.atlas.common.feature.core.page.PageResult;
+import com.atlas.system.config.SystemProperties;
 import com.atlas.system.constant.SystemErrorCode;
+import com.atlas.system.permission.event.AuthoritiesChangedEvent;
 import com.atlas.system.permission.mapper.PermissionMapper;
 import com.atlas.system.permission.model.entity.Permission;
+import com.atlas.system.role.convert.RoleConverter;
 import com.atlas.system.role.mapper.RoleMapper;
 import com.atlas.system.role.mapper.RolePermissionMapper;
 import com.atlas.system.role.model.dto.RoleCreateDTO;
@@ -13,19 +16,34 @@ import com.atlas.system.role.model.dto.RoleQueryDTO;
 import com.atlas.system.role.model.dto.RoleUpdateDTO;
 import com.atlas.system.role.model.entity.Role;
 import com.atlas.system.role.model.entity.RolePermission;
+import com.atlas.system.role.model.enums.PermissionAssignMode;
 import com.atlas.system.role.model.vo.RoleListVO;
 import com.atlas.system.role.service.RoleService;
+import com.atlas.system.util.CursorExporter;
+import com.atlas.system.util.ExportFormat;
+import com.atlas.system.util.PageCountCache;
+import com.atlas.system.util.QueryFilters;
 import com.atlas.system.util.SortHelper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -40,6 +58,7 @@ import org.springframework.util.StringUtils;
  * <ul>
  *   <li>实现 createRole 方法，保存角色到数据库
  *   <li>实现 assignPermissionToRole 方法，保存角色权限关联到数据库
+ *   <li>实现 updateRolePermissions 方法，以集合操作批量设置、追加或移除角色权限
  *   <li>处理角色代码重复的情况，抛出 BusinessException
  *   <li>处理角色或权限不存在的情况，抛出适当的异常
  * </ul>
@@ -54,6 +73,11 @@ public class RoleServiceImpl implements RoleService {
   private final RoleMapper roleMapper;
   private final RolePermissionMapper rolePermissionMapper;
   private final PermissionMapper permissionMapper;
+  private final SystemProperties systemProperties;
+  private final PageCountCache pageCountCache;
+  private final ObjectMapper objectMapper;
+  private final RoleConverter roleConverter;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   public RoleListVO getRoleById(String roleId) {
@@ -61,7 +85,7 @@ public class RoleServiceImpl implements RoleService {
     if (role == null || "DELETED".equals(role.getStatus())) {
       throw new BusinessException(SystemErrorCode.ROLE_NOT_FOUND, "角色不存在");
     }
-    return convertToListVO(role);
+    return roleConverter.toListVO(role);
   }
 
   /**
@@ -90,6 +114,7 @@ public class RoleServiceImpl implements RoleService {
     role.setStatus("ACTIVE");
     // 保存角色（createdAt/updatedAt 由 AuditMetaObjectHandler 填充）
     roleMapper.insert(role);
+    pageCountCache.invalidate("sys_role");
     return role.getRoleId();
   }
 
@@ -127,6 +152,7 @@ public class RoleServiceImpl implements RoleService {
     rolePermission.setRoleId(roleId);
     rolePermission.setPermissionId(permissionId);
     rolePermissionMapper.insert(rolePermission);
+    eventPublisher.publishEvent(AuthoritiesChangedEvent.ofAll("role permission assigned"));
   }
 
   @Override
@@ -146,6 +172,10 @@ public class RoleServiceImpl implements RoleService {
       role.setStatus(roleUpdateDTO.getStatus());
     }
     roleMapper.updateById(role);
+    pageCountCache.invalidate("sys_role");
+    if (roleUpdateDTO.getStatus() != null) {
+      eventPublisher.publishEvent(AuthoritiesChangedEvent.ofAll("role status changed"));
+    }
   }
 
   @Override
@@ -157,6 +187,8 @@ public class RoleServiceImpl implements RoleService {
     }
     role.setStatus("DELETED");
     roleMapper.updateById(role);
+    pageCountCache.invalidate("sys_role");
+    eventPublisher.publishEvent(AuthoritiesChangedEvent.ofAll("role deleted"));
   }
 
   @Override
@@ -174,6 +206,79 @@ public class RoleServiceImpl implements RoleService {
         new LambdaQueryWrapper<RolePermission>()
             .eq(RolePermission::getRoleId, roleId)
             .eq(RolePermission::getPermissionId, permissionId));
+    eventPublisher.publishEvent(AuthoritiesChangedEvent.ofAll("role permission removed"));
+  }
+
+  @Override
+  @Transactional
+  public void updateRolePermissions(
+      String roleId, PermissionAssignMode mode, List<String> permissionIds) {
+    Role role = roleMapper.selectById(roleId);
+    if (role == null || "DELETED".equals(role.getStatus())) {
+      throw new BusinessException(SystemErrorCode.ROLE_NOT_FOUND, "角色不存在");
+    }
+    Set<String> requested =
+        permissionIds == null ? new LinkedHashSet<>() : new LinkedHashSet<>(permissionIds);
+    if (requested.isEmpty() && mode != PermissionAssignMode.SET) {
+      return;
+    }
+
+    Set<String> current = new HashSet<>(rolePermissionMapper.selectPermissionIdsByRoleId(roleId));
+    List<String> toAdd = new ArrayList<>();
+    List<String> toRemove = new ArrayList<>();
+    switch (mode) {
+      case SET -> {
+        requested.stream().filter(id -> !current.contains(id)).forEach(toAdd::add);
+        current.stream().filter(id -> !requested.contains(id)).forEach(toRemove::add);
+      }
+      case ADD -> requested.stream().filter(id -> !current.contains(id)).forEach(toAdd::add);
+      case REMOVE -> requested.stream().filter(current::contains).forEach(toRemove::add);
+    }
+    if (toAdd.isEmpty() && toRemove.isEmpty()) {
+      return;
+    }
+
+    // 只校验待新增的权限：移除已删除权限的残留关联，或 SET 中保留的现有关联，均不应失败
+    requireActivePermissions(toAdd);
+    if (!toAdd.isEmpty()) {
+      List<RolePermission> links =
+          toAdd.stream()
+              .map(
+                  permissionId -> {
+                    RolePermission rolePermission = new RolePermission();
+                    rolePermission.setRoleId(roleId);
+                    rolePermission.setPermissionId(permissionId);
+                    return rolePermission;
+                  })
+              .collect(Collectors.toList());
+      rolePermissionMapper.insertLinks(links);
+    }
+    if (!toRemove.isEmpty()) {
+      rolePermissionMapper.delete(
+          new LambdaQueryWrapper<RolePermission>()
+              .eq(RolePermission::getRoleId, roleId)
+              .in(RolePermission::getPermissionId, toRemove));
+    }
+    eventPublisher.publishEvent(AuthoritiesChangedEvent.ofAll("role permissions updated"));
+  }
+
+  /**
+   * 批量校验权限存在且未删除（一次查询）
+   *
+   * @param permissionIds 去重后的权限ID
+   * @throws BusinessException 如果任一权限不存在或已删除，错误码：032201
+   */
+  private void requireActivePermissions(Collection<String> permissionIds) {
+    if (permissionIds.isEmpty()) {
+      return;
+    }
+    long activeCount =
+        permissionMapper.selectByIds(permissionIds).stream()
+            .filter(permission -> !"DELETED".equals(permission.getStatus()))
+            .count();
+    if (activeCount != permissionIds.size()) {
+      throw new BusinessException(SystemErrorCode.PERMISSION_NOT_FOUND, "权限不存在");
+    }
   }
 
   /**
@@ -188,8 +293,84 @@ public class RoleServiceImpl implements RoleService {
     int pageSize = Optional.ofNullable(query).map(RoleQueryDTO::getSizeSafe).orElse(10);
     String sort = Optional.ofNullable(query).map(RoleQueryDTO::getSort).orElse(null);
 
+    LambdaQueryWrapper<Role> wrapper = buildListWrapper(query);
+    if (query != null && query.isCursorPaging()) {
+      // 游标分页：按 (created_at, id) seek，不执行 OFFSET 与 COUNT
+      byte[] key = systemProperties.getPage().resolveCursorKey();
+      boolean asc =
+          SortHelper.applyKeyset(wrapper, ROLE_KEYSET, sort, query.getCursor(), pageSize, key);
+      SortHelper.KeysetPage<Role> keysetPage =
+          SortHelper.toKeysetPage(roleMapper.selectList(wrapper), ROLE_KEYSET, pageSize, asc, key);
+      List<RoleListVO> list =
+          keysetPage.records().stream().map(roleConverter::toListVO).collect(Collectors.toList());
+      return PageResult.ofCursor(list, pageSize, keysetPage.nextCursor());
+    }
+    // 总数在排序之前统计（COUNT 不需要 ORDER BY），按过滤条件缓存
+    PageCountCache.Total total = null;
+    if (query == null || query.isTotalRequired()) {
+      String filterKey =
+          Optional.ofNullable(query)
+              .map(
+                  q ->
+                      PageCountCache.filterKey(
+                          "roleCode",
+                          q.getRoleCode(),
+                          "roleName",
+                          q.getRoleName(),
+                          "status",
+                          q.getStatus()))
+              .orElse("");
+      total =
+          pageCountCache.count("sys_role", filterKey, () -> roleMapper.selectCount(wrapper), null);
+    }
+    String roleCode =
+        Optional.ofNullable(query)
+            .map(RoleQueryDTO::getRoleCode)
+            .filter(StringUtils::hasText)
+            .orElse("");
+    String roleName =
+        Optional.ofNullable(query)
+            .map(RoleQueryDTO::getRoleName)
+            .filter(StringUtils::hasText)
+            .orElse("");
+    Page<Role> pageReq = new Page<>(pageNum, pageSize, false);
+    Page<Role> resultPage;
+    if ((!roleCode.isEmpty() || !roleName.isEmpty()) && !StringUtils.hasText(sort)) {
+      // 有搜索词且未指定排序：按相似度排序，最接近的结果排在前面
+      resultPage = roleMapper.selectPageOrderBySimilarity(pageReq, wrapper, roleCode, roleName);
+    } else {
+      applySort(wrapper, sort);
+      resultPage = roleMapper.selectPage(pageReq, wrapper);
+    }
+    List<RoleListVO> list =
+        resultPage.getRecords().stream().map(roleConverter::toListVO).collect(Collectors.toList());
+    if (total == null) {
+      return PageResult.ofWithoutTotal(list, pageNum, pageSize);
+    }
+    PageResult<RoleListVO> result = PageResult.of(list, total.value(), pageNum, pageSize);
+    result.setTotalEstimated(total.estimated());
+    return result;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long exportRoles(RoleQueryDTO query, ExportFormat format, OutputStream out) {
+    try (Cursor<Role> cursor = roleMapper.selectExportCursor(buildListWrapper(query))) {
+      return CursorExporter.write(cursor, format, ROLE_EXPORT_COLUMNS, objectMapper, out);
+    } catch (IOException e) {
+      throw new UncheckedIOException("导出角色失败", e);
+    }
+  }
+
+  /**
+   * 构建列表过滤条件（分页查询与导出共用）
+   *
+   * @param query 查询条件（可为 null）
+   * @return 查询包装器（不含排序）
+   */
+  private LambdaQueryWrapper<Role> buildListWrapper(RoleQueryDTO query) {
     LambdaQueryWrapper<Role> wrapper = new LambdaQueryWrapper<>();
-    wrapper.ne(Role::getStatus, "DELETED");
+    QueryFilters.notDeleted(wrapper);
     Optional.ofNullable(query)
         .ifPresent(
             q -> {
@@ -199,18 +380,25 @@ public class RoleServiceImpl implements RoleService {
                 wrapper.like(Role::getRoleName, q.getRoleName());
               if (StringUtils.hasText(q.getStatus())) wrapper.eq(Role::getStatus, q.getStatus());
             });
-    applySort(wrapper, sort);
-
-    Page<Role> pageReq = new Page<>(pageNum, pageSize);
-    Page<Role> resultPage = roleMapper.selectPage(pageReq, wrapper);
-    List<RoleListVO> list =
-        resultPage.getRecords().stream().map(this::convertToListVO).collect(Collectors.toList());
-    return PageResult.of(list, resultPage.getTotal(), pageNum, pageSize);
+    return wrapper;
   }
 
+  /** 导出列（与列表 VO 字段一致，不含密码等敏感字段） */
+  private static final List<CursorExporter.Column<Role>> ROLE_EXPORT_COLUMNS =
+      List.of(
+          new CursorExporter.Column<>("roleId", Role::getRoleId),
+          new CursorExporter.Column<>("roleCode", Role::getRoleCode),
+          new CursorExporter.Column<>("roleName", Role::getRoleName),
+          new CursorExporter.Column<>("description", Role::getDescription),
+          new CursorExporter.Column<>("status", Role::getStatus),
+          new CursorExporter.Column<>("createdAt", Role::getCreatedAt));
+
   private static final Map<String, BiConsumer<LambdaQueryWrapper<Role>, Boolean>> ROLE_SORT_FIELDS =
       new HashMap<>();
 
+  private static final SortHelper.KeysetSpec<Role> ROLE_KEYSET =
+      new SortHelper.KeysetSpec<>(Role::getCreatedAt, "created_at", Role::getRoleId, "role_id");
+
   static {
     ROLE_SORT_FIELDS.put("rolecode", (w, asc) -> w.orderBy(true, asc, Role::getRoleCode));
     ROLE_SORT_FIELDS.put("rolename", (w, asc) -> w.orderBy(true, asc, Role::getRoleName));
@@ -222,17 +410,4 @@ public class RoleServiceImpl implements RoleService {
   private void applySort(LambdaQueryWrapper<Role> wrapper, String sort) {
     SortHelper.applySort(wrapper, sort, w -> w.orderByDesc(Role::getCreatedAt), ROLE_SORT_FIELDS);
   }
-
-  /**
-   * 将 Role 实体转换为 RoleListVO（原则 20：使用 BeanUtils）
-   *
-   * @param role 角色实体
-   * @return 列表项 VO
-   */
-  private RoleListVO convertToListVO(Role role) {
-    RoleListVO vo = new RoleListVO();
-    BeanUtils.copyProperties(role, vo);
-    vo.setCreatedAt(role.getCreatedAt());
-    return vo;
-  }
 }
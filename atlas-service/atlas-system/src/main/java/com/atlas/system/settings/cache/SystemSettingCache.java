@@ -0,0 +1,362 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.settings.cache;
+
+import com.atlas.common.feature.core.exception.BusinessException;
+import com.atlas.common.infra.redis.key.RedisKeyBuilder;
+import com.atlas.common.infra.redis.util.CacheUtil;
+import com.atlas.system.config.SystemProperties;
+import com.atlas.system.constant.SystemErrorCode;
+import com.atlas.system.settings.convert.SystemSettingConverter;
+import com.atlas.system.settings.event.SystemSettingChangedEvent;
+import com.atlas.system.settings.mapper.SystemSettingMapper;
+import com.atlas.system.settings.model.entity.SystemSetting;
+import com.atlas.system.settings.model.vo.SystemSettingVO;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 系统设置本地缓存
+ *
+ * <p>将 sys_system_setting 全部加载为进程内不可变映射，设置项读取不访问数据库，并提供类型化读取方法
+ * （int、boolean、duration、list），解析结果按设置项缓存，值未变化时不重复解析。
+ *
+ * <p>更新策略：
+ *
+ * <ul>
+ *   <li>应用就绪后全量加载；加载完成前的首次读取会同步触发全量加载
+ *   <li>本实例变更：监听 {@link SystemSettingChangedEvent}，事务提交后只重新加载该设置项，并通过 Redis
+ *       频道广播给其他实例
+ *   <li>其他实例变更：收到广播后重新加载对应设置项（忽略本实例发出的消息）
+ *   <li>周期性全量加载，兜底广播消息丢失
+ * </ul>
+ *
+ * <p>所有加载串行执行，新映射构建完成后才替换，读取方始终看到完整一致的映射。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SystemSettingCache implements MessageListener {
+
+  /** 设置变更同步频道（发布与订阅时均会补齐前缀） */
+  public static final String CHANNEL_SETTINGS =
+      RedisKeyBuilder.builder().business("channel").id("system-setting").build();
+
+  /** 广播消息中表示全部设置项的 key */
+  private static final String ALL_KEYS = "";
+
+  /** 解析失败的占位值（同样缓存，避免对非法值反复解析和打印日志） */
+  private static final Object INVALID = new Object();
+
+  private final SystemProperties systemProperties;
+  private final SystemSettingMapper systemSettingMapper;
+  private final SystemSettingConverter systemSettingConverter;
+  private final RedisTemplate<String, Object> redisTemplate;
+
+  /** 实例标识，用于忽略本实例发出的广播 */
+  private final String instanceId = UUID.randomUUID().toString();
+
+  private final AtomicReference<Map<String, Entry>> entries = new AtomicReference<>();
+  private final Object reloadLock = new Object();
+  private volatile ScheduledExecutorService refreshExecutor;
+
+  /** 应用就绪后全量加载，并按配置启动周期性加载 */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    reloadAll();
+    long refreshSeconds = systemProperties.getSettings().getRefreshSeconds();
+    if (refreshSeconds > 0) {
+      refreshExecutor =
+          Executors.newSingleThreadScheduledExecutor(
+              r -> {
+                Thread thread = new Thread(r, "system-setting-refresh");
+                thread.setDaemon(true);
+                return thread;
+              });
+      refreshExecutor.scheduleWithFixedDelay(
+          this::reloadAll, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+    }
+  }
+
+  /** 停止周期性加载 */
+  @PreDestroy
+  public void destroy() {
+    if (refreshExecutor != null) {
+      refreshExecutor.shutdownNow();
+    }
+  }
+
+  /**
+   * 查询设置项
+   *
+   * @param key 设置项 key
+   * @return 设置项（每次返回新的 VO 实例，调用方可自由修改）
+   */
+  public Optional<SystemSettingVO> findSetting(String key) {
+    return Optional.ofNullable(current().get(key))
+        .map(entry -> systemSettingConverter.toVO(entry.setting()));
+  }
+
+  /**
+   * 读取字符串值
+   *
+   * @param key 设置项 key
+   * @return 设置值；设置项不存在时为空
+   */
+  public Optional<String> getString(String key) {
+    return Optional.ofNullable(current().get(key)).map(entry -> entry.setting().getValue());
+  }
+
+  /**
+   * 读取必须存在的字符串值
+   *
+   * @param key 设置项 key
+   * @return 设置值
+   * @throws BusinessException 如果设置项不存在
+   */
+  public String getRequiredString(String key) {
+    return getString(key)
+        .orElseThrow(
+            () -> new BusinessException(SystemErrorCode.SYSTEM_SETTING_NOT_FOUND, "设置项不存在"));
+  }
+
+  /**
+   * 读取整数值
+   *
+   * @param key 设置项 key
+   * @param defaultValue 设置项不存在或值非法时的默认值
+   * @return 整数值
+   */
+  public int getInt(String key, int defaultValue) {
+    return parsed(key, "int", value -> Integer.valueOf(value.trim()), defaultValue);
+  }
+
+  /**
+   * 读取布尔值（true/false，忽略大小写）
+   *
+   * @param key 设置项 key
+   * @param defaultValue 设置项不存在或值非法时的默认值
+   * @return 布尔值
+   */
+  public boolean getBoolean(String key, boolean defaultValue) {
+    return parsed(key, "boolean", SystemSettingCache::parseBoolean, defaultValue);
+  }
+
+  /**
+   * 读取时长值
+   *
+   * <p>支持简单格式（如 500ms、30s、5m、1h、7d，不带单位时按毫秒）与 ISO-8601 格式（如 PT30S）。
+   *
+   * @param key 设置项 key
+   * @param defaultValue 设置项不存在或值非法时的默认值
+   * @return 时长
+   */
+  public Duration getDuration(String key, Duration defaultValue) {
+    return parsed(
+        key, "duration", value -> DurationStyle.detectAndParse(value.trim()), defaultValue);
+  }
+
+  /**
+   * 读取列表值（逗号分隔，去除首尾空白并忽略空项）
+   *
+   * @param key 设置项 key
+   * @return 不可变列表；设置项不存在时为空列表
+   */
+  public List<String> getList(String key) {
+    return parsed(key, "list", SystemSettingCache::parseList, List.of());
+  }
+
+  /**
+   * 处理设置变更事件（事务提交后执行；无事务时立即执行）
+   *
+   * @param event 设置变更事件
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onSettingChanged(SystemSettingChangedEvent event) {
+    refresh(event.key());
+    if (!systemProperties.getSettings().isSyncEnabled()) {
+      return;
+    }
+    String key = event.key() == null ? ALL_KEYS : event.key();
+    // 使用 ArrayList 而非不可变列表，保证带类型信息的 Value 序列化器可以反序列化
+    if (!CacheUtil.publish(CHANNEL_SETTINGS, new ArrayList<>(List.of(instanceId, key)))) {
+      // 广播失败时其他实例依赖周期性全量加载兜底
+      log.warn("系统设置变更广播失败，其他实例将在下次全量加载时更新: key={}", event.key());
+    }
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    try {
+      Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+      if (!(body instanceof List<?> parts) || parts.size() != 2) {
+        log.warn("忽略无法识别的系统设置广播消息: {}", body);
+        return;
+      }
+      if (instanceId.equals(String.valueOf(parts.get(0)))) {
+        return;
+      }
+      String key = String.valueOf(parts.get(1));
+      refresh(ALL_KEYS.equals(key) ? null : key);
+    } catch (Exception e) {
+      log.warn("处理系统设置广播消息失败: {}", e.getMessage());
+    }
+  }
+
+  /** 全量加载设置项并替换当前映射 */
+  public void reloadAll() {
+    synchronized (reloadLock) {
+      try {
+        List<SystemSetting> settings =
+            systemSettingMapper.selectList(new LambdaQueryWrapper<SystemSetting>());
+        Map<String, Entry> fresh = new HashMap<>(settings.size() * 2);
+        for (SystemSetting setting : settings) {
+          fresh.put(setting.getKey(), new Entry(setting));
+        }
+        entries.set(Collections.unmodifiableMap(fresh));
+        log.debug("系统设置已加载: size={}", fresh.size());
+      } catch (RuntimeException e) {
+        log.error("系统设置加载失败，保留当前缓存", e);
+      }
+    }
+  }
+
+  private void refresh(String key) {
+    if (key == null) {
+      reloadAll();
+      return;
+    }
+    synchronized (reloadLock) {
+      Map<String, Entry> currentEntries = entries.get();
+      if (currentEntries == null) {
+        // 尚未全量加载，首次读取时会加载最新数据
+        return;
+      }
+      try {
+        SystemSetting setting =
+            systemSettingMapper.selectOne(
+                new LambdaQueryWrapper<SystemSetting>().eq(SystemSetting::getKey, key));
+        Map<String, Entry> copy = new HashMap<>(currentEntries);
+        if (setting == null) {
+          copy.remove(key);
+        } else {
+          copy.put(key, new Entry(setting));
+        }
+        entries.set(Collections.unmodifiableMap(copy));
+        log.debug("系统设置已更新: key={}", key);
+      } catch (RuntimeException e) {
+        log.error("系统设置更新失败，等待下次全量加载: key={}", key, e);
+      }
+    }
+  }
+
+  /**
+   * 获取当前映射，尚未加载时同步全量加载
+   *
+   * @return 设置项 key -> 缓存条目
+   */
+  private Map<String, Entry> current() {
+    Map<String, Entry> currentEntries = entries.get();
+    if (currentEntries == null) {
+      synchronized (reloadLock) {
+        if (entries.get() == null) {
+          reloadAll();
+        }
+      }
+      currentEntries = entries.get();
+    }
+    return currentEntries == null ? Map.of() : currentEntries;
+  }
+
+  /**
+   * 读取解析后的值，解析结果缓存在条目上，条目被替换时随之失效
+   *
+   * @param key 设置项 key
+   * @param type 类型标识
+   * @param parser 解析函数（非法值抛出运行时异常）
+   * @param defaultValue 设置项不存在或值非法时的默认值
+   * @param <T> 值类型
+   * @return 解析后的值
+   */
+  @SuppressWarnings("unchecked")
+  private <T> T parsed(String key, String type, Function<String, T> parser, T defaultValue) {
+    Entry entry = current().get(key);
+    if (entry == null || entry.setting().getValue() == null) {
+      return defaultValue;
+    }
+    Object value =
+        entry.parsed().computeIfAbsent(type, t -> tryParse(entry.setting(), t, parser));
+    return value == INVALID ? defaultValue : (T) value;
+  }
+
+  private static Object tryParse(
+      SystemSetting setting, String type, Function<String, ?> parser) {
+    try {
+      Object value = parser.apply(setting.getValue());
+      return value == null ? INVALID : value;
+    } catch (RuntimeException e) {
+      log.warn(
+          "系统设置值无法解析为 {}，使用默认值: key={}, value={}",
+          type,
+          setting.getKey(),
+          setting.getValue());
+      return INVALID;
+    }
+  }
+
+  private static Boolean parseBoolean(String value) {
+    String normalized = value.trim();
+    if ("true".equalsIgnoreCase(normalized)) {
+      return Boolean.TRUE;
+    }
+    if ("false".equalsIgnoreCase(normalized)) {
+      return Boolean.FALSE;
+    }
+    throw new IllegalArgumentException("非法的布尔值: " + value);
+  }
+
+  private static List<String> parseList(String value) {
+    return Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+  }
+
+  /**
+   * 缓存条目
+   *
+   * @param setting 设置项（加载后只读）
+   * @param parsed 类型标识 -> 解析后的值
+   */
+  private record Entry(SystemSetting setting, ConcurrentHashMap<String, Object> parsed) {
+
+    Entry(SystemSetting setting) {
+      this(setting, new ConcurrentHashMap<>(4));
+    }
+  }
+}
@@ -0,0 +1,25 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.settings.convert;
+
+import com.atlas.system.settings.model.entity.SystemSetting;
+import com.atlas.system.settings.model.vo.SystemSettingVO;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+
+/**
+ * 系统设置对象转换器
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface SystemSettingConverter {
+
+  /**
+   * 将 SystemSetting 实体转换为 SystemSettingVO
+   *
+   * @param setting 系统设置实体
+   * @return 系统设置 VO
+   */
+  SystemSettingVO toVO(SystemSetting setting);
+}
@@ -0,0 +1,24 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.settings.event;
+
+/**
+ * 系统设置变更事件
+ *
+ * <p>在设置项创建、修改或删除后发布，用于刷新本地设置缓存并广播给其他实例。
+ *
+ * @param key 变更的设置项 key，为 null 表示全部设置项
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+public record SystemSettingChangedEvent(String key) {
+
+  /**
+   * 创建影响单个设置项的事件
+   *
+   * @param key 设置项 key
+   * @return 事件
+   */
+  public static SystemSettingChangedEvent ofKey(String key) {
+    return new SystemSettingChangedEvent(key);
+  }
+}
@@ -2,16 +2,51 @@
 package com.atlas.system.settings.mapper;
 
 import com.atlas.system.settings.model.entity.SystemSetting;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 
 /**
  * 系统设置 Mapper 接口
  *
  * <p>提供系统设置数据访问方法，继承 MyBatis-Plus 的 BaseMapper 提供基础 CRUD 功能。
  *
+ * <p>自定义查询方法：
+ *
+ * <ul>
+ *   <li>selectPageOrderBySimilarity：按设置项 key 与关键字的相似度排序分页
+ * </ul>
+ *
  * @author Atlas Team
  * @since 1.0.0
  */
 @Mapper
-public interface SystemSettingMapper extends BaseMapper<SystemSetting> {}
+public interface SystemSettingMapper extends BaseMapper<SystemSetting> {
+
+  /**
+   * 按相似度排序分页查询设置项
+   *
+   * <p>过滤条件由 wrapper 提供（LIKE 由 pg_trgm 索引支持），按设置项 key 与关键字的相似度倒序排列。
+   * 手写 SQL 不会应用实体上 {@code @TableField} 的列名映射，setting_key / setting_value / setting_type
+   * 须显式别名为属性名，否则 key、value、type 映射为 null。
+   *
+   * @param page 分页参数
+   * @param wrapper 过滤条件（不含排序）
+   * @param keyword 关键字
+   * @return 分页结果
+   */
+  @Select(
+      "<script>SELECT setting_id, setting_key AS key, setting_value AS value,"
+          + " setting_type AS type, deleted, created_at, updated_at, created_by, updated_by"
+          + " FROM sys_system_setting WHERE deleted = 0"
+          + "<if test='ew.nonEmptyOfNormal'> AND ${ew.sqlSegment}</if>"
+          + " ORDER BY similarity(setting_key, #{keyword}) DESC, setting_key</script>")
+  Page<SystemSetting> selectPageOrderBySimilarity(
+      Page<SystemSetting> page,
+      @Param(Constants.WRAPPER) Wrapper<SystemSetting> wrapper,
+      @Param("keyword") String keyword);
+}
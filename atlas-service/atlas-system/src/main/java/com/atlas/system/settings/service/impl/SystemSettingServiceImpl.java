@@ -4,6 +4,9 @@ package com.atlas.system.settings.service.impl;
 import com.atlas.common.feature.core.exception.BusinessException;
 import com.atlas.common.feature.core.page.PageResult;
 import com.atlas.system.constant.SystemErrorCode;
+import com.atlas.system.settings.cache.SystemSettingCache;
+import com.atlas.system.settings.convert.SystemSettingConverter;
+import com.atlas.system.settings.event.SystemSettingChangedEvent;
 import com.atlas.system.settings.mapper.SystemSettingMapper;
 import com.atlas.system.settings.model.dto.SystemSettingCreateDTO;
 import com.atlas.system.settings.model.dto.SystemSettingQueryDTO;
@@ -23,7 +26,7 @@ import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 /**
@@ -31,6 +34,9 @@ import org.springframework.stereotype.Service;
  *
  * <p>提供系统默认设置的业务逻辑实现，具体方法在后续阶段补充。
  *
+ * <p>按 key 查询读取 {@link SystemSettingCache}；创建、修改、删除后发布 {@link SystemSettingChangedEvent}，
+ * 由缓存在提交后刷新并广播给其他实例。
+ *
  * @author Atlas Team
  * @since 1.0.0
  */
@@ -42,16 +48,22 @@ public class SystemSettingServiceImpl implements SystemSettingService {
   private static final int LIST_SETTINGS_MAX_SIZE = 500;
 
   private final SystemSettingMapper systemSettingMapper;
+  private final SystemSettingConverter systemSettingConverter;
+  private final SystemSettingCache systemSettingCache;
+  private final ApplicationEventPublisher eventPublisher;
 
+  /**
+   * 按 key 查询设置项（读取本地设置缓存，不访问数据库）
+   *
+   * @param key 设置项 key
+   * @return 设置项
+   */
   @Override
   public SystemSettingVO getSettingByKey(String key) {
-    SystemSetting setting =
-        systemSettingMapper.selectOne(
-            new LambdaQueryWrapper<SystemSetting>().eq(SystemSetting::getKey, key));
-    if (setting == null) {
-      throw new BusinessException(SystemErrorCode.SYSTEM_SETTING_NOT_FOUND, "设置项不存在");
-    }
-    return convertToVO(setting);
+    return systemSettingCache
+        .findSetting(key)
+        .orElseThrow(
+            () -> new BusinessException(SystemErrorCode.SYSTEM_SETTING_NOT_FOUND, "设置项不存在"));
   }
 
   /**
@@ -64,14 +76,15 @@ public class SystemSettingServiceImpl implements SystemSettingService {
    */
   @Override
   public List<SystemSettingVO> listSettings(SystemSettingQueryDTO queryDTO) {
-    LambdaQueryWrapper<SystemSetting> wrapper = buildQueryWrapper(queryDTO);
-    applySort(
-        wrapper, Optional.ofNullable(queryDTO).map(SystemSettingQueryDTO::getSort).orElse(null));
     Page<SystemSetting> pageRequest = new Page<>(1, LIST_SETTINGS_MAX_SIZE);
-    Page<SystemSetting> resultPage = systemSettingMapper.selectPage(pageRequest, wrapper);
+    Page<SystemSetting> resultPage =
+        selectSettingsPage(
+            pageRequest,
+            queryDTO,
+            Optional.ofNullable(queryDTO).map(SystemSettingQueryDTO::getSort).orElse(null));
     return resultPage.getRecords().stream()
         .filter(Objects::nonNull)
-        .map(this::convertToVO)
+        .map(systemSettingConverter::toVO)
         .collect(Collectors.toList());
   }
 
@@ -90,14 +103,12 @@ public class SystemSettingServiceImpl implements SystemSettingService {
         Optional.ofNullable(queryDTO).map(SystemSettingQueryDTO::getPageSafe).orElse(1);
     int pageSize = Optional.ofNullable(queryDTO).map(SystemSettingQueryDTO::getSizeSafe).orElse(10);
     String sort = Optional.ofNullable(queryDTO).map(SystemSettingQueryDTO::getSort).orElse(null);
-    LambdaQueryWrapper<SystemSetting> wrapper = buildQueryWrapper(queryDTO);
-    applySort(wrapper, sort);
     Page<SystemSetting> pageRequest = new Page<>(pageNumber, pageSize);
-    Page<SystemSetting> resultPage = systemSettingMapper.selectPage(pageRequest, wrapper);
+    Page<SystemSetting> resultPage = selectSettingsPage(pageRequest, queryDTO, sort);
     List<SystemSettingVO> records =
         resultPage.getRecords().stream()
             .filter(Objects::nonNull)
-            .map(this::convertToVO)
+            .map(systemSettingConverter::toVO)
             .collect(Collectors.toList());
     return PageResult.of(records, resultPage.getTotal(), pageNumber, pageSize);
   }
@@ -122,7 +133,8 @@ public class SystemSettingServiceImpl implements SystemSettingService {
     setting.setValue(createDTO.getValue());
     setting.setType(SystemSettingType.CUSTOM);
     systemSettingMapper.insert(setting);
-    return convertToVO(setting);
+    eventPublisher.publishEvent(SystemSettingChangedEvent.ofKey(key));
+    return systemSettingConverter.toVO(setting);
   }
 
   /**
@@ -142,7 +154,8 @@ public class SystemSettingServiceImpl implements SystemSettingService {
     }
     setting.setValue(updateDTO.getValue());
     systemSettingMapper.updateById(setting);
-    return convertToVO(setting);
+    eventPublisher.publishEvent(SystemSettingChangedEvent.ofKey(key));
+    return systemSettingConverter.toVO(setting);
   }
 
   /**
@@ -163,6 +176,31 @@ public class SystemSettingServiceImpl implements SystemSettingService {
           SystemErrorCode.SYSTEM_SETTING_SYSTEM_DELETE_FORBIDDEN, "系统默认设置不可删除");
     }
     systemSettingMapper.deleteById(setting.getSettingId());
+    eventPublisher.publishEvent(SystemSettingChangedEvent.ofKey(key));
+  }
+
+  /**
+   * 按条件分页查询设置项：有关键字且未指定排序时按 key 与关键字的相似度排序，否则按 sort 白名单排序
+   *
+   * @param pageRequest 分页参数
+   * @param queryDTO 查询参数
+   * @param sort 排序字符串
+   * @return 分页结果
+   */
+  private Page<SystemSetting> selectSettingsPage(
+      Page<SystemSetting> pageRequest, SystemSettingQueryDTO queryDTO, String sort) {
+    LambdaQueryWrapper<SystemSetting> wrapper = buildQueryWrapper(queryDTO);
+    String keyword =
+        Optional.ofNullable(queryDTO)
+            .map(SystemSettingQueryDTO::getKeyword)
+            .filter(k -> !k.isBlank())
+            .map(String::trim)
+            .orElse(null);
+    if (keyword != null && (sort == null || sort.isBlank())) {
+      return systemSettingMapper.selectPageOrderBySimilarity(pageRequest, wrapper, keyword);
+    }
+    applySort(wrapper, sort);
+    return systemSettingMapper.selectPage(pageRequest, wrapper);
   }
 
   private LambdaQueryWrapper<SystemSetting> buildQueryWrapper(SystemSettingQueryDTO queryDTO) {
@@ -198,11 +236,4 @@ public class SystemSettingServiceImpl implements SystemSettingService {
     SortHelper.applySort(
         wrapper, sort, w -> w.orderByDesc(SystemSetting::getCreatedAt), SETTING_SORT_FIELDS);
   }
-
-  /** 将 SystemSetting 实体转换为 SystemSettingVO（原则 20：使用 BeanUtils，Entity 与 VO 字段名一致） */
-  private SystemSettingVO convertToVO(SystemSetting setting) {
-    SystemSettingVO vo = new SystemSettingVO();
-    BeanUtils.copyProperties(setting, vo);
-    return vo;
-  }
 }
@@ -9,6 +9,10 @@ import com.atlas.system.api.v1.model.dto.VerifyPasswordRequest;
 import com.atlas.system.user.model.dto.UserQueryDTO;
 import com.atlas.system.user.model.vo.UserListVO;
 import com.atlas.system.user.service.UserService;
+import com.atlas.system.util.ExportFormat;
+import com.atlas.system.util.ExportRunner;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -26,6 +30,7 @@ import org.springframework.web.bind.annotation.RestController;
  *
  * <ul>
  *   <li>GET /api/v1/users：分页查询用户列表（参数：page、size、sort、username、status）
+ *   <li>GET /api/v1/users/export：流式导出用户（参数：format=ndjson|csv，过滤参数同分页查询）
  *   <li>GET /api/v1/users/{userId}：根据用户ID查询用户信息
  *   <li>GET /api/v1/users/by-username?username={username}：根据用户名查询用户信息
  *   <li>POST /api/v1/users/verify-password：验证用户密码（请求体传 username、password）
@@ -41,6 +46,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserController implements UserQueryApi {
 
   private final UserService userService;
+  private final ExportRunner exportRunner;
 
   /**
    * 分页查询用户列表
@@ -57,6 +63,28 @@ public class UserController implements UserQueryApi {
     return Result.success(result);
   }
 
+  /**
+   * 流式导出用户
+   *
+   * <p>过滤条件同分页查询（username、status），以数据库游标逐行写入响应，内存占用与数据量无关，不执行 COUNT。
+   * 响应不使用 {@link Result} 包装；同时执行的导出数与导出时长受限（见 {@link ExportRunner}）。
+   *
+   * @param query 过滤条件
+   * @param format 导出格式（ndjson 或 csv，默认 ndjson）
+   * @param response HTTP 响应
+   * @throws IOException 如果获取响应输出流失败
+   */
+  @GetMapping("/api/v1/users/export")
+  public void exportUsers(
+      UserQueryDTO query,
+      @RequestParam(required = false) String format,
+      HttpServletResponse response)
+      throws IOException {
+    ExportFormat exportFormat = ExportFormat.of(format);
+    exportRunner.run(
+        "users", exportFormat, response, out -> userService.exportUsers(query, exportFormat, out));
+  }
+
   /**
    * 根据用户ID查询用户信息
    *
@@ -5,11 +5,22 @@ import com.atlas.common.feature.core.result.Result;
 import com.atlas.system.api.v1.model.dto.UserDTO;
 import com.atlas.system.user.model.dto.UserCreateDTO;
 import com.atlas.system.user.model.dto.UserUpdateDTO;
+import com.atlas.system.user.model.enums.UserImportFormat;
+import com.atlas.system.user.model.vo.UserImportProgressVO;
+import com.atlas.system.user.service.UserImportService;
 import com.atlas.system.user.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -27,6 +38,7 @@ import org.springframework.web.bind.annotation.RestController;
  *
  * <ul>
  *   <li>POST /api/v1/users：创建用户
+ *   <li>POST /api/v1/users/import：批量导入用户（CSV / NDJSON 流式导入，响应为 NDJSON 进度流）
  *   <li>PUT /api/v1/users/{userId}：更新用户
  *   <li>DELETE /api/v1/users/{userId}：逻辑删除用户
  *   <li>POST /api/v1/users/{userId}/roles：为用户批量分配角色（请求体 roleIds）
@@ -44,6 +56,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserManagementController {
 
   private final UserService userService;
+  private final UserImportService userImportService;
+  private final ObjectMapper objectMapper;
 
   /**
    * 创建用户
@@ -59,6 +73,46 @@ public class UserManagementController {
     return Result.success(userDTO);
   }
 
+  /**
+   * 批量导入用户
+   *
+   * <p>请求体为 CSV（text/csv，首行为表头）或 NDJSON（application/x-ndjson），服务端边读边写，不整体缓存文件。
+   * 响应为 NDJSON 流：失败行（ERROR）、每批进度（PROGRESS）与最终结果（DONE），每批结束后刷新到客户端。
+   * 前置检查失败（已有导入任务在执行、默认密码未配置、CSV 表头无效）时按普通错误响应返回。
+   *
+   * @param request HTTP 请求（读取请求体）
+   * @param response HTTP 响应（写入进度流）
+   * @throws IOException 如果读取请求体失败
+   */
+  @PostMapping(
+      value = "/users/import",
+      consumes = {"text/csv", "application/x-ndjson"})
+  public void importUsers(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    UserImportFormat format =
+        MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(UserImportFormat.CSV.getMediaType()))
+            ? UserImportFormat.CSV
+            : UserImportFormat.NDJSON;
+    response.setContentType(UserImportFormat.NDJSON.getMediaType());
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    userImportService.importUsers(
+        request.getInputStream(), format, event -> writeProgress(response, event));
+  }
+
+  private void writeProgress(HttpServletResponse response, UserImportProgressVO event) {
+    try {
+      OutputStream out = response.getOutputStream();
+      out.write(objectMapper.writeValueAsBytes(event));
+      out.write('\n');
+      if (!UserImportProgressVO.TYPE_ERROR.equals(event.getType())) {
+        out.flush();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("写入导入进度失败", e);
+    }
+  }
+
   /**
    * 更新用户
    *
@@ -2,10 +2,18 @@
 package com.atlas.system.user.mapper;
 
 import com.atlas.system.user.model.entity.User;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import java.util.Collection;
+import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
 /**
  * 用户 Mapper 接口
@@ -16,6 +24,10 @@ import org.apache.ibatis.annotations.Select;
  *
  * <ul>
  *   <li>selectByUsername：根据用户名查询用户
+ *   <li>selectExistingUsernames：批量查询已被占用的用户名（用于批量导入）
+ *   <li>explainCount：读取按条件查询的执行计划（估算行数），用于大表分页总数估算
+ *   <li>selectPageOrderBySimilarity：按用户名与搜索词的相似度排序分页
+ *   <li>selectExportCursor：以游标流式读取用户（用于导出）
  * </ul>
  *
  * @author Atlas Team
@@ -34,4 +46,71 @@ public interface UserMapper extends BaseMapper<User> {
    */
   @Select("SELECT * FROM sys_user WHERE username = #{username} AND status != 'DELETED'")
   User selectByUsername(@Param("username") String username);
+
+  /**
+   * 批量查询已被占用的用户名
+   *
+   * <p>不过滤状态与逻辑删除：uk_username 覆盖全部行，已删除用户的用户名同样不可复用。
+   *
+   * @param usernames 用户名列表（不能为空）
+   * @return 已存在的用户名
+   */
+  @Select(
+      "<script>"
+          + "SELECT username FROM sys_user WHERE username IN "
+          + "<foreach collection='usernames' item='username' open='(' separator=',' close=')'>"
+          + "#{username}"
+          + "</foreach>"
+          + "</script>")
+  List<String> selectExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+  /**
+   * 读取按条件查询的执行计划
+   *
+   * <p>只做规划不执行查询，返回 {@code EXPLAIN (FORMAT JSON)} 的输出，顶层节点的 "Plan Rows" 即 PostgreSQL 依据统计信息估算的行数。
+   * 自定义 SQL 不会自动追加逻辑删除条件，此处显式过滤 deleted = 0，与分页查询的计数条件一致。
+   *
+   * @param wrapper 查询条件（不含排序）
+   * @return 执行计划 JSON
+   */
+  @Select(
+      "<script>EXPLAIN (FORMAT JSON) SELECT 1 FROM sys_user WHERE deleted = 0"
+          + "<if test='ew.nonEmptyOfNormal'> AND ${ew.sqlSegment}</if></script>")
+  String explainCount(@Param(Constants.WRAPPER) Wrapper<User> wrapper);
+
+  /**
+   * 按相似度排序分页查询用户
+   *
+   * <p>过滤条件由 wrapper 提供（LIKE 由 pg_trgm 索引支持），按用户名与搜索词的相似度倒序排列，最接近的结果排在前面。
+   *
+   * @param page 分页参数
+   * @param wrapper 过滤条件（不含排序）
+   * @param username 用户名搜索词
+   * @return 分页结果
+   */
+  @Select(
+      "<script>SELECT * FROM sys_user WHERE deleted = 0"
+          + "<if test='ew.nonEmptyOfNormal'> AND ${ew.sqlSegment}</if>"
+          + " ORDER BY similarity(username, #{username}) DESC, user_id</script>")
+  Page<User> selectPageOrderBySimilarity(
+      Page<User> page,
+      @Param(Constants.WRAPPER) Wrapper<User> wrapper,
+      @Param("username") String username);
+
+  /**
+   * 以游标流式读取用户
+   *
+   * <p>只查询导出列，不查询密码等敏感字段。按 (created_at, user_id) 排序，与部分索引
+   * idx_user_created_at_id_active 一致，按索引顺序边扫描边返回，无需排序。服务端每次返回 fetchSize 行，须在事务内消费。
+   *
+   * @param wrapper 过滤条件（不含排序）
+   * @return 用户游标
+   */
+  @Select(
+      "<script>SELECT user_id, username, nickname, email, phone, status, avatar, created_at"
+          + " FROM sys_user WHERE deleted = 0"
+          + "<if test='ew.nonEmptyOfNormal'> AND ${ew.sqlSegment}</if>"
+          + " ORDER BY created_at, user_id</script>")
+  @Options(fetchSize = 1000, resultSetType = ResultSetType.FORWARD_ONLY)
+  Cursor<User> selectExportCursor(@Param(Constants.WRAPPER) Wrapper<User> wrapper);
 }
@@ -1,12 +1,17 @@
 /*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
 package com.atlas.system.user.mapper;
 
+import com.atlas.system.user.model.dto.UserAuthoritiesRowDTO;
 import com.atlas.system.user.model.entity.UserRole;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import java.util.List;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Result;
+import org.apache.ibatis.annotations.Results;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.type.ArrayTypeHandler;
 
 /**
  * 用户角色关联 Mapper 接口
@@ -18,6 +23,9 @@ import org.apache.ibatis.annotations.Select;
  * <ul>
  *   <li>selectRoleCodesByUserId：根据用户ID查询角色代码列表
  *   <li>selectRoleIdsByUserId：根据用户ID查询角色ID列表
+ *   <li>selectAuthoritiesByUserId：一次查询返回用户是否存在、角色代码与权限代码
+ *   <li>selectAllActiveLinks / selectLinksByUserId：查询用户角色关联（用于构建 RBAC 快照）
+ *   <li>insertLinks：批量建立用户角色关联（单条多行 INSERT）
  * </ul>
  *
  * @author Atlas Team
@@ -53,4 +61,81 @@ public interface UserRoleMapper extends BaseMapper<UserRole> {
           + "INNER JOIN sys_role r ON ur.role_id = r.role_id AND ur.deleted = 0 "
           + "WHERE ur.user_id = #{userId} AND r.status = 'ACTIVE'")
   List<String> selectRoleIdsByUserId(@Param("userId") String userId);
+
+  /**
+   * 根据用户ID一次性查询用户权限信息
+   *
+   * <p>使用 CTE 先解析用户的有效角色，再以 {@code array_agg} 聚合角色代码与去重后的权限代码，
+   * 单次往返返回用户存在性、角色与权限，替代"存在性检查 + 角色码 + 角色ID + 权限码"四次查询。
+   *
+   * <p>用户不存在或没有角色/权限时，对应数组为空数组（不为 null）。
+   *
+   * @param userId 用户ID
+   * @return 聚合结果（始终返回一行）
+   */
+  @Select(
+      "WITH u AS (SELECT user_id FROM sys_user WHERE user_id = #{userId}), "
+          + "r AS (SELECT r.role_id, r.role_code FROM sys_role r "
+          + "INNER JOIN sys_user_role ur ON r.role_id = ur.role_id AND ur.deleted = 0 "
+          + "INNER JOIN u ON ur.user_id = u.user_id "
+          + "WHERE r.status = 'ACTIVE') "
+          + "SELECT EXISTS (SELECT 1 FROM u) AS user_exists, "
+          + "COALESCE((SELECT array_agg(DISTINCT r.role_code) FROM r), '{}') AS role_codes, "
+          + "COALESCE((SELECT array_agg(DISTINCT p.permission_code) FROM sys_permission p "
+          + "INNER JOIN sys_role_permission rp ON p.permission_id = rp.permission_id AND rp.deleted = 0 "
+          + "INNER JOIN r ON rp.role_id = r.role_id "
+          + "WHERE p.status = 'ACTIVE'), '{}') AS permission_codes")
+  @Results({
+    @Result(column = "user_exists", property = "userExists"),
+    @Result(column = "role_codes", property = "roleCodes", typeHandler = ArrayTypeHandler.class),
+    @Result(
+        column = "permission_codes",
+        property = "permissionCodes",
+        typeHandler = ArrayTypeHandler.class)
+  })
+  UserAuthoritiesRowDTO selectAuthoritiesByUserId(@Param("userId") String userId);
+
+  /**
+   * 查询全部有效的用户角色关联
+   *
+   * <p>仅返回 userId 与 roleId，不过滤角色状态（角色状态由 RBAC 快照在求值时判断）。
+   *
+   * @return 用户角色关联列表
+   */
+  @Select("SELECT user_id, role_id FROM sys_user_role WHERE deleted = 0")
+  List<UserRole> selectAllActiveLinks();
+
+  /**
+   * 查询指定用户的有效用户角色关联
+   *
+   * <p>不过滤角色状态，用于增量更新 RBAC 快照中的单个用户。
+   *
+   * @param userId 用户ID
+   * @return 用户角色关联列表
+   */
+  @Select("SELECT user_id, role_id FROM sys_user_role WHERE user_id = #{userId} AND deleted = 0")
+  List<UserRole> selectLinksByUserId(@Param("userId") String userId);
+
+  /**
+   * 批量建立用户角色关联
+   *
+   * <p>单条多行 INSERT。已存在的有效关联保持不变；已被逻辑删除的关联（uk_user_role 包含已删除行，
+   * 无法重复插入）恢复为有效。主键与审计字段由 MyBatis-Plus 在执行前为每个元素填充。
+   *
+   * @param links 用户角色关联列表（不能为空）
+   * @return 新增或恢复的关联数
+   */
+  @Insert(
+      "<script>"
+          + "INSERT INTO sys_user_role "
+          + "(id, user_id, role_id, deleted, created_at, updated_at, created_by, updated_by) VALUES "
+          + "<foreach collection='list' item='item' separator=','>"
+          + "(#{item.id}, #{item.userId}, #{item.roleId}, 0, #{item.createdAt}, #{item.updatedAt}, "
+          + "#{item.createdBy}, #{item.updatedBy})"
+          + "</foreach>"
+          + " ON CONFLICT (user_id, role_id) DO UPDATE SET deleted = 0, "
+          + "updated_at = EXCLUDED.updated_at, updated_by = EXCLUDED.updated_by "
+          + "WHERE sys_user_role.deleted = 1"
+          + "</script>")
+  int insertLinks(@Param("list") List<UserRole> links);
 }
@@ -0,0 +1,25 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.user.model.dto;
+
+import lombok.Data;
+
+/**
+ * 用户权限聚合查询结果 DTO
+ *
+ * <p>{@code UserRoleMapper#selectAuthoritiesByUserId} 的结果映射，一次查询同时返回用户是否存在、 角色代码与去重后的权限代码。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Data
+public class UserAuthoritiesRowDTO {
+
+  /** 用户是否存在 */
+  private boolean userExists;
+
+  /** 角色代码（仅 ACTIVE 角色） */
+  private String[] roleCodes;
+
+  /** 权限代码（仅 ACTIVE 权限，已去重） */
+  private String[] permissionCodes;
+}
@@ -0,0 +1,25 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.user.model.enums;
+
+import lombok.Getter;
+
+/**
+ * 用户导入文件格式
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Getter
+public enum UserImportFormat {
+  /** CSV：首行为表头（username、nickname、email、phone，顺序不限），逗号分隔，支持双引号转义 */
+  CSV("text/csv"),
+
+  /** NDJSON：每行一个 JSON 对象，字段同 UserCreateDTO */
+  NDJSON("application/x-ndjson");
+
+  private final String mediaType;
+
+  UserImportFormat(String mediaType) {
+    this.mediaType = mediaType;
+  }
+}
@@ -0,0 +1,93 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.user.model.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * 用户导入进度 VO
+ *
+ * <p>导入接口以 NDJSON 流逐行输出，每行一个本对象：
+ *
+ * <ul>
+ *   <li>ERROR：单行失败，含 line（源文件行号）、username、message
+ *   <li>PROGRESS：每批处理完成后输出累计计数
+ *   <li>DONE：导入结束，含最终计数与耗时
+ * </ul>
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportProgressVO {
+
+  /** 单行失败 */
+  public static final String TYPE_ERROR = "ERROR";
+
+  /** 批次进度 */
+  public static final String TYPE_PROGRESS = "PROGRESS";
+
+  /** 导入结束 */
+  public static final String TYPE_DONE = "DONE";
+
+  /** 类型：ERROR、PROGRESS、DONE */
+  private String type;
+
+  /** 源文件行号（仅 ERROR） */
+  private Long line;
+
+  /** 用户名（仅 ERROR） */
+  private String username;
+
+  /** 失败原因（仅 ERROR） */
+  private String message;
+
+  /** 已处理行数 */
+  private Long processed;
+
+  /** 成功导入数 */
+  private Long imported;
+
+  /** 失败行数 */
+  private Long failed;
+
+  /** 耗时（毫秒，仅 DONE） */
+  private Long elapsedMillis;
+
+  /**
+   * 创建单行失败记录
+   *
+   * @param line 源文件行号
+   * @param username 用户名（可能为 null）
+   * @param message 失败原因
+   * @return 进度 VO
+   */
+  public static UserImportProgressVO error(long line, String username, String message) {
+    UserImportProgressVO vo = new UserImportProgressVO();
+    vo.setType(TYPE_ERROR);
+    vo.setLine(line);
+    vo.setUsername(username);
+    vo.setMessage(message);
+    return vo;
+  }
+
+  /**
+   * 创建计数记录
+   *
+   * @param type 类型（PROGRESS 或 DONE）
+   * @param processed 已处理行数
+   * @param imported 成功导入数
+   * @param failed 失败行数
+   * @return 进度 VO
+   */
+  public static UserImportProgressVO counts(
+      String type, long processed, long imported, long failed) {
+    UserImportProgressVO vo = new UserImportProgressVO();
+    vo.setType(type);
+    vo.setProcessed(processed);
+    vo.setImported(imported);
+    vo.setFailed(failed);
+    return vo;
+  }
+}
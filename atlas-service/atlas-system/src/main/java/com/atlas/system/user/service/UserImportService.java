@@ -0,0 +1,38 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.user.service;
+
+import com.atlas.common.feature.core.exception.BusinessException;
+import com.atlas.common.feature.core.exception.OverloadException;
+import com.atlas.system.user.model.enums.UserImportFormat;
+import com.atlas.system.user.model.vo.UserImportProgressVO;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * 用户批量导入服务接口
+ *
+ * <p>流式读取 CSV / NDJSON，按批校验、哈希并写入，逐行报告失败、逐批报告进度。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+public interface UserImportService {
+
+  /**
+   * 导入用户
+   *
+   * <p>所有用户使用系统设置 user.default.password 作为初始密码。单行失败（格式错误、校验失败、用户名重复或已存在）
+   * 不影响其他行；每批在独立事务中写入，批量写入失败时该批全部行报告失败。
+   *
+   * <p>前置检查（并发导入、默认密码设置、CSV 表头）在调用 listener 之前完成，失败时直接抛出异常。
+   *
+   * @param input 输入流（UTF-8，调用方负责关闭）
+   * @param format 文件格式
+   * @param listener 进度回调（ERROR / PROGRESS / DONE），在调用线程上执行
+   * @return 最终结果（DONE）
+   * @throws OverloadException 如果已有导入任务在执行，错误码：050003
+   * @throws BusinessException 如果默认密码设置项不存在，错误码：032301
+   */
+  UserImportProgressVO importUsers(
+      InputStream input, UserImportFormat format, Consumer<UserImportProgressVO> listener);
+}
@@ -8,6 +8,8 @@ import com.atlas.system.user.model.dto.UserCreateDTO;
 import com.atlas.system.user.model.dto.UserQueryDTO;
 import com.atlas.system.user.model.dto.UserUpdateDTO;
 import com.atlas.system.user.model.vo.UserListVO;
+import com.atlas.system.util.ExportFormat;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -123,4 +125,17 @@ public interface UserService {
    * @return 分页结果，列表项为 UserListVO（不包含密码）
    */
   PageResult<UserListVO> listUsersPage(UserQueryDTO query);
+
+  /**
+   * 流式导出用户
+   *
+   * <p>过滤条件同分页查询（username、status），忽略分页与排序参数；按创建时间顺序以数据库游标逐行写出，
+   * 内存占用与数据量无关，不执行 COUNT。
+   *
+   * @param query 查询条件（可为 null）
+   * @param format 导出格式
+   * @param out 输出流（不会被关闭）
+   * @return 导出行数
+   */
+  long exportUsers(UserQueryDTO query, ExportFormat format, OutputStream out);
 }
@@ -3,13 +3,15 @@ package com.atlas.system.user.service.impl;
 
 import com.atlas.common.feature.core.exception.BusinessException;
 import com.atlas.common.feature.core.page.PageResult;
+import com.atlas.common.infra.web.executor.AdmissionControlledExecutor;
 import com.atlas.system.api.v1.model.dto.UserDTO;
-import com.atlas.system.api.v1.model.enums.UserStatus;
+import com.atlas.system.config.SystemProperties;
 import com.atlas.system.constant.SystemErrorCode;
+import com.atlas.system.permission.event.AuthoritiesChangedEvent;
 import com.atlas.system.role.mapper.RoleMapper;
 import com.atlas.system.role.model.entity.Role;
-import com.atlas.system.settings.mapper.SystemSettingMapper;
-import com.atlas.system.settings.model.entity.SystemSetting;
+import com.atlas.system.settings.cache.SystemSettingCache;
+import com.atlas.system.user.convert.UserConverter;
 import com.atlas.system.user.mapper.UserMapper;
 import com.atlas.system.user.mapper.UserRoleMapper;
 import com.atlas.system.user.model.dto.UserCreateDTO;
@@ -19,17 +21,30 @@ import com.atlas.system.user.model.entity.User;
 import com.atlas.system.user.model.entity.UserRole;
 import com.atlas.system.user.model.vo.UserListVO;
 import com.atlas.system.user.service.UserService;
+import com.atlas.system.util.CursorExporter;
+import com.atlas.system.util.ExportFormat;
+import com.atlas.system.util.PageCountCache;
+import com.atlas.system.util.QueryFilters;
 import com.atlas.system.util.SortHelper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -52,6 +67,7 @@ import org.springframework.util.StringUtils;
  * @author Atlas Team
  * @since 1.0.0
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
@@ -60,7 +76,13 @@ public class UserServiceImpl implements UserService {
   private final UserRoleMapper userRoleMapper;
   private final RoleMapper roleMapper;
   private final PasswordEncoder passwordEncoder;
-  private final SystemSettingMapper systemSettingMapper;
+  private final SystemSettingCache systemSettingCache;
+  private final AdmissionControlledExecutor passwordVerifyExecutor;
+  private final SystemProperties systemProperties;
+  private final PageCountCache pageCountCache;
+  private final ObjectMapper objectMapper;
+  private final UserConverter userConverter;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * 根据用户ID查询用户信息
@@ -75,7 +97,7 @@ public class UserServiceImpl implements UserService {
     if (user == null || "DELETED".equals(user.getStatus())) {
       throw new BusinessException(SystemErrorCode.USER_NOT_FOUND, "用户不存在");
     }
-    return convertToDTO(user);
+    return userConverter.toDTO(user);
   }
 
   /**
@@ -91,12 +113,14 @@ public class UserServiceImpl implements UserService {
     if (user == null) {
       throw new BusinessException(SystemErrorCode.USER_NOT_FOUND, "用户不存在");
     }
-    return convertToDTO(user);
+    return userConverter.toDTO(user);
   }
 
   /**
    * 验证用户密码
    *
+   * <p>校验成功且存储的哈希不符合当前策略（无算法前缀或强度偏低）时，透明地用当前策略重新哈希并回写。
+   *
    * @param username 用户名
    * @param password 明文密码
    * @return 加密后的密码，如果用户不存在或密码错误则抛出 BusinessException
@@ -107,25 +131,49 @@ public class UserServiceImpl implements UserService {
     if (user == null) {
       throw new BusinessException(SystemErrorCode.USER_NOT_FOUND, "用户不存在");
     }
-    // 验证密码
-    if (!passwordEncoder.matches(password, user.getPassword())) {
+    // 验证密码（在有界工作池中执行，池满时快速失败，避免挤占 Web 线程）
+    boolean matched =
+        passwordVerifyExecutor.execute(() -> passwordEncoder.matches(password, user.getPassword()));
+    if (!matched) {
       throw new BusinessException(SystemErrorCode.USER_NOT_FOUND, "用户名或密码错误");
     }
+    // 按当前策略升级哈希
+    if (systemProperties.getPassword().isRehashOnLogin()
+        && passwordEncoder.upgradeEncoding(user.getPassword())) {
+      return rehashPassword(user, password);
+    }
     // 返回加密后的密码（用于 Auth 服务后续验证）
     return user.getPassword();
   }
 
   /**
-   * 将 User 实体转换为 UserDTO（原则 20：使用 BeanUtils，status 需手写转枚举）
+   * 使用当前策略重新哈希并回写密码
+   *
+   * <p>以旧哈希作为更新条件，避免覆盖并发修改的新密码；升级失败不影响本次登录。
    *
    * @param user 用户实体
-   * @return 用户 DTO
+   * @param password 明文密码
+   * @return 当前有效的加密密码
    */
-  private UserDTO convertToDTO(User user) {
-    UserDTO dto = new UserDTO();
-    BeanUtils.copyProperties(user, dto);
-    dto.setStatus(convertStatus(user.getStatus()));
-    return dto;
+  private String rehashPassword(User user, String password) {
+    String oldHash = user.getPassword();
+    try {
+      String newHash = passwordVerifyExecutor.execute(() -> passwordEncoder.encode(password));
+      int updated =
+          userMapper.update(
+              null,
+              new LambdaUpdateWrapper<User>()
+                  .eq(User::getUserId, user.getUserId())
+                  .eq(User::getPassword, oldHash)
+                  .set(User::getPassword, newHash));
+      if (updated > 0) {
+        log.info("密码哈希已升级: userId={}", user.getUserId());
+        return newHash;
+      }
+    } catch (RuntimeException e) {
+      log.warn("密码哈希升级失败，保留原哈希: userId={}, error={}", user.getUserId(), e.getMessage());
+    }
+    return oldHash;
   }
 
   /**
@@ -143,25 +191,20 @@ public class UserServiceImpl implements UserService {
     if (existingUser != null) {
       throw new BusinessException(SystemErrorCode.USERNAME_ALREADY_EXISTS, "用户名已存在");
     }
-    SystemSetting systemSetting =
-        systemSettingMapper.selectOne(
-            new LambdaQueryWrapper<SystemSetting>()
-                .eq(SystemSetting::getKey, "user.default.password"));
-    if (systemSetting == null) {
-      throw new BusinessException(SystemErrorCode.SYSTEM_SETTING_NOT_FOUND, "设置项不存在");
-    }
+    String defaultPassword = systemSettingCache.getRequiredString("user.default.password");
     // 创建用户实体
     User user = new User();
     user.setUsername(userCreateDTO.getUsername());
-    user.setPassword(passwordEncoder.encode(systemSetting.getValue()));
+    user.setPassword(passwordEncoder.encode(defaultPassword));
     user.setNickname(userCreateDTO.getNickname());
     user.setEmail(userCreateDTO.getEmail());
     user.setPhone(userCreateDTO.getPhone());
     user.setStatus("ACTIVE");
     // 保存用户（createdAt/updatedAt 由 AuditMetaObjectHandler 填充）
     userMapper.insert(user);
+    pageCountCache.invalidate("sys_user");
     // 返回用户 DTO
-    return convertToDTO(user);
+    return userConverter.toDTO(user);
   }
 
   /**
@@ -180,24 +223,21 @@ public class UserServiceImpl implements UserService {
     if (user == null || "DELETED".equals(user.getStatus())) {
       throw new BusinessException(SystemErrorCode.USER_NOT_FOUND, "用户不存在");
     }
-    for (String roleId : roleIds) {
-      Role role = roleMapper.selectById(roleId);
-      if (role == null || "DELETED".equals(role.getStatus())) {
-        throw new BusinessException(SystemErrorCode.ROLE_NOT_FOUND, "角色不存在");
-      }
-      UserRole existingUserRole =
-          userRoleMapper.selectOne(
-              new LambdaQueryWrapper<UserRole>()
-                  .eq(UserRole::getUserId, userId)
-                  .eq(UserRole::getRoleId, roleId));
-      if (existingUserRole != null) {
-        continue;
-      }
-      UserRole userRole = new UserRole();
-      userRole.setUserId(userId);
-      userRole.setRoleId(roleId);
-      userRoleMapper.insert(userRole);
+    Set<String> distinctRoleIds = requireActiveRoles(roleIds);
+    List<UserRole> links =
+        distinctRoleIds.stream()
+            .map(
+                roleId -> {
+                  UserRole userRole = new UserRole();
+                  userRole.setUserId(userId);
+                  userRole.setRoleId(roleId);
+                  return userRole;
+                })
+            .collect(Collectors.toList());
+    if (userRoleMapper.insertLinks(links) == 0) {
+      return;
     }
+    eventPublisher.publishEvent(AuthoritiesChangedEvent.ofUser(userId, "roles assigned"));
   }
 
   /**
@@ -230,7 +270,8 @@ public class UserServiceImpl implements UserService {
       user.setAvatar(userUpdateDTO.getAvatar());
     }
     userMapper.updateById(user);
-    return convertToDTO(user);
+    pageCountCache.invalidate("sys_user");
+    return userConverter.toDTO(user);
   }
 
   /**
@@ -247,6 +288,8 @@ public class UserServiceImpl implements UserService {
     }
     user.setStatus("DELETED");
     userMapper.updateById(user);
+    pageCountCache.invalidate("sys_user");
+    eventPublisher.publishEvent(AuthoritiesChangedEvent.ofUser(userId, "user deleted"));
   }
 
   /**
@@ -265,16 +308,33 @@ public class UserServiceImpl implements UserService {
     if (user == null || "DELETED".equals(user.getStatus())) {
       throw new BusinessException(SystemErrorCode.USER_NOT_FOUND, "用户不存在");
     }
-    for (String roleId : roleIds) {
-      Role role = roleMapper.selectById(roleId);
-      if (role == null || "DELETED".equals(role.getStatus())) {
-        throw new BusinessException(SystemErrorCode.ROLE_NOT_FOUND, "角色不存在");
-      }
-      userRoleMapper.delete(
-          new LambdaQueryWrapper<UserRole>()
-              .eq(UserRole::getUserId, userId)
-              .eq(UserRole::getRoleId, roleId));
+    Set<String> distinctRoleIds = requireActiveRoles(roleIds);
+    int removed =
+        userRoleMapper.delete(
+            new LambdaQueryWrapper<UserRole>()
+                .eq(UserRole::getUserId, userId)
+                .in(UserRole::getRoleId, distinctRoleIds));
+    if (removed == 0) {
+      return;
     }
+    eventPublisher.publishEvent(AuthoritiesChangedEvent.ofUser(userId, "roles removed"));
+  }
+
+  /**
+   * 批量校验角色存在且未删除（一次查询）
+   *
+   * @param roleIds 角色ID列表
+   * @return 去重后的角色ID（保持入参顺序）
+   * @throws BusinessException 如果任一角色不存在或已删除，错误码：032101
+   */
+  private Set<String> requireActiveRoles(List<String> roleIds) {
+    Set<String> distinctRoleIds = new LinkedHashSet<>(roleIds);
+    List<Role> roles = roleMapper.selectByIds(distinctRoleIds);
+    long activeCount = roles.stream().filter(role -> !"DELETED".equals(role.getStatus())).count();
+    if (activeCount != distinctRoleIds.size()) {
+      throw new BusinessException(SystemErrorCode.ROLE_NOT_FOUND, "角色不存在");
+    }
+    return distinctRoleIds;
   }
 
   /**
@@ -289,8 +349,76 @@ public class UserServiceImpl implements UserService {
     int pageSize = Optional.ofNullable(query).map(UserQueryDTO::getSizeSafe).orElse(10);
     String sort = Optional.ofNullable(query).map(UserQueryDTO::getSort).orElse(null);
 
+    LambdaQueryWrapper<User> wrapper = buildListWrapper(query);
+    if (query != null && query.isCursorPaging()) {
+      // 游标分页：按 (created_at, id) seek，不执行 OFFSET 与 COUNT
+      byte[] key = systemProperties.getPage().resolveCursorKey();
+      boolean asc =
+          SortHelper.applyKeyset(wrapper, USER_KEYSET, sort, query.getCursor(), pageSize, key);
+      SortHelper.KeysetPage<User> keysetPage =
+          SortHelper.toKeysetPage(userMapper.selectList(wrapper), USER_KEYSET, pageSize, asc, key);
+      List<UserListVO> list =
+          keysetPage.records().stream().map(userConverter::toListVO).collect(Collectors.toList());
+      return PageResult.ofCursor(list, pageSize, keysetPage.nextCursor());
+    }
+    // 总数在排序之前统计（COUNT 不需要 ORDER BY），按过滤条件缓存
+    PageCountCache.Total total = null;
+    if (query == null || query.isTotalRequired()) {
+      String filterKey =
+          Optional.ofNullable(query)
+              .map(
+                  q -> PageCountCache.filterKey("username", q.getUsername(), "status", q.getStatus()))
+              .orElse("");
+      total =
+          pageCountCache.count(
+              "sys_user",
+              filterKey,
+              () -> userMapper.selectCount(wrapper),
+              () -> PageCountCache.parsePlanRows(userMapper.explainCount(wrapper)));
+    }
+    String username =
+        Optional.ofNullable(query)
+            .map(UserQueryDTO::getUsername)
+            .filter(StringUtils::hasText)
+            .orElse(null);
+    Page<User> pageReq = new Page<>(pageNum, pageSize, false);
+    Page<User> resultPage;
+    if (username != null && !StringUtils.hasText(sort)) {
+      // 有搜索词且未指定排序：按相似度排序，最接近的结果排在前面
+      resultPage = userMapper.selectPageOrderBySimilarity(pageReq, wrapper, username);
+    } else {
+      applySort(wrapper, sort);
+      resultPage = userMapper.selectPage(pageReq, wrapper);
+    }
+    List<UserListVO> list =
+        resultPage.getRecords().stream().map(userConverter::toListVO).collect(Collectors.toList());
+    if (total == null) {
+      return PageResult.ofWithoutTotal(list, pageNum, pageSize);
+    }
+    PageResult<UserListVO> result = PageResult.of(list, total.value(), pageNum, pageSize);
+    result.setTotalEstimated(total.estimated());
+    return result;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long exportUsers(UserQueryDTO query, ExportFormat format, OutputStream out) {
+    try (Cursor<User> cursor = userMapper.selectExportCursor(buildListWrapper(query))) {
+      return CursorExporter.write(cursor, format, USER_EXPORT_COLUMNS, objectMapper, out);
+    } catch (IOException e) {
+      throw new UncheckedIOException("导出用户失败", e);
+    }
+  }
+
+  /**
+   * 构建列表过滤条件（分页查询与导出共用）
+   *
+   * @param query 查询条件（可为 null）
+   * @return 查询包装器（不含排序）
+   */
+  private LambdaQueryWrapper<User> buildListWrapper(UserQueryDTO query) {
     LambdaQueryWrapper<User> wrapper = new LambdaQueryWrapper<>();
-    wrapper.ne(User::getStatus, "DELETED");
+    QueryFilters.notDeleted(wrapper);
     Optional.ofNullable(query)
         .ifPresent(
             q -> {
@@ -301,18 +429,27 @@ public class UserServiceImpl implements UserService {
                 wrapper.eq(User::getStatus, q.getStatus());
               }
             });
-    applySort(wrapper, sort);
-
-    Page<User> pageReq = new Page<>(pageNum, pageSize);
-    Page<User> resultPage = userMapper.selectPage(pageReq, wrapper);
-    List<UserListVO> list =
-        resultPage.getRecords().stream().map(this::convertToListVO).collect(Collectors.toList());
-    return PageResult.of(list, resultPage.getTotal(), pageNum, pageSize);
+    return wrapper;
   }
 
+  /** 导出列（与列表 VO 字段一致，不含密码等敏感字段） */
+  private static final List<CursorExporter.Column<User>> USER_EXPORT_COLUMNS =
+      List.of(
+          new CursorExporter.Column<>("userId", User::getUserId),
+          new CursorExporter.Column<>("username", User::getUsername),
+          new CursorExporter.Column<>("nickname", User::getNickname),
+          new CursorExporter.Column<>("email", User::getEmail),
+          new CursorExporter.Column<>("phone", User::getPhone),
+          new CursorExporter.Column<>("status", User::getStatus),
+          new CursorExporter.Column<>("avatar", User::getAvatar),
+          new CursorExporter.Column<>("createdAt", User::getCreatedAt));
+
   private static final Map<String, BiConsumer<LambdaQueryWrapper<User>, Boolean>> USER_SORT_FIELDS =
       new HashMap<>();
 
+  private static final SortHelper.KeysetSpec<User> USER_KEYSET =
+      new SortHelper.KeysetSpec<>(User::getCreatedAt, "created_at", User::getUserId, "user_id");
+
   static {
     USER_SORT_FIELDS.put("username", (w, asc) -> w.orderBy(true, asc, User::getUsername));
     USER_SORT_FIELDS.put("createdat", (w, asc) -> w.orderBy(true, asc, User::getCreatedAt));
@@ -323,34 +460,4 @@ public class UserServiceImpl implements UserService {
   private void applySort(LambdaQueryWrapper<User> wrapper, String sort) {
     SortHelper.applySort(wrapper, sort, w -> w.orderByDesc(User::getCreatedAt), USER_SORT_FIELDS);
   }
-
-  /**
-   * 将 User 实体转换为 UserListVO（原则 20：使用 BeanUtils）
-   *
-   * @param user 用户实体
-   * @return 列表项 VO
-   */
-  private UserListVO convertToListVO(User user) {
-    UserListVO vo = new UserListVO();
-    BeanUtils.copyProperties(user, vo);
-    vo.setCreatedAt(user.getCreatedAt());
-    return vo;
-  }
-
-  /**
-   * 将数据库状态字符串转换为 UserStatus 枚举
-   *
-   * @param status 数据库状态字符串
-   * @return UserStatus 枚举值
-   */
-  private UserStatus convertStatus(String status) {
-    if (status == null) {
-      return UserStatus.INACTIVE;
-    }
-    try {
-      return UserStatus.valueOf(status);
-    } catch (IllegalArgumentException e) {
-      return UserStatus.INACTIVE;
-    }
-  }
 }
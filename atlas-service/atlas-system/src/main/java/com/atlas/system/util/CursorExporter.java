@@ -0,0 +1,143 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import org.apache.ibatis.cursor.Cursor;
+
+/**
+ * 游标流式导出工具类
+ *
+ * <p>逐行读取 MyBatis {@link Cursor}（服务端按 fetchSize 分批返回），逐行写入响应输出流，不在内存中累积结果， 也不执行 COUNT。
+ * 输出流写满时阻塞读取线程，慢客户端自然形成背压，不会导致数据在服务端堆积。
+ *
+ * <p>调用方必须在事务内消费游标：PostgreSQL 驱动只有在关闭自动提交时才按 fetchSize 分批拉取， 否则会一次性读入全部结果。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+public final class CursorExporter {
+
+  /** 每写出多少行刷新一次输出流，让客户端尽早收到数据 */
+  private static final int FLUSH_EVERY_ROWS = 1000;
+
+  private static final char BOM = '\uFEFF';
+
+  private CursorExporter() {}
+
+  /**
+   * 导出列定义
+   *
+   * @param name 列名（CSV 表头 / JSON 字段名）
+   * @param getter 取值函数
+   * @param <T> 行类型
+   */
+  public record Column<T>(String name, Function<T, Object> getter) {}
+
+  /**
+   * 将游标中的全部行写入输出流
+   *
+   * @param cursor 游标（由调用方关闭）
+   * @param format 导出格式
+   * @param columns 导出列
+   * @param objectMapper JSON 序列化器（NDJSON 使用，保证日期等格式与接口返回一致）
+   * @param out 输出流（不会被关闭）
+   * @param <T> 行类型
+   * @return 导出行数
+   * @throws IOException 如果写入失败（通常为客户端断开）
+   */
+  public static <T> long write(
+      Cursor<T> cursor,
+      ExportFormat format,
+      List<Column<T>> columns,
+      ObjectMapper objectMapper,
+      OutputStream out)
+      throws IOException {
+    return format == ExportFormat.CSV
+        ? writeCsv(cursor, columns, out)
+        : writeNdjson(cursor, columns, objectMapper, out);
+  }
+
+  private static <T> long writeNdjson(
+      Cursor<T> cursor, List<Column<T>> columns, ObjectMapper objectMapper, OutputStream out)
+      throws IOException {
+    long rows = 0;
+    try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+      for (T row : cursor) {
+        generator.writeStartObject();
+        for (Column<T> column : columns) {
+          generator.writeObjectField(column.name(), column.getter().apply(row));
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        if (++rows % FLUSH_EVERY_ROWS == 0) {
+          generator.flush();
+        }
+      }
+      generator.flush();
+    }
+    return rows;
+  }
+
+  private static <T> long writeCsv(Cursor<T> cursor, List<Column<T>> columns, OutputStream out)
+      throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writer.write(BOM);
+    for (int i = 0; i < columns.size(); i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      writer.write(columns.get(i).name());
+    }
+    writer.write("\r\n");
+    long rows = 0;
+    for (T row : cursor) {
+      for (int i = 0; i < columns.size(); i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        Object value = columns.get(i).getter().apply(row);
+        if (value != null) {
+          writer.write(escapeCsv(value.toString()));
+        }
+      }
+      writer.write("\r\n");
+      if (++rows % FLUSH_EVERY_ROWS == 0) {
+        writer.flush();
+      }
+    }
+    writer.flush();
+    return rows;
+  }
+
+  /**
+   * 转义 CSV 字段
+   *
+   * <p>含逗号、双引号或换行时以双引号包裹；以 = + - @、制表符或回车开头的值前置单引号，防止在电子表格中被当作公式执行。
+   *
+   * @param value 原始值
+   * @return 转义后的值
+   */
+  static String escapeCsv(String value) {
+    String text = value;
+    if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+      text = "'" + text;
+    }
+    boolean quote =
+        text.indexOf(',') >= 0
+            || text.indexOf('"') >= 0
+            || text.indexOf('\n') >= 0
+            || text.indexOf('\r') >= 0;
+    return quote ? '"' + text.replace("\"", "\"\"") + '"' : text;
+  }
+}
@@ -0,0 +1,58 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.util;
+
+import com.atlas.common.feature.core.constant.CommonErrorCode;
+import com.atlas.common.feature.core.exception.ParameterException;
+import java.util.Locale;
+import lombok.Getter;
+
+/**
+ * 导出文件格式
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Getter
+public enum ExportFormat {
+  /** NDJSON：每行一个 JSON 对象 */
+  NDJSON("application/x-ndjson", "ndjson"),
+
+  /** CSV：UTF-8（带 BOM，便于 Excel 识别），首行为表头 */
+  CSV("text/csv", "csv");
+
+  private final String mediaType;
+  private final String extension;
+
+  ExportFormat(String mediaType, String extension) {
+    this.mediaType = mediaType;
+    this.extension = extension;
+  }
+
+  /**
+   * 解析请求参数中的格式
+   *
+   * @param value 参数值（ndjson / csv，忽略大小写；为空时默认 NDJSON）
+   * @return 导出格式
+   * @throws ParameterException 如果格式不支持，错误码：051002
+   */
+  public static ExportFormat of(String value) {
+    if (value == null || value.isBlank()) {
+      return NDJSON;
+    }
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new ParameterException(CommonErrorCode.PARAM_FORMAT_ERROR, "不支持的导出格式: " + value);
+    }
+  }
+
+  /**
+   * 生成下载响应的 Content-Disposition 头
+   *
+   * @param baseName 文件名（不含扩展名）
+   * @return Content-Disposition 头的值
+   */
+  public String attachment(String baseName) {
+    return "attachment; filename=\"" + baseName + "." + extension + "\"";
+  }
+}
@@ -0,0 +1,152 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.util;
+
+import com.atlas.common.feature.core.constant.CommonErrorCode;
+import com.atlas.common.feature.core.exception.OverloadException;
+import com.atlas.system.config.SystemProperties;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+/**
+ * 流式导出执行器
+ *
+ * <p>导出在只读事务内以游标逐行写出，整个下载期间占用一个数据库连接。为避免导出耗尽连接池：
+ *
+ * <ul>
+ *   <li>限制同时执行的导出数（max-concurrent），超出时立即返回 429，不排队
+ *   <li>限制单次导出的总时长（timeout-seconds）：超时后下一次写出失败，事务回滚并释放连接，慢客户端同样受限
+ *   <li>尚未写出数据时失败：重置响应，由全局异常处理返回 JSON 错误；已写出部分数据时失败：记录日志后重新抛出，
+ *       全局异常处理不再写入错误体，由容器中断连接，客户端可感知下载不完整
+ * </ul>
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ExportRunner {
+
+  private static final long RETRY_AFTER_SECONDS = 5L;
+
+  private final Semaphore permits;
+  private final long timeoutNanos;
+
+  /**
+   * 创建导出执行器
+   *
+   * @param systemProperties 系统配置
+   */
+  public ExportRunner(SystemProperties systemProperties) {
+    SystemProperties.ExportConfig config = systemProperties.getExport();
+    this.permits = new Semaphore(Math.max(1, config.getMaxConcurrent()));
+    this.timeoutNanos = TimeUnit.SECONDS.toNanos(Math.max(1L, config.getTimeoutSeconds()));
+  }
+
+  /**
+   * 导出任务
+   *
+   * <p>实现方在事务内将数据写入输出流（不关闭输出流），返回导出行数。
+   */
+  @FunctionalInterface
+  public interface Task {
+
+    /**
+     * 执行导出
+     *
+     * @param out 输出流
+     * @return 导出行数
+     */
+    long export(OutputStream out);
+  }
+
+  /**
+   * 执行导出并写入响应
+   *
+   * @param name 导出名称（用于文件名与日志）
+   * @param format 导出格式
+   * @param response HTTP 响应
+   * @param task 导出任务
+   * @throws IOException 如果获取响应输出流失败
+   * @throws OverloadException 如果同时执行的导出数已达上限，错误码：050003
+   */
+  public void run(String name, ExportFormat format, HttpServletResponse response, Task task)
+      throws IOException {
+    if (!permits.tryAcquire()) {
+      throw new OverloadException(
+          CommonErrorCode.TOO_MANY_REQUESTS, "导出任务过多，请稍后重试", RETRY_AFTER_SECONDS);
+    }
+    long start = System.nanoTime();
+    try {
+      response.setContentType(format.getMediaType());
+      response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+      response.setHeader(HttpHeaders.CONTENT_DISPOSITION, format.attachment(name));
+      long rows = task.export(new DeadlineOutputStream(response.getOutputStream(), start));
+      log.info(
+          "导出完成: name={}, rows={}, elapsedMillis={}",
+          name,
+          rows,
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    } catch (RuntimeException e) {
+      if (!response.isCommitted()) {
+        response.reset();
+        throw e;
+      }
+      log.warn(
+          "导出中途失败，已中断响应: name={}, elapsedMillis={}, reason={}",
+          name,
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+          e.getMessage());
+      throw e;
+    } finally {
+      permits.release();
+    }
+  }
+
+  /** 超过导出时长上限后拒绝继续写出的输出流 */
+  private final class DeadlineOutputStream extends FilterOutputStream {
+
+    private final long start;
+
+    DeadlineOutputStream(OutputStream out, long start) {
+      super(out);
+      this.start = start;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      checkDeadline();
+      out.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      checkDeadline();
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      checkDeadline();
+      out.flush();
+    }
+
+    @Override
+    public void close() {
+      // 响应输出流由容器关闭
+    }
+
+    private void checkDeadline() throws IOException {
+      if (System.nanoTime() - start > timeoutNanos) {
+        throw new IOException("导出超时");
+      }
+    }
+  }
+}
@@ -0,0 +1,159 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.util;
+
+import com.atlas.system.config.SystemProperties;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 分页总数缓存
+ *
+ * <p>翻页时过滤条件不变，COUNT 结果也不变；带 {@code LIKE '%x%'} 的 COUNT 又是全表扫描。 因此按"表 + 规范化过滤条件"缓存总数：
+ *
+ * <ul>
+ *   <li>条目短时间有效（默认 30 秒），兜底多实例部署下其他实例的写操作
+ *   <li>写操作调用 {@link #invalidate}：按表递增代数，已缓存与正在计算的旧结果全部作废；在事务中时提交后再次递增，
+ *       避免提交前并发读取把旧总数写回缓存
+ *   <li>提供估算函数时先读取执行计划估算行数（毫秒级），不低于阈值则直接返回估算值，不再执行 COUNT
+ * </ul>
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PageCountCache {
+
+  private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\"\\s*:\\s*(\\d+)");
+
+  private final SystemProperties systemProperties;
+
+  private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  /**
+   * 获取总数
+   *
+   * @param table 表名（失效粒度）
+   * @param filterKey 规范化的过滤条件，见 {@link #filterKey}
+   * @param exactCounter 精确计数（COUNT 查询）
+   * @param estimator 估算计数（可为 null，表示不估算）
+   * @return 总数
+   */
+  public Total count(
+      String table, String filterKey, LongSupplier exactCounter, LongSupplier estimator) {
+    SystemProperties.PageConfig config = systemProperties.getPage();
+    if (!config.isCountCacheEnabled()) {
+      return compute(config, exactCounter, estimator);
+    }
+    String key = table + '|' + filterKey;
+    long generation = generation(table).get();
+    Entry entry = entries.get(key);
+    if (entry != null && entry.generation() == generation && entry.expiresAt() > System.nanoTime()) {
+      return entry.total();
+    }
+    Total total = compute(config, exactCounter, estimator);
+    if (generation(table).get() == generation) {
+      if (entries.size() >= config.getCountCacheMaxSize()) {
+        entries.clear();
+      }
+      long ttlNanos = TimeUnit.SECONDS.toNanos(config.getCountCacheTtlSeconds());
+      entries.put(key, new Entry(total, generation, System.nanoTime() + ttlNanos));
+    }
+    return total;
+  }
+
+  /**
+   * 使指定表的总数缓存失效（写操作后调用）
+   *
+   * @param table 表名
+   */
+  public void invalidate(String table) {
+    generation(table).incrementAndGet();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              generation(table).incrementAndGet();
+            }
+          });
+    }
+  }
+
+  /**
+   * 构造规范化过滤条件：忽略空值，按 "名称=值" 以 "&" 连接（调用方保证名称顺序固定）
+   *
+   * @param nameValues 名称、值交替排列
+   * @return 过滤条件键
+   */
+  public static String filterKey(String... nameValues) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i + 1 < nameValues.length; i += 2) {
+      String value = nameValues[i + 1];
+      if (value == null || value.isBlank()) {
+        continue;
+      }
+      if (!builder.isEmpty()) {
+        builder.append('&');
+      }
+      builder.append(nameValues[i]).append('=').append(value);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * 从 {@code EXPLAIN (FORMAT JSON)} 的输出中读取顶层节点的估算行数
+   *
+   * @param explainJson 执行计划 JSON
+   * @return 估算行数；无法解析时返回 -1
+   */
+  public static long parsePlanRows(String explainJson) {
+    if (explainJson == null) {
+      return -1L;
+    }
+    Matcher matcher = PLAN_ROWS.matcher(explainJson);
+    return matcher.find() ? Long.parseLong(matcher.group(1)) : -1L;
+  }
+
+  private Total compute(
+      SystemProperties.PageConfig config, LongSupplier exactCounter, LongSupplier estimator) {
+    long threshold = config.getEstimateCountThreshold();
+    if (estimator != null && threshold > 0) {
+      try {
+        long estimated = estimator.getAsLong();
+        if (estimated >= threshold) {
+          return new Total(estimated, true);
+        }
+      } catch (RuntimeException e) {
+        log.warn("估算分页总数失败，改用精确计数", e);
+      }
+    }
+    return new Total(exactCounter.getAsLong(), false);
+  }
+
+  private AtomicLong generation(String table) {
+    return generations.computeIfAbsent(table, t -> new AtomicLong());
+  }
+
+  /**
+   * 分页总数
+   *
+   * @param value 总数
+   * @param estimated 是否为估算值
+   */
+  public record Total(long value, boolean estimated) {}
+
+  private record Entry(Total total, long generation, long expiresAt) {}
+}
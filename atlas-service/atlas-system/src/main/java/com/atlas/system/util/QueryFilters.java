@@ -0,0 +1,33 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.util;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+
+/**
+ * 查询条件工具类
+ *
+ * <p>统一"排除已删除记录"的写法。sys_user、sys_role、sys_permission、sys_menu 上的部分索引均以 {@code WHERE status <>
+ * 'DELETED'} 为谓词， PostgreSQL 只有在查询条件以字面量形式包含该谓词时才能选用部分索引；{@code ne(..., "DELETED")}
+ * 生成的是绑定参数，在预编译语句切换为通用执行计划后无法匹配。因此这里以字面量拼接（不含任何外部输入）。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+public final class QueryFilters {
+
+  /** 未删除谓词，须与迁移脚本中部分索引的谓词保持一致 */
+  public static final String NOT_DELETED = "status <> 'DELETED'";
+
+  private QueryFilters() {}
+
+  /**
+   * 追加"未删除"条件
+   *
+   * @param wrapper 查询包装器
+   * @param <T> 实体类型
+   * @return 同一个 wrapper，便于链式调用
+   */
+  public static <T> LambdaQueryWrapper<T> notDeleted(LambdaQueryWrapper<T> wrapper) {
+    return wrapper.apply(NOT_DELETED);
+  }
+}
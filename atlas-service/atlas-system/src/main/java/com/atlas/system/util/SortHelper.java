@@ -1,10 +1,23 @@
 /*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
 package com.atlas.system.util;
 
+import com.atlas.common.feature.core.constant.CommonErrorCode;
+import com.atlas.common.feature.core.exception.ParameterException;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import org.springframework.util.StringUtils;
 
 /**
@@ -12,11 +25,21 @@ import org.springframework.util.StringUtils;
  *
  * <p>为分页/列表查询提供统一的 sort 参数解析与白名单应用，避免各 Service 重复实现。 sort 格式：字段名,asc 或 字段名,desc；未指定方向时默认 asc。
  *
+ * <p>同时提供游标（keyset）分页：按 (created_at, id) 排序，以 {@code WHERE (created_at, id) < (?, ?)} 定位，
+ * 借助 (created_at, id) 复合索引直接跳到上一页末尾，任意深度的翻页代价与首页相同。 游标为不透明字符串，编码上一页最后一行的排序键与
+ * ID，并以 HMAC-SHA256 签名防篡改。
+ *
  * @author Atlas Team
  * @since 1.0.0
  */
 public final class SortHelper {
 
+  private static final String CURSOR_VERSION = "v1";
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+  private static final int SIGNATURE_BYTES = 16;
+  private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder BASE64_DECODER = Base64.getUrlDecoder();
+
   private SortHelper() {}
 
   /**
@@ -48,4 +71,153 @@ public final class SortHelper {
       defaultOrder.accept(wrapper);
     }
   }
+
+  /**
+   * 对 wrapper 应用游标分页：seek 条件、(created_at, id) 排序与 LIMIT size + 1
+   *
+   * <p>游标模式只支持按创建时间排序（sort 为空时默认倒序，可指定 createdAt/createTime 的方向），
+   * 其他排序字段无法保证与索引一致，直接拒绝。多取一行用于判断是否存在下一页，见 {@link #toKeysetPage}。
+   *
+   * @param wrapper 查询包装器（已包含业务过滤条件）
+   * @param spec 实体的游标列定义
+   * @param sort 排序字符串
+   * @param cursor 上一页返回的游标；为空字符串表示首页
+   * @param size 每页条数
+   * @param key 游标签名密钥
+   * @param <T> 实体类型
+   * @return 是否升序（传给 {@link #toKeysetPage}）
+   * @throws ParameterException 如果排序字段不支持，或游标无效、被篡改、与排序方向不一致
+   */
+  public static <T> boolean applyKeyset(
+      LambdaQueryWrapper<T> wrapper,
+      KeysetSpec<T> spec,
+      String sort,
+      String cursor,
+      int size,
+      byte[] key) {
+    boolean asc = resolveKeysetDirection(sort);
+    if (StringUtils.hasText(cursor)) {
+      String[] fields = decodeCursor(cursor, key);
+      if (!(asc ? "asc" : "desc").equals(fields[1])) {
+        throw new ParameterException(CommonErrorCode.PARAM_FORMAT_ERROR, "分页游标与排序方向不一致");
+      }
+      LocalDateTime createdAt;
+      try {
+        createdAt = LocalDateTime.parse(fields[2]);
+      } catch (DateTimeParseException e) {
+        throw new ParameterException(CommonErrorCode.PARAM_FORMAT_ERROR, "分页游标无效", e);
+      }
+      // 行值比较，PostgreSQL 可直接使用 (created_at, id) 复合索引做范围扫描
+      wrapper.apply(
+          "(" + spec.createdAtColumn() + ", " + spec.idColumn() + ") " + (asc ? ">" : "<")
+              + " ({0}, {1})",
+          createdAt,
+          fields[3]);
+    }
+    wrapper.orderBy(true, asc, spec.createdAt()).orderBy(true, asc, spec.id());
+    wrapper.last("LIMIT " + (size + 1));
+    return asc;
+  }
+
+  /**
+   * 截取游标分页结果并生成下一页游标
+   *
+   * @param rows 按 {@link #applyKeyset} 查询得到的记录（最多 size + 1 条）
+   * @param spec 实体的游标列定义
+   * @param size 每页条数
+   * @param asc 是否升序
+   * @param key 游标签名密钥
+   * @param <T> 实体类型
+   * @return 当前页记录与下一页游标（无下一页时为 null）
+   */
+  public static <T> KeysetPage<T> toKeysetPage(
+      List<T> rows, KeysetSpec<T> spec, int size, boolean asc, byte[] key) {
+    if (rows.size() <= size) {
+      return new KeysetPage<>(rows, null);
+    }
+    List<T> page = rows.subList(0, size);
+    T last = page.get(size - 1);
+    String payload =
+        String.join(
+            "|",
+            CURSOR_VERSION,
+            asc ? "asc" : "desc",
+            String.valueOf(spec.createdAt().apply(last)),
+            spec.id().apply(last));
+    return new KeysetPage<>(page, encodeCursor(payload, key));
+  }
+
+  private static boolean resolveKeysetDirection(String sort) {
+    if (!StringUtils.hasText(sort)) {
+      return false;
+    }
+    String[] parts = sort.split(",");
+    String field = parts[0].trim().toLowerCase();
+    if (!"createdat".equals(field) && !"createtime".equals(field)) {
+      throw new ParameterException(CommonErrorCode.PARAM_FORMAT_ERROR, "游标分页仅支持按创建时间排序");
+    }
+    return parts.length <= 1 || !"desc".equalsIgnoreCase(parts[1].trim());
+  }
+
+  private static String encodeCursor(String payload, byte[] key) {
+    byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+    return BASE64.encodeToString(data) + "." + BASE64.encodeToString(sign(data, key));
+  }
+
+  private static String[] decodeCursor(String cursor, byte[] key) {
+    int dot = cursor.indexOf('.');
+    if (dot <= 0) {
+      throw new ParameterException(CommonErrorCode.PARAM_FORMAT_ERROR, "分页游标无效");
+    }
+    byte[] data;
+    byte[] signature;
+    try {
+      data = BASE64_DECODER.decode(cursor.substring(0, dot));
+      signature = BASE64_DECODER.decode(cursor.substring(dot + 1));
+    } catch (IllegalArgumentException e) {
+      throw new ParameterException(CommonErrorCode.PARAM_FORMAT_ERROR, "分页游标无效", e);
+    }
+    if (!MessageDigest.isEqual(sign(data, key), signature)) {
+      throw new ParameterException(CommonErrorCode.PARAM_FORMAT_ERROR, "分页游标无效");
+    }
+    String[] fields = new String(data, StandardCharsets.UTF_8).split("\\|", -1);
+    if (fields.length != 4 || !CURSOR_VERSION.equals(fields[0])) {
+      throw new ParameterException(CommonErrorCode.PARAM_FORMAT_ERROR, "分页游标无效");
+    }
+    return fields;
+  }
+
+  private static byte[] sign(byte[] data, byte[] key) {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+      return Arrays.copyOf(mac.doFinal(data), SIGNATURE_BYTES);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("游标签名失败", e);
+    }
+  }
+
+  /**
+   * 游标分页的列定义
+   *
+   * @param createdAt 创建时间属性
+   * @param createdAtColumn 创建时间列名
+   * @param id 主键属性
+   * @param idColumn 主键列名
+   * @param <T> 实体类型
+   */
+  public record KeysetSpec<T>(
+      SFunction<T, LocalDateTime> createdAt,
+      String createdAtColumn,
+      SFunction<T, String> id,
+      String idColumn) {}
+
+  /**
+   * 游标分页结果
+   *
+   * @param records 当前页记录
+   * @param nextCursor 下一页游标，无下一页时为 null
+   * @param <T> 实体类型
+   */
+  public record KeysetPage<T>(List<T> records, String nextCursor) {}
 }
@@ -0,0 +1,83 @@
+/*\n * Copyright (c) 2025 Atlas. All rights reserved.\n */
+package com.atlas.system.web;
+
+import com.atlas.common.feature.security.user.LoginUser;
+import com.atlas.common.infra.web.http.ConditionalRequests;
+import com.atlas.system.menu.cache.MenuTreeCache;
+import com.atlas.system.permission.rbac.RbacSnapshot;
+import com.atlas.system.permission.rbac.RbacSnapshotHolder;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 菜单与权限接口的 ETag 生成器
+ *
+ * <p>ETag 由进程内单调递增的版本号构成，计算成本为几次字段读取，不需要计算结果本身：
+ *
+ * <ul>
+ *   <li>完整菜单树：菜单树版本（{@link MenuTreeCache#getVersion()}）
+ *   <li>当前用户菜单树：菜单树版本 + RBAC 快照版本 + 用户ID
+ *   <li>用户权限信息：RBAC 快照版本（用户ID已包含在 URL 中）
+ * </ul>
+ *
+ * <p>版本号只在本进程内有意义，因此 ETag 中带有实例随机标识：请求落到其他实例时只会重新返回 200，不会误判为 304。
+ * RBAC 快照不可用（未启用或构建中）时返回 null，此时接口不做条件请求处理。两个版本号都只在内容变化时递增，
+ * 周期性重建与无变化的广播不会使 ETag 失效。
+ *
+ * <p>版本号须在计算结果之前读取，保证返回的内容不会比 ETag 更旧。
+ *
+ * @author Atlas Team
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class ResourceETags {
+
+  /** 实例标识，区分不同实例（或重启前后）的版本号 */
+  private final String instanceId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+  private final MenuTreeCache menuTreeCache;
+  private final RbacSnapshotHolder rbacSnapshotHolder;
+
+  /**
+   * 完整菜单树的 ETag
+   *
+   * @return ETag
+   */
+  public String menuTree() {
+    return ConditionalRequests.weakETag("m", instanceId, menuTreeCache.getVersion());
+  }
+
+  /**
+   * 当前用户菜单树的 ETag
+   *
+   * @param loginUser 当前登录用户
+   * @return ETag；未登录或 RBAC 快照不可用时返回 null
+   */
+  public String myMenuTree(LoginUser loginUser) {
+    RbacSnapshot snapshot = rbacSnapshotHolder.current();
+    if (loginUser == null || snapshot == null) {
+      return null;
+    }
+    return ConditionalRequests.weakETag(
+        "mm",
+        instanceId,
+        menuTreeCache.getVersion(),
+        snapshot.getVersion(),
+        loginUser.getUserId());
+  }
+
+  /**
+   * 用户权限信息的 ETag
+   *
+   * @return ETag；RBAC 快照不可用时返回 null
+   */
+  public String authorities() {
+    RbacSnapshot snapshot = rbacSnapshotHolder.current();
+    if (snapshot == null) {
+      return null;
+    }
+    return ConditionalRequests.weakETag("a", instanceId, snapshot.getVersion());
+  }
+}
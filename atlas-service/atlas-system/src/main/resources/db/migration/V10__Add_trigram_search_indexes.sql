@@ -0,0 +1,13 @@
+-- Flyway 迁移脚本 V10: 模糊搜索三元组（pg_trgm）索引
+-- 说明: 列表搜索使用 LIKE '%关键字%'，B-tree 索引（如 uk_username）无法使用，只能全表扫描；
+--       pg_trgm 的 GIN 索引支持任意位置的 LIKE 匹配（关键字不少于 3 个字符时可有效过滤），并提供 similarity() 用于相关度排序
+--       创建扩展需要数据库超级用户或具备 CREATE 权限的属主；受限环境请由 DBA 预先执行 CREATE EXTENSION pg_trgm
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_user_username_trgm ON sys_user USING gin (username gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_role_code_trgm ON sys_role USING gin (role_code gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_role_name_trgm ON sys_role USING gin (role_name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_permission_code_trgm ON sys_permission USING gin (permission_code gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_permission_name_trgm ON sys_permission USING gin (permission_name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_system_setting_key_trgm ON sys_system_setting USING gin (setting_key gin_trgm_ops);
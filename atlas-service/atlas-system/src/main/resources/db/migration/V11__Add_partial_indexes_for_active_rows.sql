@@ -0,0 +1,34 @@
+-- Flyway 迁移脚本 V11: 未删除记录的部分索引
+-- 说明: 几乎所有读取都带 status <> 'DELETED'；status 基数很低，idx_status 等普通 B-tree 索引基本不会被选用。
+--       改为在常用排序键上建立以 status <> 'DELETED' 为谓词的部分索引：已删除记录不进入索引，
+--       索引大小与扫描代价只随有效记录增长。查询须以字面量形式带上相同谓词（见 QueryFilters）
+--       username / role_code / permission_code 的等值查找已由唯一索引（uk_*）覆盖，不再重复建立部分索引
+--       (created_at, id) 复合索引同时支撑用户/角色/权限列表的游标分页（按行值比较定位，任意深度翻页只读取一页数据）
+
+-- ============================================
+-- 1. sys_user
+-- ============================================
+CREATE INDEX IF NOT EXISTS idx_user_created_at_id_active ON sys_user(created_at, user_id) WHERE status <> 'DELETED';
+
+-- ============================================
+-- 2. sys_role
+-- ============================================
+CREATE INDEX IF NOT EXISTS idx_role_created_at_id_active ON sys_role(created_at, role_id) WHERE status <> 'DELETED';
+
+-- ============================================
+-- 3. sys_permission
+-- ============================================
+CREATE INDEX IF NOT EXISTS idx_permission_created_at_id_active ON sys_permission(created_at, permission_id) WHERE status <> 'DELETED';
+
+-- ============================================
+-- 4. sys_menu
+-- ============================================
+CREATE INDEX IF NOT EXISTS idx_menu_sort_active ON sys_menu(sort, menu_id) WHERE status <> 'DELETED';
+
+-- ============================================
+-- 5. 移除被替代的低基数 status 索引
+-- ============================================
+DROP INDEX IF EXISTS idx_status;
+DROP INDEX IF EXISTS idx_role_status;
+DROP INDEX IF EXISTS idx_permission_status;
+DROP INDEX IF EXISTS idx_menu_status;